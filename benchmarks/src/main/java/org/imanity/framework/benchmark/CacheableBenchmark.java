@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.benchmark;
+
+import org.imanity.framework.Cacheable;
+import org.imanity.framework.cache.EnableOwnCacheManager;
+import org.imanity.framework.cache.manager.CacheManagerConcurrentMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Goes through the woven {@link org.imanity.framework.cache.CacheableAspect}, the aspect is applied to this module by the aspectj plugin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheableBenchmark {
+
+    private static final int KEY_COUNT = 128;
+
+    private CachedService service;
+
+    @Setup
+    public void setup() {
+        this.service = new CachedService();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            this.service.keyed(i);
+        }
+        this.service.method(0);
+    }
+
+    @Benchmark
+    public long hitByMethodKey() {
+        return this.service.method(0);
+    }
+
+    @Benchmark
+    public long hitByExpressionKey() {
+        return this.service.keyed(ThreadLocalRandom.current().nextInt(KEY_COUNT));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long contendedHitByExpressionKey() {
+        return this.service.keyed(ThreadLocalRandom.current().nextInt(KEY_COUNT));
+    }
+
+    @EnableOwnCacheManager(CacheManagerConcurrentMap.class)
+    public static class CachedService {
+
+        @Cacheable
+        public long method(int id) {
+            return id * 31L;
+        }
+
+        @Cacheable(key = "'keyed-' + #args[0]")
+        public long keyed(int id) {
+            return id * 31L;
+        }
+
+    }
+
+}
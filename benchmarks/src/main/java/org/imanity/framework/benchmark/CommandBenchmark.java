@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.benchmark;
+
+import org.imanity.framework.command.CommandEvent;
+import org.imanity.framework.command.CommandService;
+import org.imanity.framework.command.PresenceProvider;
+import org.imanity.framework.command.annotation.Command;
+import org.imanity.framework.command.annotation.CommandHolder;
+import org.imanity.framework.command.annotation.Parameter;
+import org.imanity.framework.command.parameter.impl.IntegerParameterType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandBenchmark {
+
+    private CommandService commandService;
+
+    @Setup
+    public void setup() {
+        this.commandService = new CommandService();
+        this.commandService.preInit();
+        this.commandService.init();
+        this.commandService.registerDefaultPresenceProvider(new BenchmarkPresenceProvider());
+        this.commandService.registerParameterHolder(new IntegerParameterType());
+        this.commandService.registerCommandHolder(new BenchmarkCommands(), BenchmarkCommands.class);
+    }
+
+    @Benchmark
+    public boolean withoutArguments() {
+        return this.commandService.evalCommand(new CommandEvent(null, "alpha"));
+    }
+
+    @Benchmark
+    public boolean withArguments() {
+        return this.commandService.evalCommand(new CommandEvent(null, "papa 10 20"));
+    }
+
+    @Benchmark
+    public boolean aliasWithArguments() {
+        return this.commandService.evalCommand(new CommandEvent(null, "p 10 20"));
+    }
+
+    @Benchmark
+    public boolean unknownCommand() {
+        return this.commandService.evalCommand(new CommandEvent(null, "zulu"));
+    }
+
+    public static class BenchmarkCommands implements CommandHolder {
+
+        @Command(names = "alpha")
+        public void alpha(CommandEvent event) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = "bravo")
+        public void bravo(CommandEvent event) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = {"charlie", "c"})
+        public void charlie(CommandEvent event) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = "delta")
+        public void delta(CommandEvent event) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = "echo")
+        public void echo(CommandEvent event, @Parameter(name = "message", wildcard = true) String message) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = "foxtrot")
+        public void foxtrot(CommandEvent event) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = "golf")
+        public void golf(CommandEvent event) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = "hotel")
+        public void hotel(CommandEvent event) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = {"kilo", "k"})
+        public void kilo(CommandEvent event, @Parameter(name = "value") int value) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = "lima")
+        public void lima(CommandEvent event) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = "mike")
+        public void mike(CommandEvent event) {
+            Blackhole.consumeCPU(1);
+        }
+
+        @Command(names = {"papa", "p"})
+        public void papa(CommandEvent event, @Parameter(name = "x") int x, @Parameter(name = "z") int z) {
+            Blackhole.consumeCPU(1);
+        }
+
+    }
+
+    public static class BenchmarkPresenceProvider extends PresenceProvider<CommandEvent> {
+
+        @Override
+        public Class<CommandEvent> type() {
+            return CommandEvent.class;
+        }
+
+        @Override
+        public void sendUsage(CommandEvent event, String usage) {
+        }
+
+        @Override
+        public void sendError(CommandEvent event, Throwable throwable) {
+        }
+
+        @Override
+        public void sendNoPermission(CommandEvent event) {
+        }
+
+        @Override
+        public void sendInternalError(CommandEvent event, String message) {
+        }
+
+    }
+
+}
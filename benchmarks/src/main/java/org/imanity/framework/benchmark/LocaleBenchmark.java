@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.benchmark;
+
+import org.imanity.framework.locale.Locale;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocaleBenchmark {
+
+    private static final int ENTRY_COUNT = 512;
+
+    private Locale locale;
+    private String[] keys;
+
+    @Setup
+    public void setup() {
+        this.locale = new Locale("en_us") {};
+        this.keys = new String[ENTRY_COUNT];
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            // spread the keys over a few first characters like real locale files do
+            this.keys[i] = (char) ('a' + i % 8) + "eneral.message." + i;
+            this.locale.registerEntry(this.keys[i], "&eMessage number &f" + i + " &efor &f<player>");
+        }
+    }
+
+    @Benchmark
+    public String get() {
+        return this.locale.get(this.keys[ThreadLocalRandom.current().nextInt(ENTRY_COUNT)]);
+    }
+
+    @Benchmark
+    public String missing() {
+        return this.locale.get("general.missing.key");
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.benchmark;
+
+import org.imanity.framework.metadata.MetadataKey;
+import org.imanity.framework.metadata.MetadataMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataMapBenchmark {
+
+    private static final int KEY_COUNT = 64;
+
+    private MetadataKey<Integer>[] keys;
+    private MetadataMap map;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.keys = new MetadataKey[KEY_COUNT];
+        this.map = MetadataMap.create();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            this.keys[i] = MetadataKey.createIntegerKey("benchmark-" + i);
+            this.map.put(this.keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public Integer get() {
+        return this.map.getOrNull(this.randomKey());
+    }
+
+    @Benchmark
+    public void put() {
+        this.map.put(this.randomKey(), 1);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public Integer contendedGet() {
+        return this.map.getOrNull(this.randomKey());
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public void contendedPut() {
+        this.map.put(this.randomKey(), 1);
+    }
+
+    private MetadataKey<Integer> randomKey() {
+        return this.keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)];
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.benchmark;
+
+import org.imanity.framework.mysql.connection.file.H2ConnectionFactory;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.Column;
+import javax.persistence.Table;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    private Path directory;
+    private H2ConnectionFactory database;
+
+    @Setup
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("imanity-benchmark");
+        this.database = new H2ConnectionFactory(this.directory.resolve("h2benchmark"), true);
+
+        this.database.query().sql("drop table if exists benchmark_rows").execute();
+        this.database.createTable(Row.class);
+
+        List<Row> rows = new ArrayList<>(this.rows);
+        for (int i = 0; i < this.rows; i++) {
+            Row row = new Row();
+            row.id = i;
+            row.name = "row" + i;
+            row.score = i * 0.5D;
+            rows.add(row);
+        }
+        this.database.insertAll(rows);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.database.shutdown();
+        Files.walk(this.directory)
+                .sorted((a, b) -> b.compareTo(a))
+                .forEach(path -> path.toFile().delete());
+    }
+
+    @Benchmark
+    public List<Row> results() {
+        return this.database.query().results(Row.class);
+    }
+
+    @Benchmark
+    public Row first() {
+        return this.database.query().where("id=?", this.rows / 2).first(Row.class);
+    }
+
+    @Table(name = "benchmark_rows")
+    public static class Row {
+        @Column(unique = true)
+        public long id;
+        public String name;
+        public double score;
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.benchmark;
+
+import io.netty.handler.codec.http.HttpMethod;
+import org.imanity.framework.ComponentRegistry;
+import org.imanity.framework.http.RestController;
+import org.imanity.framework.http.annotation.GetMapping;
+import org.imanity.framework.http.annotation.PathVariable;
+import org.imanity.framework.http.annotation.PostMapping;
+import org.imanity.framework.http.entity.MethodDetail;
+import org.imanity.framework.http.factory.RouteMethodMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteBenchmark {
+
+    @Setup
+    public void setup() {
+        RouteMethodMapper.preInit();
+        // no constructor parameters, so the holder never touches the bean context
+        ComponentRegistry.getComponentHolder(BenchmarkController.class).newInstance(BenchmarkController.class);
+    }
+
+    @Benchmark
+    public MethodDetail staticRoute() {
+        return RouteMethodMapper.getMethodDetail("/api/status", HttpMethod.GET);
+    }
+
+    @Benchmark
+    public MethodDetail variableRoute() {
+        return RouteMethodMapper.getMethodDetail("/api/players/LeeGod/stats", HttpMethod.GET);
+    }
+
+    @Benchmark
+    public MethodDetail postRoute() {
+        return RouteMethodMapper.getMethodDetail("/api/players/LeeGod", HttpMethod.POST);
+    }
+
+    @Benchmark
+    public MethodDetail missingRoute() {
+        return RouteMethodMapper.getMethodDetail("/api/unknown/route", HttpMethod.GET);
+    }
+
+    public static class BenchmarkController implements RestController {
+
+        @Override
+        public String baseUrl() {
+            return "/api";
+        }
+
+        @GetMapping("/status")
+        public String status() {
+            return "ok";
+        }
+
+        @GetMapping("/servers")
+        public String servers() {
+            return "";
+        }
+
+        @GetMapping("/servers/{name}")
+        public String server(@PathVariable("name") String name) {
+            return name;
+        }
+
+        @GetMapping("/players")
+        public String players() {
+            return "";
+        }
+
+        @GetMapping("/players/{name}")
+        public String player(@PathVariable("name") String name) {
+            return name;
+        }
+
+        @GetMapping("/players/{name}/stats")
+        public String stats(@PathVariable("name") String name) {
+            return name;
+        }
+
+        @GetMapping("/players/{name}/friends/{friend}")
+        public String friend(@PathVariable("name") String name, @PathVariable("friend") String friend) {
+            return friend;
+        }
+
+        @PostMapping("/players/{name}")
+        public String updatePlayer(@PathVariable("name") String name) {
+            return name;
+        }
+
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.benchmark;
+
+import org.imanity.framework.config.annotation.Comment;
+import org.imanity.framework.config.annotation.ConfigurationElement;
+import org.imanity.framework.config.yaml.YamlConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads and saves through the FieldMapper, using a plain file so the run stays close to a plugin reloading its config
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YamlConfigurationBenchmark {
+
+    private Path directory;
+    private BenchmarkConfiguration configuration;
+
+    @Setup
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("imanity-benchmark");
+        this.configuration = new BenchmarkConfiguration(this.directory.resolve("config.yml"));
+        this.configuration.loadAndSave();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.directory.resolve("config.yml"));
+        Files.deleteIfExists(this.directory);
+    }
+
+    @Benchmark
+    public BenchmarkConfiguration load() {
+        this.configuration.load();
+        return this.configuration;
+    }
+
+    @Benchmark
+    public BenchmarkConfiguration save() {
+        this.configuration.save();
+        return this.configuration;
+    }
+
+    public static class BenchmarkConfiguration extends YamlConfiguration {
+
+        @Comment("The server name")
+        private String serverName = "imanity";
+        private int maxPlayers = 100;
+        private double spawnX = 0.5D;
+        private boolean whitelist = false;
+        private List<String> motd = Arrays.asList("&eWelcome to &fImanity", "&7Have fun!");
+        private Map<String, Integer> limits = new LinkedHashMap<>();
+        private Set<String> disabledWorlds = new LinkedHashSet<>(Arrays.asList("world_nether", "world_the_end"));
+        private Database database = new Database();
+
+        protected BenchmarkConfiguration(Path path) {
+            super(path);
+
+            for (int i = 0; i < 32; i++) {
+                this.limits.put("limit-" + i, i);
+            }
+        }
+
+    }
+
+    @ConfigurationElement
+    public static class Database {
+
+        private String host = "localhost";
+        private int port = 3306;
+        private String username = "root";
+        private String password = "password";
+
+    }
+
+}
@@ -218,7 +218,7 @@ public final class Imanity {
     }
 
     public static String translate(Player player, String key) {
-        return BukkitUtil.color(ImanityCommon.translate(player.getUniqueId(), key));
+        return ImanityCommon.translateTemplate(player.getUniqueId(), key).getTranslated();
     }
 
     public static Iterable<String> translateList(Player player, String key) {
@@ -234,14 +234,15 @@ public final class Imanity {
     }
 
     public static String translate(Player player, String key, LocaleRV... replaceValues) {
+        String[] targets = new String[replaceValues.length];
+        Object[] replacements = new Object[replaceValues.length];
 
-        String result = Imanity.translate(player, key);
-
-        for (LocaleRV rv : replaceValues) {
-            result = BukkitUtil.replace(result, rv.getTarget(), rv.getReplacement(player));
+        for (int i = 0; i < replaceValues.length; i++) {
+            targets[i] = replaceValues[i].getTarget();
+            replacements[i] = replaceValues[i].getReplacement(player);
         }
 
-        return result;
+        return ImanityCommon.translateTemplate(player.getUniqueId(), key).render(targets, replacements);
     }
 
     public static Iterable<String> translateList(Player player, String key, LocaleRV... replaceValues) {
@@ -42,13 +42,14 @@ import org.imanity.framework.bukkit.util.RV;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
 @Setter
 public class Hologram {
 
     private static final float Y_PER_LINE = 0.25F;
-    private static int NEW_ID = 0;
+    private static final AtomicInteger NEW_ID = new AtomicInteger();
 
     private HologramHandler hologramHandler;
 
@@ -62,7 +63,7 @@ public class Hologram {
     private List<Player> renderedPlayers = Collections.synchronizedList(new ArrayList<>());
 
     public Hologram(Location location, HologramHandler hologramHandler) {
-        this.id = NEW_ID++;
+        this.id = NEW_ID.getAndIncrement();
         this.location = location;
         this.hologramHandler = hologramHandler;
     }
@@ -104,12 +105,12 @@ public class Hologram {
     }
 
     public void update() {
-        this.validateMainThread();
+        this.validateBuildThread();
         this.lines.forEach(hologram -> hologram.sendNamePackets(this.renderedPlayers));
     }
 
     public void setView(int index, ViewHandler viewHandler) {
-        this.validateMainThread();
+        this.validateBuildThread();
         if (index >= this.lines.size()) {
             HologramSingle single = new HologramSingle(this, viewHandler, -Y_PER_LINE * index, index);
             this.lines.add(index, single);
@@ -130,7 +131,7 @@ public class Hologram {
     }
 
     public void removeView(int index) {
-        this.validateMainThread();
+        this.validateBuildThread();
         if (lines.size() > index) {
             HologramSingle single = this.lines.get(index);
             single.sendRemove(this.renderedPlayers);
@@ -152,12 +153,13 @@ public class Hologram {
             throw new IllegalArgumentException("cannot move to different world");
         }
 
+        Location from = this.location;
         this.location = location;
+        this.hologramHandler.moveHologram(this, from, location);
 
         if (this.isSpawned()) {
 
-            List<Player> players = this.location.getWorld().getPlayers();
-            this.lines.forEach(hologram -> hologram.sendTeleportPacket(players));
+            this.lines.forEach(hologram -> hologram.sendTeleportPacket(this.renderedPlayers));
 
         }
     }
@@ -209,6 +211,12 @@ public class Hologram {
         return true;
     }
 
+    public double distanceSquaredTo(Location location) {
+        double x = this.location.getX() - location.getX();
+        double z = this.location.getZ() - location.getZ();
+        return x * x + z * z;
+    }
+
     public double distaneTo(Player player) {
         return Math.sqrt(Math.pow(this.getLocation().getX() - player.getLocation().getX(), 2)
                 + Math.pow(this.getLocation().getZ() - player.getLocation().getZ(), 2));
@@ -224,6 +232,15 @@ public class Hologram {
             throw new IllegalStateException("Already spawned");
     }
 
+    /**
+     * A hologram that isn't spawned has nobody to send to, so it can be built from any thread
+     */
+    private void validateBuildThread() {
+        if (this.spawned) {
+            this.validateMainThread();
+        }
+    }
+
     private void validateMainThread() {
         if (!Bukkit.isPrimaryThread()) {
             throw new IllegalStateException("Hologram doesn't support async");
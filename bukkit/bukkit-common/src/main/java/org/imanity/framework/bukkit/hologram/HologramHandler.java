@@ -35,9 +35,12 @@ import org.imanity.framework.bukkit.reflection.ProtocolLibService;
 import org.imanity.framework.bukkit.util.SampleMetadata;
 import org.imanity.framework.metadata.MetadataKey;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HologramHandler {
 
@@ -47,7 +50,15 @@ public class HologramHandler {
     public static final int DISTANCE_TO_RENDER = 60;
     public static final MetadataKey<HologramHandler> WORLD_METADATA = MetadataKey.create(ImanityCommon.METADATA_PREFIX + "WorldHolograms", HologramHandler.class);
     public static final MetadataKey<RenderedHolograms> HOLOGRAM_METADATA = MetadataKey.create(ImanityCommon.METADATA_PREFIX + "Holograms", RenderedHolograms.class);
-    private final Map<Integer, Hologram> holograms = new HashMap<>();
+    private static final int CHUNK_RADIUS = (DISTANCE_TO_RENDER >> 4) + 1;
+
+    private final Map<Integer, Hologram> holograms = new ConcurrentHashMap<>();
+
+    /**
+     * The holograms by the chunk they are in, so finding the holograms around a player
+     * only looks at the chunks in render distance instead of every hologram of the world
+     */
+    private final Map<Long, Set<Hologram>> chunks = new ConcurrentHashMap<>();
 
     public HologramHandler() {
         PROTOCOL_LIB_SERVICE.validEnabled();
@@ -64,7 +75,9 @@ public class HologramHandler {
     }
 
     public void addHologram(Hologram hologram) {
-        this.holograms.put(hologram.getId(), hologram);
+        if (this.holograms.put(hologram.getId(), hologram) == null) {
+            this.index(hologram, hologram.getLocation());
+        }
     }
 
     public void update(Player player) {
@@ -91,12 +104,67 @@ public class HologramHandler {
         return this.holograms.values();
     }
 
+    /**
+     * @return the holograms within {@link #DISTANCE_TO_RENDER} of the location
+     */
+    public List<Hologram> getNearbyHolograms(Location location) {
+        List<Hologram> result = new ArrayList<>();
+
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+        for (int x = chunkX - CHUNK_RADIUS; x <= chunkX + CHUNK_RADIUS; x++) {
+            for (int z = chunkZ - CHUNK_RADIUS; z <= chunkZ + CHUNK_RADIUS; z++) {
+                Set<Hologram> holograms = this.chunks.get(chunkKey(x, z));
+                if (holograms == null) {
+                    continue;
+                }
+
+                for (Hologram hologram : holograms) {
+                    if (hologram.distanceSquaredTo(location) <= DISTANCE_TO_RENDER * DISTANCE_TO_RENDER) {
+                        result.add(hologram);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    protected void moveHologram(Hologram hologram, Location from, Location to) {
+        if (chunkKey(from) == chunkKey(to) || !this.holograms.containsKey(hologram.getId())) {
+            return;
+        }
+
+        this.unindex(hologram, from);
+        this.index(hologram, to);
+    }
+
+    private void index(Hologram hologram, Location location) {
+        this.chunks.computeIfAbsent(chunkKey(location), key -> ConcurrentHashMap.newKeySet()).add(hologram);
+    }
+
+    private void unindex(Hologram hologram, Location location) {
+        this.chunks.computeIfPresent(chunkKey(location), (key, holograms) -> {
+            holograms.remove(hologram);
+            return holograms.isEmpty() ? null : holograms;
+        });
+    }
+
+    private static long chunkKey(Location location) {
+        return chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
     public RenderedHolograms getRenderedHolograms(Player player) {
         return Metadata.provideForPlayer(player)
                 .getOrPut(HOLOGRAM_METADATA, () -> new RenderedHolograms(player));
     }
 
     public void removeHologram(Hologram hologram) {
-        this.holograms.remove(hologram.getId());
+        if (this.holograms.remove(hologram.getId()) != null) {
+            this.unindex(hologram, hologram.getLocation());
+        }
     }
 }
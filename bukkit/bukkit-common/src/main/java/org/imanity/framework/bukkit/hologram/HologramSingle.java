@@ -62,8 +62,8 @@ public class HologramSingle {
         this.viewHandler = viewHandler;
         this.index = index;
 
-        this.armorStandId = MinecraftReflection.getNewEntityId();
-        this.horseId = MinecraftReflection.getNewEntityId();
+        this.armorStandId = MinecraftReflection.allocateFakeEntityId();
+        this.horseId = MinecraftReflection.allocateFakeEntityId();
     }
 
     public int getArmorStandId() {
@@ -29,14 +29,14 @@ import org.bukkit.entity.Player;
 import org.imanity.framework.bukkit.hologram.Hologram;
 import org.imanity.framework.bukkit.hologram.HologramHandler;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 @Getter
 public class RenderedHolograms {
 
     private String worldName;
-    private final List<Integer> holograms = new ArrayList<>();
+    private final Set<Integer> holograms = new HashSet<>();
 
     public RenderedHolograms(Player player) {
         this.worldName = player.getWorld().getName();
@@ -45,7 +45,7 @@ public class RenderedHolograms {
     public void removeFarHolograms(Player player, HologramHandler hologramHandler) {
 
         String newWorldName = player.getWorld().getName();
-        if (this.worldName.equals(newWorldName)) {
+        if (!this.worldName.equals(newWorldName)) {
 
             this.reset(player, hologramHandler);
             this.worldName = newWorldName;
@@ -71,7 +71,7 @@ public class RenderedHolograms {
 
     public void removeHologram(Player player, Hologram hologram) {
         hologram.removePlayer(player);
-        this.holograms.remove((Integer) hologram.getId());
+        this.holograms.remove(hologram.getId());
     }
 
     public void reset(Player player, HologramHandler hologramHandler) {
@@ -87,14 +87,11 @@ public class RenderedHolograms {
     }
 
     public void addNearHolograms(Player player, HologramHandler hologramHandler) {
-        hologramHandler.getHolograms()
-                .stream()
-                .filter(hologram -> !this.holograms.contains(hologram.getId()))
-                .filter(hologram -> hologram.distaneTo(player) <= HologramHandler.DISTANCE_TO_RENDER)
-                .forEach(hologram -> {
-                    hologram.spawnPlayer(player);
-                    this.holograms.add(hologram.getId());
-                });
+        for (Hologram hologram : hologramHandler.getNearbyHolograms(player.getLocation())) {
+            if (this.holograms.add(hologram.getId())) {
+                hologram.spawnPlayer(player);
+            }
+        }
     }
 
 }
@@ -33,13 +33,17 @@ import org.imanity.framework.PostDestroy;
 import org.imanity.framework.PostInitialize;
 import org.imanity.framework.bukkit.Imanity;
 import org.imanity.framework.bukkit.metadata.Metadata;
+import org.imanity.framework.bukkit.packet.PacketBatch;
+import org.imanity.framework.bukkit.packet.PacketService;
 import org.imanity.framework.metadata.MetadataKey;
 import org.imanity.framework.bukkit.nametag.impl.DefaultNameTagAdapter;
 import org.imanity.framework.Service;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -61,8 +65,8 @@ public class NameTagService {
     @PostInitialize
     public void init() {
 
-        this.adapters = new LinkedList<>();
-        this.registeredTeams = new HashMap<>();
+        this.adapters = new CopyOnWriteArrayList<>();
+        this.registeredTeams = new ConcurrentHashMap<>();
 
         this.pendingUpdates = new ConcurrentLinkedQueue<>();
 
@@ -80,11 +84,68 @@ public class NameTagService {
         this.executorService.shutdown();
     }
 
+    /**
+     * Drain the pending updates, a pair queued more than once in between is only computed once,
+     * and every receiver gets one member packet per team that gained players instead of one per player
+     */
     private void update() {
+        if (this.pendingUpdates.isEmpty()) {
+            return;
+        }
+
+        Set<String> everyone = new LinkedHashSet<>();
+        Map<String, Set<String>> pairs = new HashMap<>();
 
         NameTagUpdate update;
         while ((update = this.pendingUpdates.poll()) != null) {
-            this.applyUpdate(update);
+            if (update.getRefreshFor() == null) {
+                everyone.add(update.getToRefresh());
+            } else {
+                pairs.computeIfAbsent(update.getRefreshFor(), name -> new LinkedHashSet<>()).add(update.getToRefresh());
+            }
+        }
+
+        List<Player> everyoneTargets = new ArrayList<>(everyone.size());
+        for (String name : everyone) {
+            Player player = Bukkit.getPlayerExact(name);
+            if (player != null) {
+                everyoneTargets.add(player);
+            }
+        }
+
+        for (Player refreshFor : Imanity.getPlayers()) {
+            Set<String> targets = pairs.get(refreshFor.getName());
+            if (everyoneTargets.isEmpty() && targets == null) {
+                continue;
+            }
+
+            Map<NameTagInfo, List<String>> changes = new IdentityHashMap<>();
+            for (Player toRefresh : everyoneTargets) {
+                this.updateForInternal(toRefresh, refreshFor, changes);
+            }
+
+            if (targets != null) {
+                for (String name : targets) {
+                    if (everyone.contains(name)) {
+                        continue;
+                    }
+
+                    Player toRefresh = Bukkit.getPlayerExact(name);
+                    if (toRefresh != null) {
+                        this.updateForInternal(toRefresh, refreshFor, changes);
+                    }
+                }
+            }
+
+            if (changes.isEmpty()) {
+                continue;
+            }
+
+            try (PacketBatch batch = PacketService.batch()) {
+                for (Map.Entry<NameTagInfo, List<String>> entry : changes.entrySet()) {
+                    Imanity.IMPLEMENTATION.sendMember(refreshFor, entry.getKey().getName(), entry.getValue(), 3);
+                }
+            }
         }
 
     }
@@ -150,23 +211,10 @@ public class NameTagService {
         Imanity.getPlayers().forEach(this::updateFromThirdSide);
     }
 
-    protected void applyUpdate(NameTagUpdate update) {
-        Player toRefresh = Bukkit.getPlayerExact(update.getToRefresh());
-        if (toRefresh == null) {
-            return;
-        }
-
-        if (update.getRefreshFor() == null) {
-            Imanity.getPlayers().forEach(refreshFor -> this.updateForInternal(toRefresh, refreshFor));
-        } else {
-            Player refreshFor = Bukkit.getPlayerExact(update.getRefreshFor());
-            if (refreshFor != null) {
-                this.updateForInternal(toRefresh, refreshFor);
-            }
-        }
-    }
-
-    private void updateForInternal(Player toRefresh, Player refreshFor) {
+    /**
+     * Fetch the team of toRefresh as seen by refreshFor, and record it in changes if it's not the team refreshFor already has
+     */
+    private void updateForInternal(Player toRefresh, Player refreshFor, Map<NameTagInfo, List<String>> changes) {
         NameTagInfo info = null;
 
         for (NameTagAdapter adapter : this.adapters) {
@@ -184,8 +232,13 @@ public class NameTagService {
                 .provideForPlayer(refreshFor)
                 .getOrPut(TEAM_INFO_KEY, NameTagList::new);
 
+        // Teams are shared per prefix and suffix, so the same team means nothing changed
+        if (list.getTeamFor(toRefresh.getName()) == info) {
+            return;
+        }
+
         list.putTeamFor(toRefresh.getName(), info);
-        Imanity.IMPLEMENTATION.sendMember(refreshFor, info.getName(), Collections.singleton(toRefresh.getName()), 3);
+        changes.computeIfAbsent(info, team -> new ArrayList<>()).add(toRefresh.getName());
     }
 
     @Nullable
@@ -207,7 +260,11 @@ public class NameTagService {
         }
 
         NameTagInfo newTeam = new NameTagInfo(prefix, suffix);
-        this.registeredTeams.put(this.toKey(prefix, suffix), newTeam);
+        info = this.registeredTeams.putIfAbsent(this.toKey(prefix, suffix), newTeam);
+        if (info != null) {
+            return info;
+        }
+
         for (Player player : Imanity.getPlayers()) {
             this.sendTeam(player, newTeam, 0);
         }
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.bukkit.packet;
+
+import io.netty.channel.Channel;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Packets sent by the opening thread are written without flush until the batch closes,
+ * then every touched channel is flushed once.
+ *
+ * <pre>
+ * try (PacketBatch batch = PacketService.batch()) {
+ *     ...
+ * }
+ *
+ * PacketService.batch(() -> ...);
+ * </pre>
+ */
+public class PacketBatch implements AutoCloseable {
+
+    private final PacketService packetService;
+    private final Set<Channel> channels = new HashSet<>();
+    private int depth;
+
+    PacketBatch(PacketService packetService) {
+        this.packetService = packetService;
+    }
+
+    PacketBatch open() {
+        this.depth++;
+        return this;
+    }
+
+    void add(Channel channel) {
+        this.channels.add(channel);
+    }
+
+    @Override
+    public void close() {
+        if (--this.depth > 0) {
+            return;
+        }
+
+        this.packetService.closeBatch(this);
+        for (Channel channel : this.channels) {
+            channel.flush();
+        }
+        this.channels.clear();
+    }
+
+}
@@ -29,8 +29,6 @@ import com.google.common.collect.Multimap;
 import org.bukkit.entity.Player;
 import org.imanity.framework.bukkit.packet.type.PacketType;
 import org.imanity.framework.bukkit.packet.wrapper.WrappedPacket;
-import org.imanity.framework.bukkit.reflection.resolver.ConstructorResolver;
-import org.imanity.framework.bukkit.reflection.wrapper.ConstructorWrapper;
 
 import java.util.Map;
 
@@ -40,13 +38,20 @@ public enum PacketDirection {
     WRITE;
 
     private final Multimap<Byte, PacketListener> registeredPacketListeners = HashMultimap.create();
-    private Map<Byte, Class<? extends WrappedPacket>> typeToWrappedPacket;
 
-    public void register(Map<Byte, Class<? extends WrappedPacket>> typeToWrappedPacket) {
-        if (this.typeToWrappedPacket != null) {
+    /**
+     * The wrapped packet factories indexed by the unsigned packet id
+     */
+    private WrappedPacketFactory[] wrappedPacketFactories;
+
+    public void register(Map<Byte, WrappedPacketFactory> typeToWrappedPacket) {
+        if (this.wrappedPacketFactories != null) {
             throw new IllegalStateException("The Wrapped Packet are already registered!");
         }
-        this.typeToWrappedPacket = typeToWrappedPacket;
+
+        WrappedPacketFactory[] wrappedPacketFactories = new WrappedPacketFactory[256];
+        typeToWrappedPacket.forEach((id, factory) -> wrappedPacketFactories[id & 0xFF] = factory);
+        this.wrappedPacketFactories = wrappedPacketFactories;
     }
 
     public byte getPacketType(Object packet) {
@@ -71,45 +76,24 @@ public enum PacketDirection {
 
     public WrappedPacket getWrappedFromNMS(Player player, byte id, Object packet) {
 
-        Class<? extends WrappedPacket> wrappedPacketClass = this.typeToWrappedPacket.getOrDefault(id, null);
+        WrappedPacketFactory factory = this.wrappedPacketFactories[id & 0xFF];
 
-        if (wrappedPacketClass == null) {
+        if (factory == null) {
             return new WrappedPacket(player, packet);
         }
 
-
-        ConstructorResolver constructorResolver = new ConstructorResolver(wrappedPacketClass);
-        ConstructorWrapper<? extends WrappedPacket> constructor = constructorResolver.resolveWrapper(new Class[] { Player.class, Object.class });
-
-        if (constructor.exists()) {
-            return constructor.newInstance(player, packet);
-        }
-
-        constructor = constructorResolver.resolveWrapper(new Class[] { Object.class });
-
-        if (constructor.exists()) {
-            return constructor.newInstance(packet);
-        }
-
-        throw new IllegalArgumentException();
+        return factory.create(player, packet);
     }
 
     public WrappedPacket getWrappedFromNMS(Player player, byte id) {
 
-        Class<? extends WrappedPacket> wrappedPacketClass = this.typeToWrappedPacket.getOrDefault(id, null);
+        WrappedPacketFactory factory = this.wrappedPacketFactories[id & 0xFF];
 
-        if (wrappedPacketClass == null) {
+        if (factory == null) {
             return new WrappedPacket(player);
         }
 
-        return (WrappedPacket)  new ConstructorResolver(wrappedPacketClass)
-                .resolveMatches(
-                        new Class[] { Player.class },
-                        new Class[0])
-                .resolve(
-                        new Object[] { player },
-                        new Object[0]
-                );
+        return factory.create(player);
 
     }
 
@@ -24,11 +24,11 @@
 
 package org.imanity.framework.bukkit.packet;
 
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Multimap;
+import io.netty.channel.Channel;
 import lombok.Getter;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 import org.imanity.framework.*;
 import org.imanity.framework.bukkit.Imanity;
 import org.imanity.framework.bukkit.impl.server.ServerImplementation;
@@ -45,7 +45,12 @@ import org.imanity.framework.bukkit.util.TaskUtil;
 import org.imanity.framework.reflect.ReflectLookup;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service(name = "packet")
 public class PacketService {
@@ -62,11 +67,43 @@ public class PacketService {
         PacketService.INSTANCE.sendPacket(player, sendableWrapper);
     }
 
-    private final Multimap<Class<?>, PacketListener> registeredPacketListeners = HashMultimap.create();
+    /**
+     * Open a batch on the current thread, see {@link #openBatch()}
+     */
+    public static PacketBatch batch() {
+        return PacketService.INSTANCE.openBatch();
+    }
+
+    /**
+     * Run the runnable inside a batch, every packet it sends is flushed once it returns
+     */
+    public static void batch(Runnable runnable) {
+        try (PacketBatch batch = PacketService.batch()) {
+            runnable.run();
+        }
+    }
+
+    /**
+     * The listeners per packet class, looked up by the netty threads for every packet.
+     * The map is never mutated once published, registration copies it and swaps the reference.
+     */
+    private volatile Map<Class<?>, PacketListener[]> registeredPacketListeners = Collections.emptyMap();
 
     @Getter
     private INettyInjection nettyInjection;
 
+    /**
+     * Channels written to without flush when packet batching is enabled.
+     * Bukkit has no end of tick hook, so they are flushed by a repeating task at the start of the next tick,
+     * which delays those packets by up to one tick. Packets that shouldn't wait go through a {@link PacketBatch},
+     * which flushes as soon as it closes.
+     */
+    private final Set<Channel> pendingFlush = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<PacketBatch> currentBatch = new ThreadLocal<>();
+
+    private boolean batchPackets;
+    private BukkitTask flushTask;
+
     @PostInitialize
     public void init() {
 
@@ -97,6 +134,11 @@ public class PacketService {
             }, 0L);
         }
 
+        this.batchPackets = ImanityCommon.CORE_CONFIG.BATCH_PACKETS;
+        if (this.batchPackets) {
+            this.flushTask = TaskUtil.runRepeated(this::flushPendingPackets, 1L);
+        }
+
         ImanityCommon.BEAN_CONTEXT.injectBeans(nettyInjection);
         Imanity.getPlayers().forEach(this::inject);
 
@@ -110,8 +152,8 @@ public class PacketService {
     }
 
     private void loadWrappers() throws Throwable {
-        ImmutableMap.Builder<Byte, Class<? extends WrappedPacket>> readBuilder = ImmutableMap.builder();
-        ImmutableMap.Builder<Byte, Class<? extends WrappedPacket>> writeBuilder = ImmutableMap.builder();
+        ImmutableMap.Builder<Byte, WrappedPacketFactory> readBuilder = ImmutableMap.builder();
+        ImmutableMap.Builder<Byte, WrappedPacketFactory> writeBuilder = ImmutableMap.builder();
 
         ReflectLookup reflectLookup = new ReflectLookup(
                 Collections.singleton(PacketService.class.getClassLoader()),
@@ -132,12 +174,13 @@ public class PacketService {
                 Method method = type.getDeclaredMethod("init");
                 method.invoke(null);
 
+                WrappedPacketFactory factory = new WrappedPacketFactory(type);
                 switch (annotation.direction()) {
                     case READ:
-                        readBuilder.put(annotation.value(), type);
+                        readBuilder.put(annotation.value(), factory);
                         break;
                     case WRITE:
-                        writeBuilder.put(annotation.value(), type);
+                        writeBuilder.put(annotation.value(), factory);
                         break;
                 }
             } catch (NoSuchMethodException ex) {
@@ -153,17 +196,58 @@ public class PacketService {
 
     @PostDestroy
     public void stop() {
+        if (this.flushTask != null) {
+            this.flushTask.cancel();
+            this.flushTask = null;
+        }
+        this.flushPendingPackets();
+
         this.nettyInjection.unregisterChannels();
     }
 
-    public void registerPacketListener(PacketListener packetListener) {
+    public synchronized void registerPacketListener(PacketListener packetListener) {
+        Map<Class<?>, PacketListener[]> packetListeners = new IdentityHashMap<>(this.registeredPacketListeners);
+
         for (Class<?> type : packetListener.type()) {
             if (type == null) {
                 throw new UnsupportedOperationException("There is one packet doesn't exists in current version!");
             }
 
-            this.registeredPacketListeners.put(type, packetListener);
+            PacketListener[] listeners = packetListeners.get(type);
+            if (listeners == null) {
+                listeners = new PacketListener[] { packetListener };
+            } else if (!Arrays.asList(listeners).contains(packetListener)) {
+                listeners = Arrays.copyOf(listeners, listeners.length + 1);
+                listeners[listeners.length - 1] = packetListener;
+            }
+
+            packetListeners.put(type, listeners);
         }
+
+        this.registeredPacketListeners = packetListeners;
+    }
+
+    public synchronized void unregisterPacketListener(PacketListener packetListener) {
+        Map<Class<?>, PacketListener[]> packetListeners = new IdentityHashMap<>(this.registeredPacketListeners);
+
+        for (Class<?> type : packetListener.type()) {
+            PacketListener[] listeners = packetListeners.get(type);
+            if (listeners == null) {
+                continue;
+            }
+
+            PacketListener[] remaining = Arrays.stream(listeners)
+                    .filter(listener -> !listener.equals(packetListener))
+                    .toArray(PacketListener[]::new);
+
+            if (remaining.length == 0) {
+                packetListeners.remove(type);
+            } else {
+                packetListeners.put(type, remaining);
+            }
+        }
+
+        this.registeredPacketListeners = packetListeners;
     }
 
     public void inject(Player player) {
@@ -177,7 +261,8 @@ public class PacketService {
     public Object read(Player player, Object packet) {
         Class<?> type = packet.getClass();
 
-        if (!this.registeredPacketListeners.containsKey(type)) {
+        PacketListener[] listeners = this.registeredPacketListeners.get(type);
+        if (listeners == null) {
             return packet;
         }
 
@@ -186,7 +271,7 @@ public class PacketService {
         PacketDto packetDto = new PacketDto(wrappedPacket);
 
         boolean cancelled = false;
-        for (PacketListener packetListener : this.registeredPacketListeners.get(type)) {
+        for (PacketListener packetListener : listeners) {
             if (!packetListener.read(player, packetDto)) {
                 cancelled = true;
             }
@@ -198,7 +283,8 @@ public class PacketService {
     public Object write(Player player, Object packet) {
         Class<?> type = packet.getClass();
 
-        if (!this.registeredPacketListeners.containsKey(type)) {
+        PacketListener[] listeners = this.registeredPacketListeners.get(type);
+        if (listeners == null) {
             return packet;
         }
 
@@ -207,7 +293,7 @@ public class PacketService {
         PacketDto packetDto = new PacketDto(wrappedPacket);
 
         boolean cancelled = false;
-        for (PacketListener packetListener : this.registeredPacketListeners.get(type)) {
+        for (PacketListener packetListener : listeners) {
             if (!packetListener.write(player, packetDto)) {
                 cancelled = true;
             }
@@ -216,8 +302,40 @@ public class PacketService {
         return cancelled ? null : packetDto.isRefresh() ? ((SendableWrapper) wrappedPacket).asNMSPacket() : packet;
     }
 
+    /**
+     * Send the packet to the player.
+     *
+     * Inside a {@link PacketBatch} or with packet batching enabled, the packets are written straight to the channel
+     * and flushed later, which skips PlayerConnection#sendPacket and NetworkManager#sendPacket. That is safe for
+     * play packets to an open channel: the network manager only queues packets while the channel isn't open,
+     * the write still runs through the pipeline and its encoders on the event loop in submission order.
+     * The only play packets PlayerConnection handles itself are chat, which it drops by the chat visibility
+     * setting, and spawn position, which it remembers as the compass target, so containers with one of those
+     * always go through the player connection.
+     */
     public void sendPacket(Player player, SendableWrapper packet) {
         PacketContainer packetContainer = packet.asPacketContainer();
+
+        PacketBatch batch = this.currentBatch.get();
+        if ((batch != null || this.batchPackets) && this.canWriteDirectly(packetContainer)) {
+            Channel channel = MinecraftReflection.getChannel(player);
+
+            // Not connected yet, let the network manager queue it
+            if (channel != null && channel.isOpen()) {
+                this.write(channel, packetContainer.getMainPacket());
+                for (Object extra : packetContainer.getExtraPackets()) {
+                    this.write(channel, extra);
+                }
+
+                if (batch != null) {
+                    batch.add(channel);
+                } else {
+                    this.pendingFlush.add(channel);
+                }
+                return;
+            }
+        }
+
         MinecraftReflection.sendPacket(player, packetContainer.getMainPacket());
 
         for (Object extra : packetContainer.getExtraPackets()) {
@@ -225,4 +343,60 @@ public class PacketService {
         }
     }
 
+    /**
+     * Open a batch for the current thread, packets sent until it closes are flushed together.
+     * Opening a batch while one is already open joins the outer batch.
+     */
+    public PacketBatch openBatch() {
+        PacketBatch batch = this.currentBatch.get();
+        if (batch == null) {
+            batch = new PacketBatch(this);
+            this.currentBatch.set(batch);
+        }
+        return batch.open();
+    }
+
+    void closeBatch(PacketBatch batch) {
+        if (this.currentBatch.get() == batch) {
+            this.currentBatch.remove();
+        }
+    }
+
+    public void flushPendingPackets() {
+        if (this.pendingFlush.isEmpty()) {
+            return;
+        }
+
+        for (Channel channel : this.pendingFlush) {
+            this.pendingFlush.remove(channel);
+            channel.flush();
+        }
+    }
+
+    private boolean canWriteDirectly(PacketContainer packetContainer) {
+        if (!this.canWriteDirectly(packetContainer.getMainPacket())) {
+            return false;
+        }
+        for (Object extra : packetContainer.getExtraPackets()) {
+            if (!this.canWriteDirectly(extra)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean canWriteDirectly(Object packet) {
+        if (packet == null) {
+            return true;
+        }
+        Class<?> type = packet.getClass();
+        return type != PacketTypeClasses.Server.CHAT && type != PacketTypeClasses.Server.SPAWN_POSITION;
+    }
+
+    private void write(Channel channel, Object packet) {
+        if (packet != null) {
+            channel.write(packet, channel.voidPromise());
+        }
+    }
+
 }
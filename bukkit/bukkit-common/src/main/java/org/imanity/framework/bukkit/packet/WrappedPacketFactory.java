@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.imanity.framework.bukkit.packet;
+
+import org.bukkit.entity.Player;
+import org.imanity.framework.bukkit.packet.wrapper.WrappedPacket;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+/**
+ * Creates the instances of a single {@link WrappedPacket} type.
+ * The constructors are resolved once when the wrapped packets are loaded and invoked through method handles,
+ * so wrapping a packet doesn't search the constructors of the type again.
+ */
+public final class WrappedPacketFactory {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType PACKET_CONSTRUCTOR_TYPE = MethodType.methodType(WrappedPacket.class, Player.class, Object.class);
+    private static final MethodType PLAYER_CONSTRUCTOR_TYPE = MethodType.methodType(WrappedPacket.class, Player.class);
+
+    private final Class<? extends WrappedPacket> type;
+
+    /**
+     * (Player, Object) -> WrappedPacket
+     */
+    private final MethodHandle packetConstructor;
+
+    /**
+     * (Player) -> WrappedPacket
+     */
+    private final MethodHandle playerConstructor;
+
+    public WrappedPacketFactory(Class<? extends WrappedPacket> type) {
+        this.type = type;
+
+        try {
+            MethodHandle constructor = this.findConstructor(Player.class, Object.class);
+            if (constructor == null) {
+                constructor = this.findConstructor(Object.class);
+                if (constructor != null) {
+                    constructor = MethodHandles.dropArguments(constructor, 0, Player.class);
+                }
+            }
+            this.packetConstructor = constructor != null ? constructor.asType(PACKET_CONSTRUCTOR_TYPE) : null;
+
+            constructor = this.findConstructor(Player.class);
+            if (constructor == null) {
+                constructor = this.findConstructor();
+                if (constructor != null) {
+                    constructor = MethodHandles.dropArguments(constructor, 0, Player.class);
+                }
+            }
+            this.playerConstructor = constructor != null ? constructor.asType(PLAYER_CONSTRUCTOR_TYPE) : null;
+        } catch (IllegalAccessException ex) {
+            throw new IllegalArgumentException("Couldn't access the constructors of " + type.getName(), ex);
+        }
+    }
+
+    private MethodHandle findConstructor(Class<?>... parameterTypes) throws IllegalAccessException {
+        Constructor<? extends WrappedPacket> constructor;
+        try {
+            constructor = this.type.getDeclaredConstructor(parameterTypes);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+
+        constructor.setAccessible(true);
+        return LOOKUP.unreflectConstructor(constructor);
+    }
+
+    public Class<? extends WrappedPacket> getType() {
+        return this.type;
+    }
+
+    public WrappedPacket create(Player player, Object packet) {
+        if (this.packetConstructor == null) {
+            throw new IllegalArgumentException("The wrapped packet " + this.type.getName() + " can't be created from a packet!");
+        }
+
+        try {
+            return (WrappedPacket) this.packetConstructor.invokeExact(player, packet);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable);
+        }
+    }
+
+    public WrappedPacket create(Player player) {
+        if (this.playerConstructor == null) {
+            throw new IllegalArgumentException("The wrapped packet " + this.type.getName() + " can't be created without a packet!");
+        }
+
+        try {
+            return (WrappedPacket) this.playerConstructor.invokeExact(player);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable);
+        }
+    }
+
+}
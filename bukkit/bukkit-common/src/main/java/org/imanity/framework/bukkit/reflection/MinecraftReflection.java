@@ -55,10 +55,15 @@ import org.imanity.framework.bukkit.reflection.version.protocol.*;
 import org.imanity.framework.util.EquivalentConverter;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -114,6 +119,42 @@ public class MinecraftReflection {
      */
     private static MethodWrapper<Void> METHOD_SEND_PACKET;
 
+    /**
+     * (Player, Object)void, getHandle, playerConnection and sendPacket composed into one handle
+     */
+    private static final MethodHandle SEND_PACKET;
+
+    /**
+     * (Player)Object, getHandle down to the NetworkManager.channel field composed into one handle
+     */
+    private static final MethodHandle GET_CHANNEL;
+
+    /**
+     * (Object)Object, the Entity.getBukkitEntity method
+     */
+    private static final MethodHandle GET_BUKKIT_ENTITY;
+
+    /**
+     * The getHandle method of each craft type, as (Object)Object
+     */
+    private static final ClassValue<MethodHandle> GET_HANDLE = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                Method method;
+                try {
+                    method = type.getDeclaredMethod("getHandle");
+                } catch (NoSuchMethodException e) {
+                    method = CRAFT_ENTITY.getDeclaredMethod("getHandle");
+                }
+                return MethodHandles.lookup().unreflect(AccessUtil.setAccessible(method))
+                        .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    };
+
     private static ProtocolCheck PROTOCOL_CHECK;
 
     public static PlayerVersion getProtocol(Player player) {
@@ -166,6 +207,22 @@ public class MinecraftReflection {
             }
         }
 
+        MethodHandle getBukkitEntity = null;
+        try {
+            Method method;
+            try {
+                method = NMS_ENTITY.getDeclaredMethod("getBukkitEntity");
+            } catch (NoSuchMethodException e) {
+                method = CRAFT_ENTITY.getDeclaredMethod("getHandle");
+            }
+            getBukkitEntity = MethodHandles.lookup().unreflect(AccessUtil.setAccessible(method))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (ReflectiveOperationException ignored) {
+        }
+        GET_BUKKIT_ENTITY = getBukkitEntity;
+
+        MethodHandle sendPacket;
+        MethodHandle getChannel;
         try {
             Class<?> entityPlayerType = NMS_CLASS_RESOLVER.resolve("EntityPlayer");
             Class<?> playerConnectionType = NMS_CLASS_RESOLVER.resolve("PlayerConnection");
@@ -185,13 +242,35 @@ public class MinecraftReflection {
 
             MinecraftReflection.FIELD_CHANNEL = new FieldResolver(networkManagerType)
                     .resolveByFirstTypeDynamic(CHANNEL_TYPE);
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle playerConnection = chain(
+                    lookup.unreflect(MinecraftReflection.PLAYER_GET_HANDLE.getMethod()),
+                    lookup.unreflectGetter(MinecraftReflection.FIELD_PLAYER_CONNECTION.getField())
+            );
+
+            sendPacket = MethodHandles.filterArguments(lookup.unreflect(AccessUtil.setAccessible(MinecraftReflection.METHOD_SEND_PACKET.getMethod())), 0, playerConnection);
+            getChannel = chain(
+                    chain(playerConnection, lookup.unreflectGetter(MinecraftReflection.FIELD_NETWORK_MANAGER.getField())),
+                    lookup.unreflectGetter(MinecraftReflection.FIELD_CHANNEL.getField())
+            );
         } catch (Throwable throwable) {
             throw new IllegalStateException("Something went wrong when doing reflection", throwable);
         }
 
+        SEND_PACKET = sendPacket.asType(MethodType.methodType(void.class, Player.class, Object.class));
+        GET_CHANNEL = getChannel.asType(MethodType.methodType(Object.class, Player.class));
+
         MinecraftReflection.initProtocolCheck();
     }
 
+    /**
+     * Feed the result of the first handle into the second one
+     */
+    private static MethodHandle chain(MethodHandle first, MethodHandle then) {
+        return MethodHandles.filterReturnValue(first, then.asType(then.type().changeParameterType(0, first.type().returnType())));
+    }
+
     @SneakyThrows
     private static void initProtocolCheck() {
 
@@ -232,19 +311,31 @@ public class MinecraftReflection {
     }
 
     public static <T> T getChannel(Player player) {
-        Object entityPlayer = MinecraftReflection.PLAYER_GET_HANDLE.invoke(player);
-        Object playerConnection = MinecraftReflection.FIELD_PLAYER_CONNECTION.get(entityPlayer);
-        Object networkManager = MinecraftReflection.FIELD_NETWORK_MANAGER.get(playerConnection);
-        return (T) MinecraftReflection.FIELD_CHANNEL.get(networkManager);
+        try {
+            return (T) (Object) GET_CHANNEL.invokeExact(player);
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable);
+        }
     }
 
     public static void sendPacket(Player player, Object packet) {
-        Object entityPlayer = MinecraftReflection.PLAYER_GET_HANDLE.invoke(player);
-        Object playerConnection = MinecraftReflection.FIELD_PLAYER_CONNECTION.get(entityPlayer);
-        MinecraftReflection.METHOD_SEND_PACKET.invoke(playerConnection, packet);
+        try {
+            SEND_PACKET.invokeExact(player, packet);
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable);
+        }
     }
 
     private static FieldWrapper<Integer> ENTITY_ID_RESOLVER;
+    private static final AtomicInteger FAKE_ENTITY_ID = new AtomicInteger(Integer.MAX_VALUE);
+
+    /**
+     * An entity id for entities that only exist on the client, safe to call from any thread.
+     * They are counted down from {@link Integer#MAX_VALUE} so they never meet the ids the server counts up.
+     */
+    public static int allocateFakeEntityId() {
+        return FAKE_ENTITY_ID.getAndDecrement();
+    }
 
     public static int getNewEntityId() {
         return MinecraftReflection.setEntityId(1);
@@ -266,23 +357,28 @@ public class MinecraftReflection {
     }
 
     public static Object getHandle(Object object) throws ReflectiveOperationException {
-        Method method;
-        try {
-            method = AccessUtil.setAccessible(object.getClass().getDeclaredMethod("getHandle"));
-        } catch (ReflectiveOperationException e) {
-            method = AccessUtil.setAccessible(CRAFT_ENTITY.getDeclaredMethod("getHandle"));
+        MethodHandle handle = GET_HANDLE.get(object.getClass());
+        if (handle == null) {
+            throw new NoSuchMethodException(object.getClass().getName() + ".getHandle()");
         }
-        return method.invoke(object);
+        return invoke(handle, object);
     }
 
     public static Entity getBukkitEntity(Object object) throws ReflectiveOperationException {
-        Method method;
+        if (GET_BUKKIT_ENTITY == null) {
+            throw new NoSuchMethodException("Entity.getBukkitEntity()");
+        }
+        return (Entity) invoke(GET_BUKKIT_ENTITY, object);
+    }
+
+    private static Object invoke(MethodHandle handle, Object object) throws InvocationTargetException {
         try {
-            method = AccessUtil.setAccessible(NMS_ENTITY.getDeclaredMethod("getBukkitEntity"));
-        } catch (ReflectiveOperationException e) {
-            method = AccessUtil.setAccessible(CRAFT_ENTITY.getDeclaredMethod("getHandle"));
+            return (Object) handle.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
         }
-        return (Entity) method.invoke(object);
     }
 
     public static Object getHandleSilent(Object object) {
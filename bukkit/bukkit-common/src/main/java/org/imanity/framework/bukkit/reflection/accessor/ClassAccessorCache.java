@@ -24,25 +24,33 @@
 
 package org.imanity.framework.bukkit.reflection.accessor;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.imanity.framework.bukkit.reflection.resolver.ResolverQuery;
+import org.imanity.framework.bukkit.reflection.wrapper.FieldWrapper;
+import org.imanity.framework.bukkit.reflection.wrapper.MethodWrapper;
 import org.imanity.framework.util.AccessUtil;
 import org.imanity.framework.util.Utility;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 public class ClassAccessorCache {
 
-    private static final LoadingCache<Class<?>, ClassAccessorCache> CLASS_ACCESSORS = Caffeine.newBuilder()
-            .expireAfterAccess(5, TimeUnit.MINUTES)
-            .build(ClassAccessorCache::new);
+    /**
+     * Kept for as long as the class itself, so a member is resolved only once
+     * and the lookup is a field read instead of a cache access
+     */
+    private static final ClassValue<ClassAccessorCache> CLASS_ACCESSORS = new ClassValue<ClassAccessorCache>() {
+        @Override
+        protected ClassAccessorCache computeValue(Class<?> type) {
+            return new ClassAccessorCache(type);
+        }
+    };
 
     public static ClassAccessorCache get(Class<?> parentClass) {
         return CLASS_ACCESSORS.get(parentClass);
@@ -51,12 +59,79 @@ public class ClassAccessorCache {
     private final Class<?> parentClass;
     private final Map<ResolverQuery, Method> methodCache;
     private final Map<ResolverQuery, Field> fieldCache;
+    private final Map<Class<?>, Field[]> fieldsByType;
+    private final Map<Field, FieldWrapper<?>> fieldWrappers;
+    private final Map<Method, MethodWrapper<?>> methodWrappers;
+    private volatile Field[] fields;
 
     public ClassAccessorCache(Class<?> parentClass) {
         this.parentClass = parentClass;
 
         this.methodCache = new ConcurrentHashMap<>();
         this.fieldCache = new ConcurrentHashMap<>();
+        this.fieldsByType = new ConcurrentHashMap<>();
+        this.fieldWrappers = new ConcurrentHashMap<>();
+        this.methodWrappers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The wrapper of a field declared by this class, created once per field
+     * so the method handles behind it are only built once
+     */
+    public <T> FieldWrapper<T> fieldWrapper(Field field) {
+        return (FieldWrapper<T>) this.fieldWrappers.computeIfAbsent(field, FieldWrapper::new);
+    }
+
+    /**
+     * The wrapper of a method declared by this class, created once per method
+     * so the method handle behind it is only built once
+     */
+    public <T> MethodWrapper<T> methodWrapper(Method method) {
+        return (MethodWrapper<T>) this.methodWrappers.computeIfAbsent(method, MethodWrapper::new);
+    }
+
+    /**
+     * Resolve the declared field at the index among the fields of the type, same as resolving
+     * new ResolverQuery(type, index) but the fields of each type are collected only once,
+     * so the packet readers don't search the fields on every read.
+     *
+     * @param type the type of the field, or null for any type
+     * @param index the index of the field among the fields of the type
+     * @return the field
+     * @throws ReflectiveOperationException if there is no such field
+     */
+    public Field resolveField(Class<?> type, int index) throws ReflectiveOperationException {
+        Field[] fields;
+        if (type == null) {
+            fields = this.fields;
+            if (fields == null) {
+                fields = this.collectFields(null);
+                this.fields = fields;
+            }
+        } else {
+            fields = this.fieldsByType.get(type);
+            if (fields == null) {
+                fields = this.collectFields(type);
+                this.fieldsByType.put(type, fields);
+            }
+        }
+
+        if (index < 0 || index >= fields.length) {
+            throw new NoSuchFieldException();
+        }
+        return fields[index];
+    }
+
+    private Field[] collectFields(Class<?> type) throws ReflectiveOperationException {
+        Class<?> wrappedType = type != null ? Utility.wrapPrimitive(type) : null;
+
+        List<Field> fields = new ArrayList<>();
+        for (Field field : this.parentClass.getDeclaredFields()) {
+            if (wrappedType == null || wrappedType.equals(Utility.wrapPrimitive(field.getType()))) {
+                fields.add(AccessUtil.setAccessible(field));
+            }
+        }
+        return fields.toArray(new Field[0]);
     }
 
     public Method resolveMethod(ResolverQuery query) throws ReflectiveOperationException {
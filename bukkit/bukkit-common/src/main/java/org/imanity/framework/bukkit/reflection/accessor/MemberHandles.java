@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.bukkit.reflection.accessor;
+
+import lombok.experimental.UtilityClass;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Turns reflected members into method handles of an erased shape, so the wrappers can call them
+ * with invokeExact instead of going through the reflection checks on every call.
+ *
+ * Every method returns null when the member can't be unreflected, the callers keeps the reflection path for those.
+ */
+@UtilityClass
+public class MemberHandles {
+
+    private final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * @return a handle of type (Object, Object[])Object, the receiver is ignored for static methods
+     */
+    public MethodHandle method(Method method) {
+        try {
+            if (!method.isAccessible()) {
+                method.setAccessible(true);
+            }
+
+            int parameters = method.getParameterCount();
+            MethodHandle handle = LOOKUP.unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            return handle.asType(MethodType.genericMethodType(parameters + 1))
+                    .asSpreader(Object[].class, parameters);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a handle of type (Object)Object, the receiver is ignored for static fields
+     */
+    public MethodHandle getter(Field field) {
+        try {
+            if (!field.isAccessible()) {
+                field.setAccessible(true);
+            }
+
+            MethodHandle handle = LOOKUP.unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            return handle.asType(MethodType.methodType(Object.class, Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a handle of type (Object, Object)void, the receiver is ignored for static fields
+     */
+    public MethodHandle setter(Field field) {
+        try {
+            if (!field.isAccessible()) {
+                field.setAccessible(true);
+            }
+
+            MethodHandle handle = LOOKUP.unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            return handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+}
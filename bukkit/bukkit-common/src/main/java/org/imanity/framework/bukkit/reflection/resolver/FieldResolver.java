@@ -24,6 +24,7 @@
 
 package org.imanity.framework.bukkit.reflection.resolver;
 
+import org.imanity.framework.bukkit.reflection.accessor.ClassAccessorCache;
 import org.imanity.framework.bukkit.reflection.wrapper.FieldWrapper;
 import org.imanity.framework.util.AccessUtil;
 
@@ -40,6 +41,10 @@ public class FieldResolver extends MemberResolver<Field> {
 		super(clazz);
 	}
 
+	public FieldResolver(Class<?> clazz, ClassAccessorCache accessorCache) {
+		super(clazz, accessorCache);
+	}
+
 	public FieldResolver(String className) throws ClassNotFoundException {
 		super(className);
 	}
@@ -60,11 +65,11 @@ public class FieldResolver extends MemberResolver<Field> {
 
 	@Override
 	public FieldWrapper resolveIndexWrapper(int index) {
-		return new FieldWrapper<>(resolveIndexSilent(index));
+		return FieldWrapper.of(resolveIndexSilent(index));
 	}
 
 	public FieldWrapper resolveWrapper(String... names) {
-		return new FieldWrapper<>(resolveSilent(names));
+		return FieldWrapper.of(resolveSilent(names));
 	}
 
 	public Field resolveSilent(String... names) {
@@ -104,14 +109,14 @@ public class FieldResolver extends MemberResolver<Field> {
 
 	public <T> FieldWrapper<T> resolve(Class<T> type, int index) {
 		try {
-			return new FieldWrapper<>(this.resolve(new ResolverQuery(type, index)));
+			return FieldWrapper.of(this.resolve(new ResolverQuery(type, index)));
 		} catch (NoSuchFieldException e) {
 			throw new IllegalArgumentException(e);
 		}
 	}
 
 	public <T> FieldWrapper<T> resolveSilent(Class<T> type, int index) {
-		return new FieldWrapper<>(this.resolveSilent(new ResolverQuery(type, index)));
+		return FieldWrapper.of(this.resolveSilent(new ResolverQuery(type, index)));
 	}
 
 	public <T> List<FieldWrapper<T>> resolveList(Class<T> type) {
@@ -138,7 +143,7 @@ public class FieldResolver extends MemberResolver<Field> {
 
 	public <T> FieldWrapper<T> resolveWithGenericType(Class<T> fieldType, Class<?>... genericType) {
 		try {
-			return new FieldWrapper<>(this.resolve(new ResolverQuery(fieldType, -1, genericType)));
+			return FieldWrapper.of(this.resolve(new ResolverQuery(fieldType, -1, genericType)));
 		} catch (Throwable throwable) {
 			throw new RuntimeException(throwable);
 		}
@@ -162,7 +167,7 @@ public class FieldResolver extends MemberResolver<Field> {
 	}
 
 	public FieldWrapper resolveByFirstTypeWrapper(Class<?> type) throws ReflectiveOperationException {
-		return new FieldWrapper(this.resolveByFirstType(type));
+		return FieldWrapper.of(this.resolveByFirstType(type));
 	}
 
 	public FieldWrapper resolveByFirstTypeDynamic(Class<?> type) throws ReflectiveOperationException {
@@ -171,7 +176,7 @@ public class FieldResolver extends MemberResolver<Field> {
 				.build()));
 
 		if (field != null)
-			return new FieldWrapper<>(field);
+			return FieldWrapper.of(field);
 		throw new NoSuchFieldException("Could not resolve field of type '" + type.toString() + "' in class " + this.clazz);
 	}
 
@@ -206,7 +211,7 @@ public class FieldResolver extends MemberResolver<Field> {
 	}
 
 	public FieldWrapper resolveByLastTypeWrapper(Class<?> type) throws ReflectiveOperationException {
-		return new FieldWrapper(this.resolveByLastType(type));
+		return FieldWrapper.of(this.resolveByLastType(type));
 	}
 
 	public Field resolveByLastTypeSilent(Class<?> type) {
@@ -67,18 +67,18 @@ public class MethodResolver extends MemberResolver<Method> {
 	}
 
 	public MethodWrapper resolveSignatureWrapper(String... signatures) {
-		return new MethodWrapper(resolveSignatureSilent(signatures));
+		return MethodWrapper.of(resolveSignatureSilent(signatures));
 	}
 
 	public MethodWrapper resolve(int index, Class<?>... parameters) throws ReflectiveOperationException {
 
-		return new MethodWrapper(this.resolve(new ResolverQuery(index, parameters)));
+		return MethodWrapper.of(this.resolve(new ResolverQuery(index, parameters)));
 
 	}
 
 	public MethodWrapper resolve(Class<?> returnType, int index, Class<?>... parameters) throws ReflectiveOperationException {
 
-		return new MethodWrapper<>(this.resolve(new ResolverQuery(returnType, index, parameters)));
+		return MethodWrapper.of(this.resolve(new ResolverQuery(returnType, index, parameters)));
 
 	}
 
@@ -98,15 +98,15 @@ public class MethodResolver extends MemberResolver<Method> {
 
 	@Override
 	public MethodWrapper resolveIndexWrapper(int index) {
-		return new MethodWrapper<>(resolveIndexSilent(index));
+		return MethodWrapper.of(resolveIndexSilent(index));
 	}
 
 	public MethodWrapper resolveWrapper(String... names) {
-		return new MethodWrapper<>(resolveSilent(names));
+		return MethodWrapper.of(resolveSilent(names));
 	}
 
 	public MethodWrapper resolveWrapper(ResolverQuery... queries) {
-		return new MethodWrapper<>(resolveSilent(queries));
+		return MethodWrapper.of(resolveSilent(queries));
 	}
 
 	public Method resolveSilent(String... names) {
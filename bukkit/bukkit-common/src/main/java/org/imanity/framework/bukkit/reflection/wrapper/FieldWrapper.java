@@ -24,14 +24,36 @@
 
 package org.imanity.framework.bukkit.reflection.wrapper;
 
+import org.imanity.framework.bukkit.reflection.accessor.ClassAccessorCache;
+import org.imanity.framework.bukkit.reflection.accessor.MemberHandles;
+
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 
 public class FieldWrapper<R> extends WrapperAbstract {
 
+	/**
+	 * The shared wrapper of the field, prefer it over the constructor
+	 * which builds new method handles every time
+	 *
+	 * @param field the field, or null for a wrapper that doesn't exist
+	 * @return the wrapper
+	 */
+	public static <R> FieldWrapper<R> of(Field field) {
+		if (field == null) {
+			return new FieldWrapper<>(null);
+		}
+		return ClassAccessorCache.get(field.getDeclaringClass()).fieldWrapper(field);
+	}
+
 	private final Field field;
+	private final MethodHandle getter;
+	private final MethodHandle setter;
 
 	public FieldWrapper(Field field) {
 		this.field = field;
+		this.getter = field != null ? MemberHandles.getter(field) : null;
+		this.setter = field != null ? MemberHandles.setter(field) : null;
 	}
 
 	@Override
@@ -45,33 +67,48 @@ public class FieldWrapper<R> extends WrapperAbstract {
 
 	public R get(Object object) {
 		try {
-			return (R) this.field.get(object);
-		} catch (Exception e) {
-			throw new RuntimeException(e);
+			return this.get0(object);
+		} catch (Throwable throwable) {
+			throw new RuntimeException(throwable);
 		}
 	}
 
 	public R getSilent(Object object) {
 		try {
-			return (R) this.field.get(object);
-		} catch (Exception e) {
+			return this.get0(object);
+		} catch (Throwable throwable) {
 		}
 		return null;
 	}
 
 	public void set(Object object, R value) {
 		try {
-			this.field.set(object, value);
-		} catch (Exception e) {
-			throw new RuntimeException(e);
+			this.set0(object, value);
+		} catch (Throwable throwable) {
+			throw new RuntimeException(throwable);
 		}
 	}
 
 	public void setSilent(Object object, R value) {
 		try {
-			this.field.set(object, value);
-		} catch (Exception e) {
+			this.set0(object, value);
+		} catch (Throwable throwable) {
+		}
+	}
+
+	private R get0(Object object) throws Throwable {
+		if (this.getter != null) {
+			return (R) (Object) this.getter.invokeExact(object);
+		}
+		return (R) this.field.get(object);
+	}
+
+	private void set0(Object object, R value) throws Throwable {
+		if (this.setter != null) {
+			this.setter.invokeExact(object, (Object) value);
+			return;
 		}
+		this.field.set(object, value);
 	}
 
 	public Field getField() {
@@ -24,6 +24,10 @@
 
 package org.imanity.framework.bukkit.reflection.wrapper;
 
+import org.imanity.framework.bukkit.reflection.accessor.ClassAccessorCache;
+import org.imanity.framework.bukkit.reflection.accessor.MemberHandles;
+
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.regex.Matcher;
@@ -31,10 +35,26 @@ import java.util.regex.Pattern;
 
 public class MethodWrapper<R> extends WrapperAbstract {
 
+	/**
+	 * The shared wrapper of the method, prefer it over the constructor
+	 * which builds a new method handle every time
+	 *
+	 * @param method the method, or null for a wrapper that doesn't exist
+	 * @return the wrapper
+	 */
+	public static <R> MethodWrapper<R> of(Method method) {
+		if (method == null) {
+			return new MethodWrapper<>(null);
+		}
+		return ClassAccessorCache.get(method.getDeclaringClass()).methodWrapper(method);
+	}
+
 	private final Method method;
+	private final MethodHandle handle;
 
 	public MethodWrapper(Method method) {
 		this.method = method;
+		this.handle = method != null ? MemberHandles.method(method) : null;
 	}
 
 	@Override
@@ -48,16 +68,22 @@ public class MethodWrapper<R> extends WrapperAbstract {
 
 	public R invoke(Object object, Object... args) {
 		try {
+			if (this.handle != null) {
+				return (R) (Object) this.handle.invokeExact(object, args);
+			}
 			return (R) this.method.invoke(object, args);
-		} catch (Exception e) {
-			throw new RuntimeException(e);
+		} catch (Throwable throwable) {
+			throw new RuntimeException(throwable);
 		}
 	}
 
 	public R invokeSilent(Object object, Object... args) {
 		try {
+			if (this.handle != null) {
+				return (R) (Object) this.handle.invokeExact(object, args);
+			}
 			return (R) this.method.invoke(object, args);
-		} catch (Exception e) {
+		} catch (Throwable throwable) {
 		}
 		return null;
 	}
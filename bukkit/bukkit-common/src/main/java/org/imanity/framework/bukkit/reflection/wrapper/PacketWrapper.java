@@ -27,6 +27,7 @@ package org.imanity.framework.bukkit.reflection.wrapper;
 import lombok.SneakyThrows;
 import org.bukkit.entity.Player;
 import org.imanity.framework.bukkit.reflection.MinecraftReflection;
+import org.imanity.framework.bukkit.reflection.accessor.ClassAccessorCache;
 import org.imanity.framework.bukkit.reflection.resolver.FieldResolver;
 import org.imanity.framework.bukkit.reflection.resolver.minecraft.NMSClassResolver;
 import org.imanity.framework.util.AccessUtil;
@@ -53,6 +54,7 @@ public class PacketWrapper extends WrapperAbstract {
     }
 
     private final Object packetObject;
+    private final ClassAccessorCache accessorCache;
     private final FieldResolver fieldResolver;
 
     private boolean cached;
@@ -60,14 +62,16 @@ public class PacketWrapper extends WrapperAbstract {
     @SneakyThrows
     public PacketWrapper(Object packetObject) {
         this.packetObject = packetObject;
-        this.fieldResolver = new FieldResolver(this.packetObject.getClass());
+        this.accessorCache = ClassAccessorCache.get(packetObject.getClass());
+        this.fieldResolver = new FieldResolver(packetObject.getClass(), this.accessorCache);
         this.cached = true;
     }
 
     public PacketWrapper(Class<?> type) {
         try {
             this.packetObject = type.newInstance();
-            this.fieldResolver = new FieldResolver(type);
+            this.accessorCache = ClassAccessorCache.get(type);
+            this.fieldResolver = new FieldResolver(type, this.accessorCache);
             this.cached = true;
         } catch (Throwable throwable) {
             throw new RuntimeException(throwable);
@@ -117,24 +121,31 @@ public class PacketWrapper extends WrapperAbstract {
     }
 
     public <T> FieldWrapper<T> getFieldByIndex(Class<T> type, int index) {
-        return this.fieldResolver.resolve(type, index);
+        try {
+            return FieldWrapper.of(this.accessorCache.resolveField(type, index));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private Field resolveFieldByIndex(Class<?> type, int index) {
+        try {
+            return this.accessorCache.resolveField(type, index);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("The field attempted to fetch with type " + (type != null ? type.getSimpleName() : null) + " and index " + index + " on packet class " + this.packetObject.getClass().getSimpleName() + " does not exist");
+        }
     }
 
     @SneakyThrows
     public PacketWrapper setFieldByIndex(Class<?> type, int index, Object value) {
-        FieldWrapper field = this.getFieldByIndex(type, index);
-        if (field == null) throw new RuntimeException("The field attempted to fetch with type " + type.getSimpleName() + " and index " + index + " on packet class " + this.packetObject.getClass().getSimpleName() + " does not exist");
-
-        field.set(this.packetObject, value);
+        this.resolveFieldByIndex(type, index).set(this.packetObject, value);
         return this;
     }
 
     @SneakyThrows
+    @SuppressWarnings("unchecked")
     public <T> T getPacketValueByIndex(Class<T> type, int index) {
-        FieldWrapper<T> field = this.getFieldByIndex(type, index);
-        if (field == null) throw new RuntimeException("The field attempted to fetch with type " + type.getSimpleName() + " and index " + index + " on packet class " + this.packetObject.getClass().getSimpleName() + " does not exist");
-
-        return field.get(this.packetObject);
+        return (T) this.resolveFieldByIndex(type, index).get(this.packetObject);
     }
 
     @Override
@@ -28,6 +28,7 @@ import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.imanity.framework.ImanityCommon;
+import org.imanity.framework.bukkit.packet.PacketBatch;
 import org.imanity.framework.bukkit.packet.PacketService;
 import org.imanity.framework.bukkit.packet.wrapper.server.WrappedPacketOutScoreboardDisplayObjective;
 import org.imanity.framework.bukkit.packet.wrapper.server.WrappedPacketOutScoreboardObjective;
@@ -37,20 +38,43 @@ import org.imanity.framework.metadata.MetadataKey;
 import org.imanity.framework.bukkit.util.BukkitUtil;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ImanityBoard {
 
     public static final MetadataKey<ImanityBoard> METADATA_TAG = MetadataKey.create(ImanityCommon.METADATA_PREFIX + "Scoreboard", ImanityBoard.class);
 
+    private static final String[] ENTRIES = new String[16];
+
+    static {
+        final String values = "0123456789abcdef";
+        for (int line = 1; line < 16; line++) {
+            ENTRIES[line] = ChatColor.COLOR_CHAR + "" + values.charAt(line - 1) + ChatColor.WHITE;
+        }
+    }
+
     private final Player player;
 
     private String title;
+
+    /**
+     * The last sent line, and the prefix and suffix it was split into
+     */
     private final String[] teams;
+    private final String[] prefixes;
+    private final String[] suffixes;
+
+    /**
+     * Set while the board handler is computing an update for this board
+     */
+    final AtomicBoolean updating = new AtomicBoolean();
 
     public ImanityBoard(Player player) {
 
         this.player = player;
         this.teams = new String[16];
+        this.prefixes = new String[16];
+        this.suffixes = new String[16];
 
         WrappedPacketOutScoreboardObjective packetA = new WrappedPacketOutScoreboardObjective(
                 player.getName(),
@@ -64,12 +88,14 @@ public class ImanityBoard {
                 player.getName()
         );
 
-        PacketService.send(player, packetA);
-        PacketService.send(player, packetB);
+        PacketService.batch(() -> {
+            PacketService.send(player, packetA);
+            PacketService.send(player, packetB);
+        });
 
     }
 
-    public void setTitle(String title) {
+    public synchronized void setTitle(String title) {
 
         if (this.title != null && this.title.equals(title)) {
             return;
@@ -86,22 +112,24 @@ public class ImanityBoard {
 
     }
 
-    public void setLines(List<String> lines) {
+    public synchronized void setLines(List<String> lines) {
 
-        int lineCount = 1;
+        try (PacketBatch batch = PacketService.batch()) {
+            int lineCount = 1;
 
-        for (int i = lines.size() - 1; i >= 0; --i) {
-            this.setLine(lineCount, BukkitUtil.color(lines.get(i)));
+            for (int i = lines.size() - 1; i >= 0; --i) {
+                this.setLine(lineCount, BukkitUtil.color(lines.get(i)));
 
-            lineCount++;
-        }
-
-        for (int i = lines.size(); i < 15; i++) {
-            if (teams[lineCount] != null) {
-                this.clear(lineCount);
+                lineCount++;
             }
 
-            lineCount++;
+            for (int i = lines.size(); i < 15; i++) {
+                if (teams[lineCount] != null) {
+                    this.clear(lineCount);
+                }
+
+                lineCount++;
+            }
         }
 
     }
@@ -115,7 +143,6 @@ public class ImanityBoard {
             return;
         }
 
-        WrappedPacketOutScoreboardTeam packet = getOrRegisterTeam(line);
         String prefix;
         String suffix;
 
@@ -141,15 +168,24 @@ public class ImanityBoard {
             }
         }
 
+        // Different lines can still render the same once cut down to the prefix and suffix
+        if (teams[line] != null && prefix.equals(prefixes[line]) && suffix.equals(suffixes[line])) {
+            teams[line] = value;
+            return;
+        }
+
+        WrappedPacketOutScoreboardTeam packet = getOrRegisterTeam(line);
         packet.setPrefix(prefix);
         packet.setSuffix(suffix);
 
         teams[line] = value;
+        prefixes[line] = prefix;
+        suffixes[line] = suffix;
 
         PacketService.send(player, packet);
     }
 
-    public void clear(int line) {
+    public synchronized void clear(int line) {
         if (line > 0 && line < 16) {
             if (teams[line] != null) {
 
@@ -163,6 +199,8 @@ public class ImanityBoard {
                 packetB.setAction(1);
 
                 teams[line] = null;
+                prefixes[line] = null;
+                suffixes[line] = null;
 
                 PacketService.send(player, packetA);
                 PacketService.send(player, packetB);
@@ -170,10 +208,12 @@ public class ImanityBoard {
         }
     }
 
-    public void remove() {
-        for (int line = 1; line < 15; line++) {
-            this.clear(line);
-        }
+    public synchronized void remove() {
+        PacketService.batch(() -> {
+            for (int line = 1; line < 15; line++) {
+                this.clear(line);
+            }
+        });
     }
 
     private WrappedPacketOutScoreboardTeam getOrRegisterTeam(int line) {
@@ -207,16 +247,9 @@ public class ImanityBoard {
         }
     }
 
-    private String getEntry(Integer line) {
+    private String getEntry(int line) {
         if (line > 0 && line < 16)
-            if (line <= 10)
-                return ChatColor.COLOR_CHAR + "" + (line - 1) + ChatColor.WHITE;
-            else {
-                final String values = "a,b,c,d,e,f";
-                final String[] next = values.split(",");
-
-                return ChatColor.COLOR_CHAR + next[line - 11] + ChatColor.WHITE;
-            }
+            return ENTRIES[line];
         return "";
     }
 
@@ -24,24 +24,37 @@
 
 package org.imanity.framework.bukkit.scoreboard;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.imanity.framework.bukkit.Imanity;
 import org.imanity.framework.bukkit.listener.events.Events;
+import org.imanity.framework.bukkit.packet.PacketService;
 import org.imanity.framework.bukkit.metadata.Metadata;
 import org.imanity.framework.bukkit.util.BukkitUtil;
 
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class ImanityBoardHandler implements Runnable {
 
     private final ImanityBoardAdapter adapter;
     private final Queue<Runnable> runnables = new ConcurrentLinkedQueue<>();
 
+    /**
+     * Computes and sends the boards, so a slow adapter only holds up the board it's computing
+     */
+    private final ExecutorService executorService;
+
     public ImanityBoardHandler(ImanityBoardAdapter adapter) {
         this.adapter = adapter;
+        this.executorService = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), new ThreadFactoryBuilder()
+                .setNameFormat("Imanity Scoreboard Worker %d")
+                .setDaemon(true)
+                .build());
 
         Thread thread = new Thread(this);
         thread.setName("Imanity Scoreboard Thread");
@@ -75,6 +88,8 @@ public class ImanityBoardHandler implements Runnable {
                 ex.printStackTrace();
             }
         }
+
+        this.executorService.shutdown();
     }
 
     private void tick() {
@@ -89,11 +104,33 @@ public class ImanityBoardHandler implements Runnable {
                 continue;
             }
 
-            String title = BukkitUtil.color(adapter.getTitle(player));
+            // The previous update of this board is still running
+            if (!board.updating.compareAndSet(false, true)) {
+                continue;
+            }
 
-            board.setTitle(title);
+            this.executorService.execute(() -> {
+                try {
+                    this.update(player, board);
+                } catch (Throwable throwable) {
+                    throwable.printStackTrace();
+                } finally {
+                    board.updating.set(false);
+                }
+            });
+        }
+    }
 
-            List<String> newLines = this.adapter.getLines(player);
+    private void update(Player player, ImanityBoard board) {
+        if (!player.isOnline() || this.get(player) != board) {
+            return;
+        }
+
+        String title = BukkitUtil.color(adapter.getTitle(player));
+        List<String> newLines = this.adapter.getLines(player);
+
+        PacketService.batch(() -> {
+            board.setTitle(title);
 
             if (newLines == null || newLines.isEmpty()) {
                 board.remove();
@@ -102,7 +139,7 @@ public class ImanityBoardHandler implements Runnable {
                 board.setLines(newLines);
 
             }
-        }
+        });
     }
 
     public void remove(Player player) {
@@ -24,8 +24,6 @@
 
 package org.imanity.framework.bukkit.visual;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.base.Predicate;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
@@ -37,12 +35,9 @@ import org.bukkit.block.Block;
 import org.bukkit.craftbukkit.v1_8_R3.entity.CraftPlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.material.MaterialData;
-import org.bukkit.util.Vector;
 import org.imanity.framework.bukkit.Imanity;
 import org.imanity.framework.bukkit.player.movement.MovementListener;
 import org.imanity.framework.bukkit.util.BlockPosition;
-import org.imanity.framework.bukkit.util.CoordXZ;
-import org.imanity.framework.bukkit.util.CoordinatePair;
 import org.imanity.framework.bukkit.util.TaskUtil;
 import org.imanity.framework.bukkit.visual.event.PreHandleVisualClaimEvent;
 import org.imanity.framework.bukkit.visual.event.PreHandleVisualEvent;
@@ -54,23 +49,10 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 public class VisualBlockHandler implements Runnable {
 
     private final Table<UUID, VisualPosition, VisualBlock> table = HashBasedTable.create();
-    private final LoadingCache<CoordinatePair, Optional<VisualBlockClaim>> claimCache;
-    private final Table<CoordinatePair, CoordXZ, VisualBlockClaim> claimPositionTable;
+    private final VisualClaimIndex claimIndex = new VisualClaimIndex();
     private final Queue<VisualTask> visualTasks = new ConcurrentLinkedQueue<>();
 
     public VisualBlockHandler() {
-        this.claimPositionTable = HashBasedTable.create();
-        this.claimCache = Caffeine.newBuilder()
-                .maximumSize(8000)
-                .build(coordinatePair -> {
-                    final int chunkX = coordinatePair.getX() >> 4;
-                    final int chunkZ = coordinatePair.getZ() >> 4;
-                    final int posX = coordinatePair.getX() % 16;
-                    final int posZ = coordinatePair.getZ() % 16;
-                    synchronized (claimPositionTable) {
-                        return Optional.ofNullable(claimPositionTable.get(new CoordinatePair(coordinatePair.getWorldName(), chunkX, chunkZ), new CoordXZ((byte) posX, (byte) posZ)));
-                    }
-                });
         TaskUtil.runAsyncRepeated(this, 1L);
         Imanity.registerMovementListener(new MovementListener() {
             @Override
@@ -87,22 +69,15 @@ public class VisualBlockHandler implements Runnable {
     }
 
     public void cacheClaim(VisualBlockClaim claim) {
-        final World world = claim.getWorld();
-        final int minX = Math.min(claim.getMaxX(), claim.getMinX());
-        final int maxX = Math.max(claim.getMaxX(), claim.getMinX());
-        final int minZ = Math.min(claim.getMaxZ(), claim.getMinZ());
-        final int maxZ = Math.max(claim.getMaxZ(), claim.getMinZ());
-        for (int x = minX; x <= maxX; x++) {
-            for (int z = minZ; z <= maxZ; z++) {
-                final CoordinatePair worldPosition = new CoordinatePair(world, x, z);
-                final CoordinatePair chunkPair = new CoordinatePair(world, x >> 4, z >> 4);
-                final CoordXZ chunkPosition = new CoordXZ((byte) (x % 16), (byte) (z % 16));
-                synchronized (claimPositionTable) {
-                    claimPositionTable.put(chunkPair, chunkPosition, claim);
-                }
-                claimCache.invalidate(worldPosition);
-            }
-        }
+        this.claimIndex.add(claim);
+    }
+
+    public boolean uncacheClaim(VisualBlockClaim claim) {
+        return this.claimIndex.remove(claim);
+    }
+
+    public Collection<VisualBlockClaim> getClaimsIn(final World world, final int minX, final int minZ, final int maxX, final int maxZ) {
+        return this.claimIndex.query(world.getName(), minX, minZ, maxX, maxZ);
     }
 
     public void clearAll(final Player player, final boolean send) {
@@ -190,22 +165,11 @@ public class VisualBlockHandler implements Runnable {
     }
 
     public VisualBlockClaim getTeamAt(final World world, final int x, final int z) {
-        try {
-            return claimCache.get(new CoordinatePair(world, x, z)).orElse(null);
-        } catch (final Exception exception) {
-            exception.printStackTrace();
-            final int chunkX = x >> 4;
-            final int chunkZ = z >> 4;
-            final byte posX = (byte) (x % 16);
-            final byte posZ = (byte) (z % 16);
-            synchronized (claimPositionTable) {
-                return claimPositionTable.get(new CoordinatePair(world, chunkX, chunkZ), new CoordXZ(posX, posZ));
-            }
-        }
+        return this.claimIndex.getAt(world.getName(), x, z);
     }
 
     public void handlePositionChanged(final Player player, final Location location) {
-        if (this.claimPositionTable.isEmpty()) {
+        if (this.claimIndex.isEmpty()) {
             return;
         }
 
@@ -221,49 +185,24 @@ public class VisualBlockHandler implements Runnable {
 
         final int toX = location.getBlockX();
         final int toZ = location.getBlockZ();
-
-        final Collection<VisualBlockClaim> claimCache = new HashSet<>();
-
-        for (int x = toX - 7; x < toX + 7; x++) {
-            for (int z = toZ - 7; z < toZ + 7; z++) {
-                final VisualBlockClaim color = this.getTeamAt(location.getWorld(), x, z);
-                PreHandleVisualClaimEvent claimEvent = new PreHandleVisualClaimEvent(player, color);
-
-                Imanity.callEvent(claimEvent);
-
-                if (color != null && !claimEvent.isCancelled()) {
-                    claimCache.add(color);
-                }
-            }
-        }
+        final String worldName = location.getWorld().getName();
 
         final List<VisualPosition> blockPositions = new ArrayList<>();
 
-        if (!claimCache.isEmpty()) {
-            final Iterator<VisualBlockClaim> claims = claimCache.iterator();
-            while (claims.hasNext()) {
+        for (VisualBlockClaim claim : this.claimIndex.query(worldName, toX - 7, toZ - 7, toX + 6, toZ + 6)) {
+            PreHandleVisualClaimEvent claimEvent = new PreHandleVisualClaimEvent(player, claim);
+            Imanity.callEvent(claimEvent);
 
-                VisualBlockClaim claim = claims.next();
-                VisualType type = claim.getType();
+            if (claimEvent.isCancelled()) {
+                continue;
+            }
 
-                for (final Vector edge : this.getEdges(claim)) {
-                    if (Math.abs(edge.getBlockX() - toX) > 7) {
-                        continue;
-                    }
-                    if (Math.abs(edge.getBlockZ() - toZ) > 7) {
-                        continue;
-                    }
-                    final Location location2 = edge.toLocation(location.getWorld());
-                    if (location2 == null) {
-                        continue;
-                    }
-                    for (int y = minHeight; y <= maxHeight; y++) {
-                        blockPositions.add(new VisualPosition(location2.getBlockX(), y, location2.getBlockZ(), player.getWorld().getName(), type));
-                    }
+            final VisualType type = claim.getType();
+            VisualClaimIndex.forEachEdge(claim, toX - 7, toZ - 7, toX + 7, toZ + 7, (x, z) -> {
+                for (int y = minHeight; y <= maxHeight; y++) {
+                    blockPositions.add(new VisualPosition(x, y, z, worldName, type));
                 }
-
-                claims.remove();
-            }
+            });
         }
 
         if (player.isOnline()) {
@@ -272,37 +211,6 @@ public class VisualBlockHandler implements Runnable {
         }
     }
 
-    public List<Vector> getEdges(VisualBlockClaim claim) {
-
-        final int minX = Math.min(claim.getMinX(), claim.getMaxX());
-        final int maxX = Math.max(claim.getMinX(), claim.getMaxX());
-        final int minZ = Math.min(claim.getMinZ(), claim.getMaxZ());
-        final int startX = minZ + 1;
-        final int maxZ = Math.max(claim.getMinZ(), claim.getMaxZ());
-        int capacity = (maxX - minX) * 4 + (maxZ - minZ) * 4;
-        capacity += 4;
-        if (capacity <= 0) {
-            return new ArrayList<>();
-        }
-        final List<Vector> result = new ArrayList<>(capacity);
-        final int minY = Math.min(claim.getMinY(), claim.getMaxY());
-        final int maxY = Math.max(claim.getMinY(), claim.getMaxY());
-        for (int z = minX; z <= maxX; ++z) {
-            result.add(new Vector(z, minY, minZ));
-            result.add(new Vector(z, minY, maxZ));
-            result.add(new Vector(z, maxY, minZ));
-            result.add(new Vector(z, maxY, maxZ));
-        }
-        for (int z = startX; z < maxZ; ++z) {
-            result.add(new Vector(minX, minY, z));
-            result.add(new Vector(minX, maxY, z));
-            result.add(new Vector(maxX, minY, z));
-            result.add(new Vector(maxX, maxY, z));
-        }
-        return result;
-
-    }
-
     public void addVisualTask(Player player, VisualTask task) {
         this.visualTasks.removeIf(otherTask -> otherTask.getPlayer() == player);
         this.visualTasks.add(task);
@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.bukkit.visual;
+
+import java.util.*;
+
+/**
+ * Buckets claim rectangles by the 64x64 regions they overlap, so memory grows with
+ * the number of claims instead of their area and an area lookup only touches the
+ * few buckets around it.
+ */
+public class VisualClaimIndex {
+
+    private static final int REGION_SHIFT = 6;
+
+    private final Map<String, Map<Long, List<VisualBlockClaim>>> worlds = new HashMap<>();
+    private final Map<VisualBlockClaim, String> claims = new HashMap<>();
+
+    public synchronized void add(VisualBlockClaim claim) {
+        this.remove(claim);
+
+        final String worldName = claim.getWorld().getName();
+        final Map<Long, List<VisualBlockClaim>> regions = this.worlds.computeIfAbsent(worldName, ignored -> new HashMap<>());
+
+        final int minRegionX = minX(claim) >> REGION_SHIFT;
+        final int maxRegionX = maxX(claim) >> REGION_SHIFT;
+        final int minRegionZ = minZ(claim) >> REGION_SHIFT;
+        final int maxRegionZ = maxZ(claim) >> REGION_SHIFT;
+        for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+            for (int regionZ = minRegionZ; regionZ <= maxRegionZ; regionZ++) {
+                regions.computeIfAbsent(key(regionX, regionZ), ignored -> new ArrayList<>(2)).add(claim);
+            }
+        }
+        this.claims.put(claim, worldName);
+    }
+
+    public synchronized boolean remove(VisualBlockClaim claim) {
+        final String worldName = this.claims.remove(claim);
+        if (worldName == null) {
+            return false;
+        }
+
+        final Map<Long, List<VisualBlockClaim>> regions = this.worlds.get(worldName);
+        final Iterator<List<VisualBlockClaim>> iterator = regions.values().iterator();
+        while (iterator.hasNext()) {
+            final List<VisualBlockClaim> bucket = iterator.next();
+            if (bucket.remove(claim) && bucket.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        if (regions.isEmpty()) {
+            this.worlds.remove(worldName);
+        }
+        return true;
+    }
+
+    public synchronized boolean isEmpty() {
+        return this.claims.isEmpty();
+    }
+
+    public synchronized void clear() {
+        this.worlds.clear();
+        this.claims.clear();
+    }
+
+    public synchronized VisualBlockClaim getAt(String worldName, int x, int z) {
+        final Map<Long, List<VisualBlockClaim>> regions = this.worlds.get(worldName);
+        if (regions == null) {
+            return null;
+        }
+
+        final List<VisualBlockClaim> bucket = regions.get(key(x >> REGION_SHIFT, z >> REGION_SHIFT));
+        if (bucket == null) {
+            return null;
+        }
+
+        // the latest cached claim wins where claims overlap, buckets keep claims in the order they've been added
+        for (int i = bucket.size() - 1; i >= 0; i--) {
+            final VisualBlockClaim claim = bucket.get(i);
+            if (intersects(claim, x, z, x, z)) {
+                return claim;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collect every claim whose rectangle intersects the inclusive area from (minX, minZ) to (maxX, maxZ)
+     */
+    public synchronized Set<VisualBlockClaim> query(String worldName, int minX, int minZ, int maxX, int maxZ) {
+        final Map<Long, List<VisualBlockClaim>> regions = this.worlds.get(worldName);
+        if (regions == null) {
+            return Collections.emptySet();
+        }
+
+        Set<VisualBlockClaim> result = null;
+        for (int regionX = minX >> REGION_SHIFT; regionX <= maxX >> REGION_SHIFT; regionX++) {
+            for (int regionZ = minZ >> REGION_SHIFT; regionZ <= maxZ >> REGION_SHIFT; regionZ++) {
+                final List<VisualBlockClaim> bucket = regions.get(key(regionX, regionZ));
+                if (bucket == null) {
+                    continue;
+                }
+                for (VisualBlockClaim claim : bucket) {
+                    if (intersects(claim, minX, minZ, maxX, maxZ)) {
+                        if (result == null) {
+                            result = new LinkedHashSet<>();
+                        }
+                        result.add(claim);
+                    }
+                }
+            }
+        }
+        return result != null ? result : Collections.emptySet();
+    }
+
+    /**
+     * Walk the border columns of the claim that fall inside the inclusive area, each column is reported once
+     */
+    public static void forEachEdge(VisualBlockClaim claim, int minX, int minZ, int maxX, int maxZ, EdgeConsumer consumer) {
+        final int claimMinX = minX(claim);
+        final int claimMaxX = maxX(claim);
+        final int claimMinZ = minZ(claim);
+        final int claimMaxZ = maxZ(claim);
+
+        final int fromX = Math.max(claimMinX, minX);
+        final int toX = Math.min(claimMaxX, maxX);
+        for (int x = fromX; x <= toX; x++) {
+            if (claimMinZ >= minZ && claimMinZ <= maxZ) {
+                consumer.accept(x, claimMinZ);
+            }
+            if (claimMaxZ != claimMinZ && claimMaxZ >= minZ && claimMaxZ <= maxZ) {
+                consumer.accept(x, claimMaxZ);
+            }
+        }
+
+        final int fromZ = Math.max(claimMinZ + 1, minZ);
+        final int toZ = Math.min(claimMaxZ - 1, maxZ);
+        for (int z = fromZ; z <= toZ; z++) {
+            if (claimMinX >= minX && claimMinX <= maxX) {
+                consumer.accept(claimMinX, z);
+            }
+            if (claimMaxX != claimMinX && claimMaxX >= minX && claimMaxX <= maxX) {
+                consumer.accept(claimMaxX, z);
+            }
+        }
+    }
+
+    private static boolean intersects(VisualBlockClaim claim, int minX, int minZ, int maxX, int maxZ) {
+        return minX(claim) <= maxX && maxX(claim) >= minX && minZ(claim) <= maxZ && maxZ(claim) >= minZ;
+    }
+
+    private static long key(int regionX, int regionZ) {
+        return ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+    }
+
+    private static int minX(VisualBlockClaim claim) {
+        return Math.min(claim.getMinX(), claim.getMaxX());
+    }
+
+    private static int maxX(VisualBlockClaim claim) {
+        return Math.max(claim.getMinX(), claim.getMaxX());
+    }
+
+    private static int minZ(VisualBlockClaim claim) {
+        return Math.min(claim.getMinZ(), claim.getMaxZ());
+    }
+
+    private static int maxZ(VisualBlockClaim claim) {
+        return Math.max(claim.getMinZ(), claim.getMaxZ());
+    }
+
+    public interface EdgeConsumer {
+
+        void accept(int x, int z);
+
+    }
+
+}
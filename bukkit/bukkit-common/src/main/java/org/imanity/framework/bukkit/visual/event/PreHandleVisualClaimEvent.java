@@ -32,6 +32,9 @@ import org.bukkit.event.HandlerList;
 import org.bukkit.event.player.PlayerEvent;
 import org.imanity.framework.bukkit.visual.VisualBlockClaim;
 
+/**
+ * Called once for each claim in range of a moving player before its edges are shown, the claim is never null
+ */
 @Getter
 @Setter
 public class PreHandleVisualClaimEvent extends PlayerEvent implements Cancellable {
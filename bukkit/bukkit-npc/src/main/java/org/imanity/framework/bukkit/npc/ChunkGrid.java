@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.imanity.framework.bukkit.npc;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A spatial hash of the players or NPCs of a pool keyed by the chunk they are standing in,
+ * finding the ones near a location only has to look into the chunks around it.
+ *
+ * The grid is updated from the main thread and can be read from the render threads.
+ *
+ * @param <T> the type of the tracked members
+ */
+public class ChunkGrid<T> {
+
+    private final Map<Long, Set<T>> cells = new ConcurrentHashMap<>();
+    private final Map<T, Long> memberCells = new ConcurrentHashMap<>();
+
+    private static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) + chunkZ - Integer.MIN_VALUE;
+    }
+
+    /**
+     * Move the member to the chunk at the coordinates, does nothing if it's already in that chunk
+     *
+     * @param member the member
+     * @param x the block x
+     * @param z the block z
+     */
+    public void update(T member, double x, double z) {
+        long key = key((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+
+        Long previous = this.memberCells.put(member, key);
+        if (previous != null) {
+            if (previous == key) {
+                return;
+            }
+            this.removeFromCell(previous, member);
+        }
+
+        this.cells.computeIfAbsent(key, ignored -> ConcurrentHashMap.newKeySet()).add(member);
+    }
+
+    public void remove(T member) {
+        Long previous = this.memberCells.remove(member);
+        if (previous != null) {
+            this.removeFromCell(previous, member);
+        }
+    }
+
+    private void removeFromCell(long key, T member) {
+        this.cells.computeIfPresent(key, (ignored, members) -> {
+            members.remove(member);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    public boolean contains(T member) {
+        return this.memberCells.containsKey(member);
+    }
+
+    /**
+     * Pass every member in the chunks overlapping the square of the range around the coordinates to the consumer,
+     * the members still have to be filtered by their exact distance.
+     *
+     * @param x the block x
+     * @param z the block z
+     * @param range the range in blocks
+     * @param consumer the consumer
+     */
+    public void forEachNear(double x, double z, double range, Consumer<T> consumer) {
+        int minX = (int) Math.floor(x - range) >> 4;
+        int maxX = (int) Math.floor(x + range) >> 4;
+        int minZ = (int) Math.floor(z - range) >> 4;
+        int maxZ = (int) Math.floor(z + range) >> 4;
+
+        for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+            for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++) {
+                Set<T> members = this.cells.get(key(chunkX, chunkZ));
+                if (members != null) {
+                    members.forEach(consumer);
+                }
+            }
+        }
+    }
+
+}
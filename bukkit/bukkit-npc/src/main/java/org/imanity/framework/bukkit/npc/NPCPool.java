@@ -40,11 +40,10 @@ import lombok.NoArgsConstructor;
 import org.bukkit.*;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
-import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.bukkit.event.player.*;
 import org.bukkit.material.MaterialData;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.imanity.framework.bukkit.npc.event.PlayerNPCInteractEvent;
@@ -87,10 +86,15 @@ public class NPCPool implements Listener {
 
     private final double spawnDistance;
     private final double actionDistance;
+    private final int spawnRange;
+    private final int actionRange;
     private final long tabListRemoveTicks;
     private final Map<Integer, NPC> npcMap = new ConcurrentHashMap<>();
     private final Map<Long, CachedChunk> chunkSnapshots = new ConcurrentHashMap<>();
 
+    private final ChunkGrid<Player> playerGrid = new ChunkGrid<>();
+    private final ChunkGrid<NPC> npcGrid = new ChunkGrid<>();
+
     private long xzToKey(int x, int z) {
         return ((long) x << 32) + z - Integer.MIN_VALUE;
     }
@@ -111,8 +115,15 @@ public class NPCPool implements Listener {
 
         this.spawnDistance = spawnDistance * spawnDistance;
         this.actionDistance = actionDistance * actionDistance;
+        this.spawnRange = spawnDistance;
+        this.actionRange = actionDistance;
         this.tabListRemoveTicks = tabListRemoveTicks;
 
+        for (Player player : world.getPlayers()) {
+            this.playerGrid.update(player, player.getLocation().getX(), player.getLocation().getZ());
+        }
+        Bukkit.getPluginManager().registerEvents(this, javaPlugin);
+
         this.addInteractListener();
         this.npcTick();
 
@@ -233,6 +244,7 @@ public class NPCPool implements Listener {
 
             for (NPC npc : npcs) {
                 npc.tick();
+                this.npcGrid.update(npc, npc.getX(), npc.getZ());
             }
 
             EXECUTOR_SERVICE.submit(() -> {
@@ -246,6 +258,7 @@ public class NPCPool implements Listener {
 
     protected void takeCareOf(@NotNull NPC npc) {
         this.npcMap.put(npc.getEntityId(), npc);
+        this.npcGrid.update(npc, npc.getX(), npc.getZ());
     }
 
     @Nullable
@@ -258,36 +271,102 @@ public class NPCPool implements Listener {
 
         if (npc != null) {
             this.npcMap.remove(entityId);
+            this.npcGrid.remove(npc);
             npc.getSeeingPlayers().forEach(npc::hide);
         }
     }
 
+    private void updatePlayer(Player player, Location location) {
+        if (location.getWorld() != this.world) {
+            this.playerGrid.remove(player);
+            return;
+        }
+
+        this.playerGrid.update(player, location.getX(), location.getZ());
+    }
+
+    private boolean isSameChunk(Location from, Location to) {
+        return from.getWorld() == to.getWorld()
+                && from.getBlockX() >> 4 == to.getBlockX() >> 4
+                && from.getBlockZ() >> 4 == to.getBlockZ() >> 4;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void handleMove(PlayerMoveEvent event) {
+        if (!this.isSameChunk(event.getFrom(), event.getTo())) {
+            this.updatePlayer(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void handleTeleport(PlayerTeleportEvent event) {
+        if (!this.isSameChunk(event.getFrom(), event.getTo())) {
+            this.updatePlayer(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void handleJoin(PlayerJoinEvent event) {
+        this.updatePlayer(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void handleRespawn(PlayerRespawnEvent event) {
+        this.updatePlayer(event.getPlayer(), event.getRespawnLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void handleChangedWorld(PlayerChangedWorldEvent event) {
+        this.updatePlayer(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
     @EventHandler
     public void handleQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
+        Location location = player.getLocation();
 
-        this.npcMap.values().stream()
-                .filter(npc -> npc.isShownFor(player))
-                .forEach(npc -> npc.untrack(player));
+        this.playerGrid.remove(player);
+
+        if (location.getWorld() == this.world) {
+            this.npcGrid.forEachNear(location.getX(), location.getZ(), this.spawnRange, npc -> {
+                if (npc.isShownFor(player)) {
+                    npc.untrack(player);
+                }
+            });
+        }
     }
 
     @EventHandler
     public void handleSneak(PlayerToggleSneakEvent event) {
         Player player = event.getPlayer();
+        Location location = player.getLocation();
 
-        this.npcMap.values().stream()
-                .filter(npc -> npc.isImitatePlayer() && npc.isShownFor(player) && npc.getLocation().distanceSquared(player.getLocation()) <= this.actionDistance)
-                .forEach(npc -> npc.metadata().queue(MetadataModifier.EntityMetadata.SNEAKING, event.isSneaking()).send(player));
+        if (location.getWorld() != this.world) {
+            return;
+        }
+
+        this.npcGrid.forEachNear(location.getX(), location.getZ(), this.actionRange, npc -> {
+            if (npc.isImitatePlayer() && npc.isShownFor(player) && npc.getLocation().distanceSquared(location) <= this.actionDistance) {
+                npc.metadata().queue(MetadataModifier.EntityMetadata.SNEAKING, event.isSneaking()).send(player);
+            }
+        });
     }
 
     @EventHandler
     public void handleClick(PlayerInteractEvent event) {
         Player player = event.getPlayer();
+        Location location = player.getLocation();
+
+        if (location.getWorld() != this.world) {
+            return;
+        }
 
         if (event.getAction() == Action.LEFT_CLICK_AIR || event.getAction() == Action.LEFT_CLICK_BLOCK) {
-            this.npcMap.values().stream()
-                    .filter(npc -> npc.isImitatePlayer() && npc.isShownFor(player) && npc.getLocation().distanceSquared(player.getLocation()) <= this.actionDistance)
-                    .forEach(npc -> npc.animation().queue(AnimationModifier.EntityAnimation.SWING_MAIN_ARM).send(player));
+            this.npcGrid.forEachNear(location.getX(), location.getZ(), this.actionRange, npc -> {
+                if (npc.isImitatePlayer() && npc.isShownFor(player) && npc.getLocation().distanceSquared(location) <= this.actionDistance) {
+                    npc.animation().queue(AnimationModifier.EntityAnimation.SWING_MAIN_ARM).send(player);
+                }
+            });
         }
     }
 
@@ -30,8 +30,8 @@ import com.comphenix.protocol.events.PacketContainer;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.imanity.framework.bukkit.Imanity;
 import org.imanity.framework.bukkit.npc.NPC;
+import org.imanity.framework.bukkit.npc.NPCPool;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
@@ -246,10 +246,12 @@ public class NPCTrackerEntry {
     }
 
     public void addNearbyPlayers() {
+        NPCPool pool = this.npc.getPool();
+        Location location = this.npc.getLocation();
 
-        Imanity.IMPLEMENTATION.getPlayerRadius(this.npc.getLocation(), this.npc.getPool().getSpawnDistance()).forEach(player -> {
+        pool.getPlayerGrid().forEachNear(location.getX(), location.getZ(), pool.getSpawnRange(), player -> {
 
-            if (!this.trackedPlayers.containsKey(player)) {
+            if (!this.trackedPlayers.containsKey(player) && this.isInRange(player)) {
                 this.trackedPlayers.put(player, true);
 
                 this.npc.show(player);
@@ -259,6 +261,13 @@ public class NPCTrackerEntry {
 
     }
 
+    private boolean isInRange(Player player) {
+        double x = player.getLocation().getX() - this.npc.getLocation().getX();
+        double z = player.getLocation().getZ() - this.npc.getLocation().getZ();
+
+        return x * x <= this.npc.getPool().getSpawnDistance() && z * z <= this.npc.getPool().getSpawnDistance();
+    }
+
     public void untrack(Player player) {
         this.npc.hide(player);
 
@@ -267,10 +276,7 @@ public class NPCTrackerEntry {
 
     public void removeFarPlayers() {
         for (Player player : this.trackedPlayers.keySet()) {
-            double x = player.getLocation().getX() - this.npc.getLocation().getX();
-            double z = player.getLocation().getZ() - this.npc.getLocation().getZ();
-
-            if (Math.abs(x * x) > this.npc.getPool().getSpawnDistance() || Math.abs(z * z) > this.npc.getPool().getSpawnDistance()) {
+            if (!this.npc.getPool().getPlayerGrid().contains(player) || !this.isInRange(player)) {
                 toRemove.add(player);
             }
         }
@@ -44,6 +44,7 @@ import org.imanity.framework.libraries.LibraryHandler;
 import org.imanity.framework.locale.Locale;
 import org.imanity.framework.locale.LocaleHandler;
 import org.imanity.framework.locale.LocaleRepository;
+import org.imanity.framework.locale.LocaleTemplate;
 import org.imanity.framework.locale.player.LocaleData;
 import org.imanity.framework.redis.server.ServerHandler;
 import org.imanity.framework.redis.server.enums.ServerState;
@@ -51,6 +52,7 @@ import org.imanity.framework.task.ITaskScheduler;
 import org.imanity.framework.util.Terminable;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ImanityCommon {
@@ -106,6 +108,7 @@ public final class ImanityCommon {
         ImanityCommon.CORE_CONFIG = new CoreConfig();
         ImanityCommon.CORE_CONFIG.loadAndSave();
 
+        BeanContext.PARALLEL_INITIALIZATION = ImanityCommon.CORE_CONFIG.PARALLEL_BEAN_INITIALIZATION;
         ImanityCommon.BEAN_CONTEXT = new BeanContext();
         ImanityCommon.BEAN_CONTEXT.init();
     }
@@ -180,22 +183,32 @@ public final class ImanityCommon {
             }
         }
 
+        // Let queued saves finish while the connections are still open
+        if (!RepositoryExecutor.shutdown(30L, TimeUnit.SECONDS)) {
+            ImanityCommon.getLogger().warn("Timed out waiting for the queued repository queries to complete");
+        }
+
         ImanityCommon.BEAN_CONTEXT.stop();
         FrameworkMisc.close();
     }
 
     public static String translate(UUID uuid, String key) {
+        return ImanityCommon.getLocale(uuid).get(key);
+    }
+
+    public static LocaleTemplate translateTemplate(UUID uuid, String key) {
+        return ImanityCommon.getLocale(uuid).getTemplate(key);
+    }
+
+    private static Locale getLocale(UUID uuid) {
         if (!ImanityCommon.CORE_CONFIG.USE_LOCALE) {
             throw new OptionNotEnabledException("use_locale", "org.imanity.framework.config.yml");
         }
         LocaleData localeData = LOCALE_REPOSITORY.find(uuid);
-        Locale locale;
         if (localeData == null || localeData.getLocale() == null) {
-            locale = ImanityCommon.LOCALE_HANDLER.getDefaultLocale();
-        } else {
-            locale = localeData.getLocale();
+            return ImanityCommon.LOCALE_HANDLER.getDefaultLocale();
         }
-        return locale.get(key);
+        return localeData.getLocale();
     }
 
     public static void addTerminable(Terminable terminable) {
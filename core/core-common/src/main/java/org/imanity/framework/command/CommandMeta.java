@@ -25,16 +25,15 @@
 package org.imanity.framework.command;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import org.imanity.framework.command.parameter.ParameterMeta;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 @Getter
 public class CommandMeta {
 
@@ -45,6 +44,31 @@ public class CommandMeta {
     private final Method method;
     private final PresenceProvider presenceProvider;
 
+    private final Class<?> eventType;
+
+    /**
+     * The method bound to the instance, taking every argument in one {@code Object[]}
+     */
+    private final MethodHandle invoker;
+
+    @SneakyThrows
+    public CommandMeta(String[] names, String permission, List<ParameterMeta> parameters, Object instance, Method method, PresenceProvider presenceProvider) {
+        this.names = names;
+        this.permission = permission;
+        this.parameters = parameters;
+        this.instance = instance;
+        this.method = method;
+        this.presenceProvider = presenceProvider;
+
+        this.eventType = method.getParameterTypes()[0];
+
+        method.setAccessible(true);
+        this.invoker = MethodHandles.lookup().unreflect(method)
+                .bindTo(instance)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(void.class, Object[].class));
+    }
+
     public String getName() {
         return names[0];
     }
@@ -75,14 +99,15 @@ public class CommandMeta {
     }
 
     public void execute(CommandEvent event, String[] arguments) {
-        if (!method.getParameterTypes()[0].isAssignableFrom(event.getClass())) {
+        if (!this.eventType.isAssignableFrom(event.getClass())) {
             event.sendInternalError("This command cannot be executed by " + event.name());
             return;
         }
 
-        List<Object> transformedParameters = new ArrayList<>();
+        Object[] transformedParameters = new Object[this.method.getParameterCount()];
+        int count = 0;
 
-        transformedParameters.add(event);
+        transformedParameters[count++] = event;
 
         for (int i = 0; i < this.getParameters().size(); i++) {
             ParameterMeta parameter = getParameters().get(i);
@@ -100,17 +125,22 @@ public class CommandMeta {
                 event.sendUsage(this.getUsage());
                 return;
             }
-            transformedParameters.add(result);
+            transformedParameters[count++] = result;
             if (parameter.isWildcard()) {
                 break;
             }
         }
 
+        if (count < transformedParameters.length) {
+            event.sendInternalError("The wildcard parameter of " + this.method + " must be the last one");
+            return;
+        }
+
         try {
-            method.invoke(this.instance, transformedParameters.toArray());
-        } catch (Exception e) {
-            event.sendError(e);
-            e.printStackTrace();
+            this.invoker.invokeExact(transformedParameters);
+        } catch (Throwable throwable) {
+            event.sendError(throwable);
+            throwable.printStackTrace();
         }
     }
 
@@ -56,6 +56,7 @@ public class CommandService {
     private Map<Class<?>, ParameterHolder> parameters;
     private Map<Class<?>, PresenceProvider> presenceProvidersByHolder;
     private List<CommandMeta> commands;
+    private CommandTree commandTree;
 
     private Map<Class<?>, PresenceProvider> defaultPresenceProviders;
 
@@ -66,6 +67,7 @@ public class CommandService {
         this.defaultPresenceProviders = new ConcurrentHashMap<>();
 
         this.commands = new ArrayList<>();
+        this.commandTree = new CommandTree();
 
         ComponentRegistry.registerComponentHolder(new ComponentHolder() {
             @Override
@@ -173,6 +175,7 @@ public class CommandService {
 
                 CommandMeta meta = new CommandMeta(command.names(), command.permissionNode(), parameterData, holder, method, presenceProviderMethod);
                 this.commands.add(meta);
+                this.commandTree.register(meta);
             }
         }
     }
@@ -211,37 +214,14 @@ public class CommandService {
             return false;
         }
 
-        CommandMeta commandMeta = null;
-        String[] arguments = new String[0];
-
-        search:
-        for (CommandMeta meta : this.commands) {
-            for (String alias : meta.getNames()) {
-                String message = command.toLowerCase() + " ";
-                String alia = alias.toLowerCase() + " ";
-
-                if (message.startsWith(alia)) {
-                    commandMeta = meta;
-
-                    if (message.length() > alia.length()) {
-                        if (commandMeta.getParameters().size() == 0) {
-                            continue;
-                        }
-                    }
-
-                    if (command.length() > alias.length() + 1) {
-                        arguments = command.substring(alias.length() + 1).split(" ");
-                    }
-
-                    break search;
-                }
-            }
-        }
-
-        if (commandMeta == null) {
+        CommandTree.Match match = this.commandTree.match(command);
+        if (match == null) {
             return false;
         }
 
+        CommandMeta commandMeta = match.getCommandMeta();
+        String[] arguments = match.getArguments();
+
         commandEvent.setPresenceProvider(commandMeta.getPresenceProvider());
 
         if (!commandMeta.canAccess(user)) {
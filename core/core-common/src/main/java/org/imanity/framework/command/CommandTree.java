@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.command;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prefix tree of lowercase alias segments, so evaluating a command walks its leading words once
+ * instead of comparing it against every alias of every command
+ */
+public class CommandTree {
+
+    private static final String[] NO_ARGUMENTS = new String[0];
+    private static final CommandMeta[] NO_COMMANDS = new CommandMeta[0];
+
+    private final Node root = new Node();
+
+    public synchronized void register(CommandMeta meta) {
+        for (String name : meta.getNames()) {
+            Node node = this.root;
+            for (String segment : name.toLowerCase().split(" ")) {
+                node = node.children.computeIfAbsent(segment, ignored -> new Node());
+            }
+
+            CommandMeta[] commands = Arrays.copyOf(node.commands, node.commands.length + 1);
+            commands[commands.length - 1] = meta;
+            node.commands = commands;
+        }
+    }
+
+    /**
+     * Find the command of the input, the longest alias that accepts the remaining words wins.
+     * A command without parameters still matches when words remain, but only if nothing else does and its arguments are dropped
+     *
+     * @return the match, or null if no alias matches
+     */
+    @Nullable
+    public Match match(String command) {
+        final int length = command.length();
+
+        CommandMeta found = null;
+        int argumentsStart = length;
+        CommandMeta fallback = null;
+
+        Node node = this.root;
+        int index = 0;
+        while (index <= length) {
+            int end = command.indexOf(' ', index);
+            if (end == -1) {
+                end = length;
+            }
+
+            node = node.children.get(command.substring(index, end).toLowerCase());
+            if (node == null) {
+                break;
+            }
+
+            if (end == length) {
+                if (node.commands.length > 0) {
+                    found = node.commands[0];
+                    argumentsStart = length;
+                }
+                break;
+            }
+
+            for (CommandMeta meta : node.commands) {
+                if (!meta.getParameters().isEmpty()) {
+                    found = meta;
+                    argumentsStart = end + 1;
+                    break;
+                }
+            }
+            if (node.commands.length > 0) {
+                fallback = node.commands[0];
+            }
+
+            index = end + 1;
+        }
+
+        if (found != null) {
+            return new Match(found, tokenize(command, argumentsStart));
+        }
+        if (fallback != null) {
+            return new Match(fallback, NO_ARGUMENTS);
+        }
+        return null;
+    }
+
+    /**
+     * Same tokens as {@code command.substring(start).split(" ")}, without the regex machinery
+     */
+    static String[] tokenize(String command, int start) {
+        int end = command.length();
+        while (end > start && command.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        if (end <= start) {
+            return NO_ARGUMENTS;
+        }
+
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            if (command.charAt(i) == ' ') {
+                count++;
+            }
+        }
+
+        String[] arguments = new String[count];
+        int index = 0;
+        int tokenStart = start;
+        for (int i = start; i < end; i++) {
+            if (command.charAt(i) == ' ') {
+                arguments[index++] = command.substring(tokenStart, i);
+                tokenStart = i + 1;
+            }
+        }
+        arguments[index] = command.substring(tokenStart, end);
+        return arguments;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Match {
+
+        private final CommandMeta commandMeta;
+        private final String[] arguments;
+
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+        private volatile CommandMeta[] commands = NO_COMMANDS;
+
+    }
+
+}
@@ -43,6 +43,10 @@ public class CoreConfig extends YamlConfiguration {
 
     public boolean ASYNCHRONOUS_DATA_STORING = true;
 
+    public boolean BATCH_PACKETS = false; // Write packets without flush and flush them at the start of the next tick
+
+    public boolean PARALLEL_BEAN_INITIALIZATION = false; // Construct and pre initialize independent beans concurrently
+
     public String CURRENT_SERVER = "server-1";
 
     public String DEFAULT_LOCALE = "en_us";
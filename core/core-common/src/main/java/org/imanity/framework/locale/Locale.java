@@ -31,6 +31,7 @@ import org.imanity.framework.Autowired;
 import org.imanity.framework.util.Utility;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Locale {
 
@@ -38,6 +39,7 @@ public class Locale {
     public static LocaleHandler LOCALE_HANDLER;
 
     private final Char2ObjectOpenHashMap<Map<String, String>> translateEntries = new Char2ObjectOpenHashMap<>();
+    private final Map<String, LocaleTemplate> templates = new ConcurrentHashMap<>();
 
     @Getter
     private final String name;
@@ -47,17 +49,21 @@ public class Locale {
     }
 
     public void registerEntry(String key, String value) {
-        char c = this.getEntry(key);
-
-        Map<String, String> subEntries;
-        if (this.translateEntries.containsKey(c)) {
-            subEntries = this.translateEntries.get(c);
-        } else {
-            subEntries = new Object2ObjectOpenHashMap<>();
-            this.translateEntries.put(c, subEntries);
-        }
+        // Changing the entry inside compute keeps getTemplate() from caching a template of the old value
+        this.templates.compute(key, (k, template) -> {
+            char c = this.getEntry(key);
+
+            Map<String, String> subEntries;
+            if (this.translateEntries.containsKey(c)) {
+                subEntries = this.translateEntries.get(c);
+            } else {
+                subEntries = new Object2ObjectOpenHashMap<>();
+                this.translateEntries.put(c, subEntries);
+            }
 
-        subEntries.put(key, value);
+            subEntries.put(key, value);
+            return null;
+        });
     }
 
     public void registerEntry(String key, Iterable<String> strings) {
@@ -69,17 +75,20 @@ public class Locale {
     }
 
     public void unregisterEntry(String key) {
-        char c = this.getEntry(key);
+        this.templates.compute(key, (k, template) -> {
+            char c = this.getEntry(key);
 
-        if (translateEntries.containsKey(c)) {
-            Map<String, String> subEntries = this.translateEntries.get(c);
+            if (translateEntries.containsKey(c)) {
+                Map<String, String> subEntries = this.translateEntries.get(c);
 
-            subEntries.remove(key);
+                subEntries.remove(key);
 
-            if (subEntries.isEmpty()) {
-                translateEntries.remove(c);
+                if (subEntries.isEmpty()) {
+                    translateEntries.remove(c);
+                }
             }
-        }
+            return null;
+        });
     }
 
     public String get(String key) {
@@ -97,6 +106,28 @@ public class Locale {
         return key;
     }
 
+    /**
+     * The compiled template of the entry, cached until the entry changes
+     */
+    public LocaleTemplate getTemplate(String key) {
+        LocaleTemplate template = this.templates.get(key);
+        if (template != null) {
+            return template;
+        }
+
+        // Runs under the same lock as registerEntry() and unregisterEntry() of the key
+        template = this.templates.computeIfAbsent(key, k -> {
+            Map<String, String> subEntries = this.translateEntries.get(this.getEntry(key));
+            if (subEntries == null || !subEntries.containsKey(key)) {
+                return null;
+            }
+            return new LocaleTemplate(subEntries.get(key));
+        });
+
+        // Missing entries render as the key itself, not worth caching
+        return template != null ? template : new LocaleTemplate(key);
+    }
+
     public char getEntry(String key) {
         return key.charAt(0);
     }
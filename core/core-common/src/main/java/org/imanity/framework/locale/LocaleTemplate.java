@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.locale;
+
+import lombok.Getter;
+import org.imanity.framework.util.CC;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A locale entry parsed ahead of rendering.
+ * Colour codes are translated once, and the placeholders are compiled once per set of placeholder names,
+ * so rendering for every player only appends segments into a reused {@link StringBuilder}.
+ *
+ * Besides plain placeholders, a template can pluralise with {@code {plural:<placeholder>|one|other}},
+ * which picks {@code one} when the argument bound to the placeholder is 1 and {@code other} otherwise.
+ */
+public class LocaleTemplate {
+
+    private static final String PLURAL_PREFIX = "{plural:";
+
+    private static final ThreadLocal<RenderBuffer> BUFFER = ThreadLocal.withInitial(RenderBuffer::new);
+
+    @Getter
+    private final String raw;
+
+    /**
+     * The entry with its colour codes translated
+     */
+    @Getter
+    private final String translated;
+
+    private final Map<List<String>, Compiled> compiled = new ConcurrentHashMap<>();
+
+    public LocaleTemplate(String raw) {
+        this.raw = raw;
+        this.translated = CC.translate(raw);
+    }
+
+    public Compiled compile(String... placeholders) {
+        Compiled compiled = this.compiled.get(Arrays.asList(placeholders));
+        if (compiled != null) {
+            return compiled;
+        }
+
+        String[] copy = placeholders.clone();
+        compiled = new Compiled(this.translated, copy);
+        Compiled previous = this.compiled.putIfAbsent(Arrays.asList(copy), compiled);
+        return previous != null ? previous : compiled;
+    }
+
+    public String render(String[] placeholders, Object... arguments) {
+        return this.compile(placeholders).render(arguments);
+    }
+
+    public static class Compiled {
+
+        private final Segment[] segments;
+
+        private Compiled(String text, String[] placeholders) {
+            // Longest first so a placeholder never matches the start of a longer one
+            Integer[] order = new Integer[placeholders.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> placeholders[b].length() - placeholders[a].length());
+
+            List<Segment> segments = new ArrayList<>();
+            int literalStart = 0;
+            int index = 0;
+
+            search:
+            while (index < text.length()) {
+                if (text.startsWith(PLURAL_PREFIX, index)) {
+                    Segment plural = parsePlural(text, index, placeholders);
+                    if (plural != null) {
+                        addLiteral(segments, text, literalStart, index);
+                        segments.add(plural);
+
+                        index += plural.source.length();
+                        literalStart = index;
+                        continue;
+                    }
+                }
+
+                for (int argument : order) {
+                    String placeholder = placeholders[argument];
+                    if (!placeholder.isEmpty() && text.startsWith(placeholder, index)) {
+                        addLiteral(segments, text, literalStart, index);
+                        segments.add(new Segment(placeholder, argument, null, null));
+
+                        index += placeholder.length();
+                        literalStart = index;
+                        continue search;
+                    }
+                }
+
+                index++;
+            }
+            addLiteral(segments, text, literalStart, text.length());
+
+            this.segments = segments.toArray(new Segment[0]);
+        }
+
+        public void render(StringBuilder builder, Object... arguments) {
+            for (Segment segment : this.segments) {
+                if (segment.argument == -1 || segment.argument >= arguments.length || arguments[segment.argument] == null) {
+                    // Literal, or nothing bound so the placeholder is left as it was written
+                    builder.append(segment.source);
+                } else if (segment.one != null) {
+                    builder.append(isOne(arguments[segment.argument]) ? segment.one : segment.other);
+                } else {
+                    append(builder, arguments[segment.argument]);
+                }
+            }
+        }
+
+        public String render(Object... arguments) {
+            RenderBuffer buffer = BUFFER.get();
+            if (buffer.inUse) {
+                // An argument rendered another template while being appended
+                StringBuilder builder = new StringBuilder();
+                this.render(builder, arguments);
+                return builder.toString();
+            }
+
+            buffer.inUse = true;
+            try {
+                StringBuilder builder = buffer.builder;
+                builder.setLength(0);
+                this.render(builder, arguments);
+                return builder.toString();
+            } finally {
+                buffer.inUse = false;
+            }
+        }
+
+        private static Segment parsePlural(String text, int index, String[] placeholders) {
+            int end = text.indexOf('}', index);
+            if (end == -1) {
+                return null;
+            }
+
+            String[] parts = text.substring(index + PLURAL_PREFIX.length(), end).split("\\|", -1);
+            if (parts.length != 3) {
+                return null;
+            }
+
+            for (int argument = 0; argument < placeholders.length; argument++) {
+                if (placeholders[argument].equals(parts[0])) {
+                    return new Segment(text.substring(index, end + 1), argument, parts[1], parts[2]);
+                }
+            }
+            return null;
+        }
+
+        private static void addLiteral(List<Segment> segments, String text, int start, int end) {
+            if (end > start) {
+                segments.add(new Segment(text.substring(start, end), -1, null, null));
+            }
+        }
+
+        private static void append(StringBuilder builder, Object argument) {
+            if (argument instanceof String) {
+                builder.append((String) argument);
+            } else if (argument instanceof Integer) {
+                builder.append(((Integer) argument).intValue());
+            } else if (argument instanceof Long) {
+                builder.append(((Long) argument).longValue());
+            } else if (argument instanceof Double) {
+                builder.append(((Double) argument).doubleValue());
+            } else if (argument instanceof CharSequence) {
+                builder.append((CharSequence) argument);
+            } else {
+                builder.append(argument);
+            }
+        }
+
+        private static boolean isOne(Object argument) {
+            if (argument instanceof Number) {
+                return ((Number) argument).doubleValue() == 1D;
+            }
+            return argument != null && "1".equals(argument.toString());
+        }
+
+    }
+
+    private static class Segment {
+
+        /**
+         * The text the segment has been parsed from, rendered as is for literals
+         */
+        private final String source;
+
+        /**
+         * The bound argument, or -1 for literals
+         */
+        private final int argument;
+        private final String one;
+        private final String other;
+
+        private Segment(String source, int argument, String one, String other) {
+            this.source = source;
+            this.argument = argument;
+            this.one = one;
+            this.other = other;
+        }
+
+    }
+
+    private static class RenderBuffer {
+
+        private final StringBuilder builder = new StringBuilder(128);
+        private boolean inUse;
+
+    }
+
+}
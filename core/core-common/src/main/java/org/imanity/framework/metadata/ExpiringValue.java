@@ -81,4 +81,9 @@ public final class ExpiringValue<T> implements TransientValue<T> {
         return System.currentTimeMillis() > this.expireAt;
     }
 
+    @Override
+    public long getExpireAt() {
+        return this.expireAt;
+    }
+
 }
@@ -22,20 +22,35 @@
  * SOFTWARE.
  */
 
+
 package org.imanity.framework.metadata;
 
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 final class MetadataMapImpl implements MetadataMap {
-    private final Map<MetadataKey<?>, Object> map = new HashMap<>();
+
+    /**
+     * How often values without a predictable expire time (soft / weak values) are checked again by the timer wheel
+     */
+    private static final long RECHECK_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+
+    private final ConcurrentMap<MetadataKey<?>, MetadataEntry> map = new ConcurrentHashMap<>();
+
+    // guards the timer wheel, and serializes the supplier calls of getOrPut / getOrPutExpiring
     private final ReentrantLock lock = new ReentrantLock();
+    private final TimerWheel wheel = new TimerWheel(System.currentTimeMillis());
+    private final Predicate<TimerWheel.Node> expireHandler = this::handleExpire;
 
     @Override
     public <T> void put(@Nonnull MetadataKey<T> key, @Nonnull T value) {
@@ -51,24 +66,22 @@ final class MetadataMapImpl implements MetadataMap {
         Objects.requireNonNull(key, "key");
         Objects.requireNonNull(value, "value");
 
-        this.lock.lock();
-        try {
-            MetadataKey<?> existing = null;
-            for (MetadataKey<?> k : this.map.keySet()) {
-                if (k.equals(key)) {
-                    existing = k;
-                    break;
+        MetadataEntry entry = new MetadataEntry(key, value);
+        for (;;) {
+            MetadataEntry existing = this.map.get(key);
+            if (existing == null) {
+                if (this.map.putIfAbsent(key, entry) == null) {
+                    this.onWrite(null, entry);
+                    return;
                 }
+                continue;
             }
 
-            if (existing != null && !existing.getType().equals(key.getType())) {
-                throw new ClassCastException("Cannot cast key with id " + key.getId() + " with type " + key.getType().getRawType() + " to existing stored type " + existing.getType().getRawType());
+            checkType(key, existing.key);
+            if (this.map.replace(key, existing, entry)) {
+                this.onWrite(existing, entry);
+                return;
             }
-
-            this.map.put(key, value);
-
-        } finally {
-            this.lock.unlock();
         }
     }
 
@@ -86,12 +99,8 @@ final class MetadataMapImpl implements MetadataMap {
         Objects.requireNonNull(key, "key");
         Objects.requireNonNull(value, "value");
 
-        this.lock.lock();
-        try {
-            this.map.put(key, value);
-        } finally {
-            this.lock.unlock();
-        }
+        MetadataEntry entry = new MetadataEntry(key, value);
+        this.onWrite(this.map.put(key, entry), entry);
     }
 
     @Override
@@ -108,12 +117,23 @@ final class MetadataMapImpl implements MetadataMap {
         Objects.requireNonNull(key, "key");
         Objects.requireNonNull(value, "value");
 
-        this.lock.lock();
-        try {
-            cleanup();
-            return this.map.putIfAbsent(key, value) == null;
-        } finally {
-            this.lock.unlock();
+        MetadataEntry entry = new MetadataEntry(key, value);
+        for (;;) {
+            MetadataEntry existing = this.map.putIfAbsent(key, entry);
+            if (existing == null) {
+                this.onWrite(null, entry);
+                return true;
+            }
+
+            // an expired value counts as absent
+            if (!existing.isExpired()) {
+                return false;
+            }
+
+            if (this.map.replace(key, existing, entry)) {
+                this.onWrite(existing, entry);
+                return true;
+            }
         }
     }
 
@@ -122,52 +142,21 @@ final class MetadataMapImpl implements MetadataMap {
     public <T> Optional<T> get(@Nonnull MetadataKey<T> key) {
         Objects.requireNonNull(key, "key");
 
-        this.lock.lock();
-        try {
-            Map.Entry<MetadataKey<?>, Object> existing = null;
-
-            // try to locate an existing entry, and expire any values at the same time.
-            Iterator<Map.Entry<MetadataKey<?>, Object>> it = this.map.entrySet().iterator();
-            while (it.hasNext()) {
-                Map.Entry<MetadataKey<?>, Object> kv = it.next();
-
-                if (kv.getValue() instanceof TransientValue<?>) {
-                    TransientValue<?> transientValue = ((TransientValue) kv.getValue());
-
-                    Object unboxed = transientValue.getOrNull();
-
-                    // if it has expired
-                    if (unboxed == null) {
-                        it.remove();
-                        continue;
-                    }
-
-                    // copy out the unboxed value
-                    if (kv.getKey().equals(key)) {
-                        existing = Maps.immutableEntry(kv.getKey(), unboxed);
-                        break;
-                    }
-
-                } else {
-                    if (kv.getKey().equals(key)) {
-                        existing = kv;
-                        break;
-                    }
-                }
-            }
-
-            if (existing == null) {
-                return Optional.empty();
-            }
+        MetadataEntry entry = this.map.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
 
-            if (!existing.getKey().getType().equals(key.getType())) {
-                throw new ClassCastException("Cannot cast key with id " + key.getId() + " with type " + key.getType().getRawType() + " to existing stored type " + existing.getKey().getType().getRawType());
-            }
+        Object value = entry.unbox();
 
-            return Optional.of(key.cast(existing.getValue()));
-        } finally {
-            this.lock.unlock();
+        // if it has expired
+        if (value == null) {
+            this.expire(entry);
+            return Optional.empty();
         }
+
+        checkType(key, entry.key);
+        return Optional.of(key.cast(value));
     }
 
     @Nonnull
@@ -203,53 +192,36 @@ final class MetadataMapImpl implements MetadataMap {
         Objects.requireNonNull(key, "key");
         Objects.requireNonNull(def, "def");
 
+        // fast path, lock free
+        MetadataEntry entry = this.map.get(key);
+        if (entry != null) {
+            Object value = entry.unbox();
+            if (value != null) {
+                checkType(key, entry.key);
+                return key.cast(value);
+            }
+        }
+
         this.lock.lock();
         try {
-            Map.Entry<MetadataKey<?>, Object> existing = null;
-
-            // try to locate an existing entry, and expire any values at the same time.
-            Iterator<Map.Entry<MetadataKey<?>, Object>> it = this.map.entrySet().iterator();
-            while (it.hasNext()) {
-                Map.Entry<MetadataKey<?>, Object> kv = it.next();
-
-                if (kv.getValue() instanceof TransientValue<?>) {
-                    TransientValue<?> transientValue = ((TransientValue) kv.getValue());
-
-                    Object unboxed = transientValue.getOrNull();
-
-                    // if it has expired
-                    if (unboxed == null) {
-                        it.remove();
-                        continue;
-                    }
-
-                    // copy out the unboxed value
-                    if (kv.getKey().equals(key)) {
-                        existing = Maps.immutableEntry(kv.getKey(), unboxed);
-                        break;
-                    }
-
-                } else {
-                    if (kv.getKey().equals(key)) {
-                        existing = kv;
-                        break;
+            for (;;) {
+                MetadataEntry existing = this.map.get(key);
+                if (existing != null) {
+                    Object value = existing.unbox();
+                    if (value != null) {
+                        checkType(key, existing.key);
+                        return key.cast(value);
                     }
                 }
-            }
 
-            if (existing == null) {
                 T t = def.get();
                 Objects.requireNonNull(t, "supplied def");
 
-                this.map.put(key, t);
-                return t;
-            }
-
-            if (!existing.getKey().getType().equals(key.getType())) {
-                throw new ClassCastException("Cannot cast key with id " + key.getId() + " with type " + key.getType().getRawType() + " to existing stored type " + existing.getKey().getType().getRawType());
+                MetadataEntry created = new MetadataEntry(key, t);
+                if (this.replace(existing, created)) {
+                    return t;
+                }
             }
-
-            return key.cast(existing.getValue());
         } finally {
             this.lock.unlock();
         }
@@ -261,41 +233,28 @@ final class MetadataMapImpl implements MetadataMap {
         Objects.requireNonNull(key, "key");
         Objects.requireNonNull(def, "def");
 
+        // fast path, lock free
+        MetadataEntry entry = this.map.get(key);
+        if (entry != null) {
+            Object value = entry.unbox();
+            if (value != null) {
+                checkType(key, entry.key);
+                return key.cast(value);
+            }
+        }
+
         this.lock.lock();
         try {
-            Map.Entry<MetadataKey<?>, Object> existing = null;
-
-            // try to locate an existing entry, and expire any values at the same time.
-            Iterator<Map.Entry<MetadataKey<?>, Object>> it = this.map.entrySet().iterator();
-            while (it.hasNext()) {
-                Map.Entry<MetadataKey<?>, Object> kv = it.next();
-
-                if (kv.getValue() instanceof TransientValue<?>) {
-                    TransientValue<?> transientValue = ((TransientValue) kv.getValue());
-
-                    Object unboxed = transientValue.getOrNull();
-
-                    // if it has expired
-                    if (unboxed == null) {
-                        it.remove();
-                        continue;
-                    }
-
-                    // copy out the unboxed value
-                    if (kv.getKey().equals(key)) {
-                        existing = Maps.immutableEntry(kv.getKey(), unboxed);
-                        break;
-                    }
-
-                } else {
-                    if (kv.getKey().equals(key)) {
-                        existing = kv;
-                        break;
+            for (;;) {
+                MetadataEntry existing = this.map.get(key);
+                if (existing != null) {
+                    Object value = existing.unbox();
+                    if (value != null) {
+                        checkType(key, existing.key);
+                        return key.cast(value);
                     }
                 }
-            }
 
-            if (existing == null) {
                 TransientValue<T> t = def.get();
                 Objects.requireNonNull(t, "supplied def");
 
@@ -304,15 +263,11 @@ final class MetadataMapImpl implements MetadataMap {
                     throw new IllegalArgumentException("Transient value already expired: " + t);
                 }
 
-                this.map.put(key, t);
-                return value;
-            }
-
-            if (!existing.getKey().getType().equals(key.getType())) {
-                throw new ClassCastException("Cannot cast key with id " + key.getId() + " with type " + key.getType().getRawType() + " to existing stored type " + existing.getKey().getType().getRawType());
+                MetadataEntry created = new MetadataEntry(key, t);
+                if (this.replace(existing, created)) {
+                    return value;
+                }
             }
-
-            return key.cast(existing.getValue());
         } finally {
             this.lock.unlock();
         }
@@ -322,46 +277,30 @@ final class MetadataMapImpl implements MetadataMap {
     public boolean has(@Nonnull MetadataKey<?> key) {
         Objects.requireNonNull(key, "key");
 
-        this.lock.lock();
-        try {
-            Map.Entry<MetadataKey<?>, Object> existing = null;
-
-            // try to locate an existing entry, and expire any values at the same time.
-            Iterator<Map.Entry<MetadataKey<?>, Object>> it = this.map.entrySet().iterator();
-            while (it.hasNext()) {
-                Map.Entry<MetadataKey<?>, Object> kv = it.next();
-
-                if (kv.getValue() instanceof TransientValue<?>) {
-                    TransientValue<?> transientValue = ((TransientValue) kv.getValue());
-
-                    if (transientValue.shouldExpire()) {
-                        it.remove();
-                        continue;
-                    }
-                }
-
-                if (kv.getKey().equals(key)) {
-                    existing = kv;
-                    break;
-                }
-            }
+        MetadataEntry entry = this.map.get(key);
+        if (entry == null) {
+            return false;
+        }
 
-            return existing != null && existing.getKey().getType().equals(key.getType());
-        } finally {
-            this.lock.unlock();
+        if (entry.isExpired()) {
+            this.expire(entry);
+            return false;
         }
+
+        return entry.key.getType().equals(key.getType());
     }
 
     @Override
     public boolean remove(@Nonnull MetadataKey<?> key) {
         Objects.requireNonNull(key, "key");
 
-        this.lock.lock();
-        try {
-            return this.map.remove(key) != null;
-        } finally {
-            this.lock.unlock();
+        MetadataEntry removed = this.map.remove(key);
+        if (removed == null) {
+            return false;
         }
+
+        this.onWrite(removed, null);
+        return true;
     }
 
     @Override
@@ -369,6 +308,7 @@ final class MetadataMapImpl implements MetadataMap {
         this.lock.lock();
         try {
             this.map.clear();
+            this.wheel.clear();
         } finally {
             this.lock.unlock();
         }
@@ -377,33 +317,144 @@ final class MetadataMapImpl implements MetadataMap {
     @Nonnull
     @Override
     public ImmutableMap<MetadataKey<?>, Object> asMap() {
-        this.lock.lock();
-        try {
-            return ImmutableMap.copyOf(this.map);
-        } finally {
-            this.lock.unlock();
+        ImmutableMap.Builder<MetadataKey<?>, Object> builder = ImmutableMap.builder();
+        for (MetadataEntry entry : this.map.values()) {
+            builder.put(entry.key, entry.value);
         }
+        return builder.build();
     }
 
     @Override
     public boolean isEmpty() {
+        cleanup();
+        return this.map.isEmpty();
+    }
+
+    @Override
+    public void cleanup() {
         this.lock.lock();
         try {
-            cleanup();
-            return this.map.isEmpty();
+            this.wheel.advance(System.currentTimeMillis(), this.expireHandler);
         } finally {
             this.lock.unlock();
         }
+
+        // soft / weak values are only rechecked periodically by the wheel, an explicit cleanup shouldn't wait for that
+        for (MetadataEntry entry : this.map.values()) {
+            if (entry.isExpired()) {
+                this.expire(entry);
+            }
+        }
     }
 
-    @Override
-    public void cleanup() {
+    /**
+     * Atomically replaces the existing entry (or the absence of one) with the created entry
+     *
+     * @return true if the map has been changed
+     */
+    private boolean replace(@Nullable MetadataEntry existing, MetadataEntry created) {
+        boolean replaced = existing == null
+                ? this.map.putIfAbsent(created.key, created) == null
+                : this.map.replace(created.key, existing, created);
+
+        if (replaced) {
+            this.onWrite(existing, created);
+        }
+        return replaced;
+    }
+
+    private void expire(MetadataEntry entry) {
+        if (this.map.remove(entry.key, entry)) {
+            this.onWrite(entry, null);
+        }
+    }
+
+    /**
+     * Keeps the timer wheel in sync after an entry has been replaced in the map.
+     * Only transient values are tracked by the wheel, so plain values never touch the lock.
+     *
+     * @param previous the entry which has been removed from the map
+     * @param entry the entry which has been added into the map
+     */
+    private void onWrite(@Nullable MetadataEntry previous, @Nullable MetadataEntry entry) {
+        boolean previousTransient = previous != null && previous.isTransient;
+        boolean entryTransient = entry != null && entry.isTransient;
+        if (!previousTransient && !entryTransient) {
+            return;
+        }
+
         this.lock.lock();
         try {
-            this.map.values().removeIf(o -> o instanceof TransientValue<?> && ((TransientValue) o).shouldExpire());
+            long now = System.currentTimeMillis();
+            if (previousTransient) {
+                this.wheel.deschedule(previous);
+            }
+
+            // the entry may have been replaced again before we acquired the lock
+            if (entryTransient && this.map.get(entry.key) == entry) {
+                this.wheel.schedule(entry, entry.nextCheck(now));
+            }
+
+            this.wheel.advance(now, this.expireHandler);
         } finally {
             this.lock.unlock();
         }
     }
 
+    private boolean handleExpire(TimerWheel.Node node) {
+        MetadataEntry entry = (MetadataEntry) node;
+        if (entry.isExpired()) {
+            this.map.remove(entry.key, entry);
+            return true;
+        }
+
+        // replaced or removed in the meantime, nothing left to track
+        if (this.map.get(entry.key) != entry) {
+            return true;
+        }
+
+        // not expired yet (soft / weak values, or an access refreshed the expire time), check again later
+        entry.expireAt = entry.nextCheck(System.currentTimeMillis());
+        return false;
+    }
+
+    private static void checkType(MetadataKey<?> key, MetadataKey<?> existing) {
+        if (!existing.getType().equals(key.getType())) {
+            throw new ClassCastException("Cannot cast key with id " + key.getId() + " with type " + key.getType().getRawType() + " to existing stored type " + existing.getType().getRawType());
+        }
+    }
+
+    private static final class MetadataEntry extends TimerWheel.Node {
+
+        private final MetadataKey<?> key;
+        private final Object value;
+        private final boolean isTransient;
+
+        private MetadataEntry(MetadataKey<?> key, Object value) {
+            this.key = key;
+            this.value = value;
+            this.isTransient = value instanceof TransientValue<?>;
+        }
+
+        /**
+         * @return the underlying value, or null if it has expired
+         */
+        @Nullable
+        private Object unbox() {
+            return this.isTransient ? ((TransientValue<?>) this.value).getOrNull() : this.value;
+        }
+
+        private boolean isExpired() {
+            return this.isTransient && ((TransientValue<?>) this.value).shouldExpire();
+        }
+
+        private long nextCheck(long now) {
+            long expireAt = ((TransientValue<?>) this.value).getExpireAt();
+
+            // values expire once the current time passed their expire time
+            return expireAt < 0L ? now + RECHECK_INTERVAL : Math.max(expireAt + 1L, now + 1L);
+        }
+
+    }
+
 }
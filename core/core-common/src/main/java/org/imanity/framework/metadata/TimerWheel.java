@@ -0,0 +1,248 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.metadata;
+
+import java.util.function.Predicate;
+
+/**
+ * A hierarchical timer wheel used to expire {@link TransientValue}s of a {@link MetadataMapImpl}.
+ *
+ * Nodes are kept in doubly linked buckets, so scheduling and descheduling are both O(1). Advancing the
+ * wheel only visits the buckets whose time span has elapsed since the last advance, and nodes in a coarser
+ * level are cascaded down to a finer level once their bucket comes due.
+ *
+ * This class is not thread safe, callers are expected to guard it with their own lock.
+ */
+final class TimerWheel {
+
+    /**
+     * The number of buckets for each level of the wheel, each count must be a power of two.
+     */
+    private static final int[] BUCKETS = { 64, 64, 32, 16, 1 };
+
+    /**
+     * The time span in milliseconds a single bucket covers on each level.
+     * 64 ms, 4.1 seconds, 4.4 minutes, 2.3 hours, 37.3 hours and the overflow level.
+     */
+    private static final long[] SPANS = {
+            1L << 6,
+            1L << 12,
+            1L << 18,
+            1L << 23,
+            1L << 27,
+            1L << 27
+    };
+
+    private static final long[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4])
+    };
+
+    private final Node[][] wheel;
+    private long time;
+    private int size;
+
+    TimerWheel(long time) {
+        this.time = time;
+        this.wheel = new Node[BUCKETS.length][];
+        for (int i = 0; i < this.wheel.length; i++) {
+            this.wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < this.wheel[i].length; j++) {
+                this.wheel[i][j] = new Sentinel();
+            }
+        }
+    }
+
+    /**
+     * Returns if there is no node scheduled in the wheel
+     *
+     * @return true if the wheel is empty
+     */
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Schedules the node to be fired once the wheel has advanced past its expire time.
+     * Scheduling an already scheduled node moves it to the bucket matching its new expire time.
+     *
+     * @param node the node
+     * @param expireAt the time in milliseconds the node should be fired at
+     */
+    void schedule(Node node, long expireAt) {
+        if (node.isScheduled()) {
+            this.unlink(node);
+        }
+        node.expireAt = expireAt;
+        this.link(this.findBucket(expireAt), node);
+    }
+
+    /**
+     * Removes the node from the wheel if it was scheduled.
+     *
+     * @param node the node
+     */
+    void deschedule(Node node) {
+        if (node.isScheduled()) {
+            this.unlink(node);
+        }
+    }
+
+    /**
+     * Advances the wheel to the current time, firing every node that has expired.
+     * The handler returns true if the node is done, or false if it should be scheduled again at its
+     * (possibly updated) {@link Node#expireAt}.
+     *
+     * @param currentTime the current time in milliseconds
+     * @param handler the handler for fired nodes
+     */
+    void advance(long currentTime, Predicate<Node> handler) {
+        long previousTime = this.time;
+        if (currentTime <= previousTime) {
+            return;
+        }
+        this.time = currentTime;
+
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previousTime >>> SHIFT[i];
+            long currentTicks = currentTime >>> SHIFT[i];
+            if (currentTicks - previousTicks <= 0L) {
+                break;
+            }
+            this.expire(i, previousTicks, currentTicks - previousTicks, handler);
+        }
+    }
+
+    /**
+     * Removes every node from the wheel.
+     */
+    void clear() {
+        for (Node[] buckets : this.wheel) {
+            for (Node sentinel : buckets) {
+                Node node = sentinel.next;
+                while (node != sentinel) {
+                    Node next = node.next;
+                    node.prev = null;
+                    node.next = null;
+                    node = next;
+                }
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+            }
+        }
+        this.size = 0;
+    }
+
+    private void expire(int index, long previousTicks, long delta, Predicate<Node> handler) {
+        Node[] buckets = this.wheel[index];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        int end = start + steps;
+
+        for (int i = start; i < end; i++) {
+            Node sentinel = buckets[i & mask];
+            Node node = sentinel.next;
+
+            // detach the whole bucket first, the handler may reschedule nodes into this same bucket
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+
+            while (node != sentinel) {
+                Node next = node.next;
+                node.prev = null;
+                node.next = null;
+                this.size--;
+
+                if (node.expireAt - this.time > 0L) {
+                    // not yet due, cascade it down to a finer level
+                    this.link(this.findBucket(node.expireAt), node);
+                } else if (!handler.test(node)) {
+                    this.link(this.findBucket(Math.max(node.expireAt, this.time + 1L)), node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    private Node findBucket(long expireAt) {
+        long duration = expireAt - this.time;
+        int length = this.wheel.length - 1;
+        for (int i = 0; i < length; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = expireAt >>> SHIFT[i];
+                int index = (int) (ticks & (this.wheel[i].length - 1));
+                return this.wheel[i][index];
+            }
+        }
+        return this.wheel[length][0];
+    }
+
+    private void link(Node sentinel, Node node) {
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+        this.size++;
+    }
+
+    private void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        this.size--;
+    }
+
+    /**
+     * An element of the wheel, stored directly in the bucket lists to avoid an extra allocation per timer.
+     */
+    static class Node {
+
+        Node prev;
+        Node next;
+        long expireAt;
+
+        boolean isScheduled() {
+            return this.next != null;
+        }
+
+    }
+
+    private static final class Sentinel extends Node {
+
+        private Sentinel() {
+            this.prev = this;
+            this.next = this;
+        }
+
+    }
+
+}
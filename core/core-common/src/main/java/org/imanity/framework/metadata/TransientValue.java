@@ -48,4 +48,14 @@ public interface TransientValue<T> {
      */
     boolean shouldExpire();
 
+    /**
+     * Returns the time in milliseconds this value is expected to expire at,
+     * or -1 if it can't be predicted (for example values which are cleared by the garbage collector)
+     *
+     * @return the expected expire time
+     */
+    default long getExpireAt() {
+        return -1L;
+    }
+
 }
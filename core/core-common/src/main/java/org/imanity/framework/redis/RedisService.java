@@ -28,9 +28,12 @@ import lombok.Getter;
 import lombok.SneakyThrows;
 import org.imanity.framework.*;
 import org.redisson.Redisson;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
 import org.redisson.api.RMap;
 import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
 import org.redisson.codec.JsonJacksonCodec;
 import org.redisson.config.Config;
 
@@ -78,6 +81,14 @@ public class RedisService {
         return this.client.getMap(name);
     }
 
+    public <K, V> RMap<K, V> getMap(String name, Codec codec) {
+        return this.client.getMap(name, codec);
+    }
+
+    public RBatch createBatch(BatchOptions options) {
+        return this.client.createBatch(options);
+    }
+
     public Iterable<String> getKeys(String pattern) {
         return this.client.getKeys().getKeysByPattern(pattern);
     }
@@ -0,0 +1,298 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.redisson.codec.JsonJacksonCodec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compact codec for redis values and messages.
+ *
+ * Registered types are written as a schema fingerprint followed by their fields in a fixed order,
+ * numbers as varints, so neither class names nor field names goes on the wire.
+ * Strings, boxed numbers, uuids and collections of them are written inline with a one byte tag,
+ * everything else falls back to {@link JsonJacksonCodec} inside the frame.
+ *
+ * Collections are decoded into {@link ArrayList}, {@link LinkedHashSet} and {@link LinkedHashMap}.
+ * Every server reading the map or channel must register the same types.
+ */
+public class BinaryCodec extends BaseCodec {
+
+    static final int NULL = 0;
+    static final int JSON = 1;
+    static final int OBJECT = 2;
+    static final int STRING = 3;
+    static final int TRUE = 4;
+    static final int FALSE = 5;
+    static final int INT = 6;
+    static final int LONG = 7;
+    static final int DOUBLE = 8;
+    static final int UNIQUE_ID = 9;
+    static final int LIST = 10;
+    static final int SET = 11;
+    static final int MAP = 12;
+    static final int FLOAT = 13;
+    static final int SHORT = 14;
+    static final int BYTE = 15;
+    static final int CHARACTER = 16;
+
+    private final JsonJacksonCodec jsonCodec;
+
+    private final Map<Class<?>, BinarySchema> schemas = new ConcurrentHashMap<>();
+    private final Map<Integer, BinarySchema> fingerprints = new ConcurrentHashMap<>();
+
+    private final Encoder encoder = new Encoder() {
+        @Override
+        public ByteBuf encode(Object in) throws IOException {
+            ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
+            try {
+                writeValue(buf, in, Object.class);
+                return buf;
+            } catch (IOException | RuntimeException e) {
+                buf.release();
+                throw e;
+            }
+        }
+    };
+
+    private final Decoder<Object> decoder = this::readValue;
+
+    public BinaryCodec(Class<?>... types) {
+        this(new JsonJacksonCodec(), types);
+    }
+
+    public BinaryCodec(JsonJacksonCodec jsonCodec, Class<?>... types) {
+        this.jsonCodec = jsonCodec;
+        for (Class<?> type : types) {
+            this.register(type);
+        }
+    }
+
+    /**
+     * Register a type to be written by schema instead of json
+     *
+     * @throws IllegalArgumentException if the type has no no args constructor or it's fingerprint collides with another type
+     */
+    public synchronized BinaryCodec register(Class<?> type) {
+        if (this.schemas.containsKey(type)) {
+            return this;
+        }
+
+        BinarySchema schema = new BinarySchema(type);
+        BinarySchema previous = this.fingerprints.get(schema.getFingerprint());
+        if (previous != null) {
+            throw new IllegalArgumentException("The binary schema of " + type.getName() + " collides with " + previous.getType().getName());
+        }
+
+        this.fingerprints.put(schema.getFingerprint(), schema);
+        this.schemas.put(type, schema);
+        return this;
+    }
+
+    public boolean isRegistered(Class<?> type) {
+        return this.schemas.containsKey(type);
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return this.decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return this.encoder;
+    }
+
+    /**
+     * Write a value with it's tag
+     *
+     * @param target the type the value has to be read back as, values that can't be decoded into it are written as json
+     */
+    void writeValue(ByteBuf buf, Object value, Class<?> target) throws IOException {
+        if (value == null) {
+            buf.writeByte(NULL);
+            return;
+        }
+
+        Class<?> type = value.getClass();
+        if (type == String.class) {
+            buf.writeByte(STRING);
+            BinaryIO.writeString(buf, (String) value);
+        } else if (type == Boolean.class) {
+            buf.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (type == Integer.class) {
+            buf.writeByte(INT);
+            BinaryIO.writeSignedVarInt(buf, (Integer) value);
+        } else if (type == Long.class) {
+            buf.writeByte(LONG);
+            BinaryIO.writeSignedVarLong(buf, (Long) value);
+        } else if (type == Double.class) {
+            buf.writeByte(DOUBLE);
+            buf.writeDouble((Double) value);
+        } else if (type == Float.class) {
+            buf.writeByte(FLOAT);
+            buf.writeFloat((Float) value);
+        } else if (type == Short.class) {
+            buf.writeByte(SHORT);
+            BinaryIO.writeSignedVarInt(buf, (Short) value);
+        } else if (type == Byte.class) {
+            buf.writeByte(BYTE);
+            buf.writeByte((Byte) value);
+        } else if (type == Character.class) {
+            buf.writeByte(CHARACTER);
+            BinaryIO.writeVarInt(buf, (Character) value);
+        } else if (type == UUID.class) {
+            buf.writeByte(UNIQUE_ID);
+            buf.writeLong(((UUID) value).getMostSignificantBits());
+            buf.writeLong(((UUID) value).getLeastSignificantBits());
+        } else if (value instanceof List && target.isAssignableFrom(ArrayList.class)) {
+            buf.writeByte(LIST);
+            this.writeElements(buf, (Collection<?>) value);
+        } else if (value instanceof Set && target.isAssignableFrom(LinkedHashSet.class)) {
+            buf.writeByte(SET);
+            this.writeElements(buf, (Collection<?>) value);
+        } else if (value instanceof Map && target.isAssignableFrom(LinkedHashMap.class)) {
+            buf.writeByte(MAP);
+            Map<?, ?> map = (Map<?, ?>) value;
+            BinaryIO.writeVarInt(buf, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                this.writeValue(buf, entry.getKey(), Object.class);
+                this.writeValue(buf, entry.getValue(), Object.class);
+            }
+        } else {
+            BinarySchema schema = this.schemas.get(type);
+            if (schema != null) {
+                buf.writeByte(OBJECT);
+                buf.writeInt(schema.getFingerprint());
+                schema.write(this, buf, value);
+            } else {
+                buf.writeByte(JSON);
+                this.writeJson(buf, value);
+            }
+        }
+    }
+
+    Object readValue(ByteBuf buf, State state) throws IOException {
+        int tag = buf.readUnsignedByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return BinaryIO.readString(buf);
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+                return BinaryIO.readSignedVarInt(buf);
+            case LONG:
+                return BinaryIO.readSignedVarLong(buf);
+            case DOUBLE:
+                return buf.readDouble();
+            case FLOAT:
+                return buf.readFloat();
+            case SHORT:
+                return (short) BinaryIO.readSignedVarInt(buf);
+            case BYTE:
+                return buf.readByte();
+            case CHARACTER:
+                return (char) BinaryIO.readVarInt(buf);
+            case UNIQUE_ID:
+                return new UUID(buf.readLong(), buf.readLong());
+            case LIST:
+                return this.readElements(buf, state, new ArrayList<>());
+            case SET:
+                return this.readElements(buf, state, new LinkedHashSet<>());
+            case MAP: {
+                int size = BinaryIO.readVarInt(buf);
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(this.readValue(buf, state), this.readValue(buf, state));
+                }
+                return map;
+            }
+            case OBJECT: {
+                int fingerprint = buf.readInt();
+                BinarySchema schema = this.fingerprints.get(fingerprint);
+                if (schema == null) {
+                    throw new IOException("Unknown binary schema " + Integer.toHexString(fingerprint) + ", is the type registered and the same version on every server?");
+                }
+                return schema.read(this, buf, state);
+            }
+            case JSON:
+                return this.readJson(buf, state);
+            default:
+                throw new IOException("Unknown binary tag " + tag);
+        }
+    }
+
+    private void writeElements(ByteBuf buf, Collection<?> collection) throws IOException {
+        BinaryIO.writeVarInt(buf, collection.size());
+        for (Object element : collection) {
+            this.writeValue(buf, element, Object.class);
+        }
+    }
+
+    private Collection<Object> readElements(ByteBuf buf, State state, Collection<Object> collection) throws IOException {
+        int size = BinaryIO.readVarInt(buf);
+        for (int i = 0; i < size; i++) {
+            collection.add(this.readValue(buf, state));
+        }
+        return collection;
+    }
+
+    private void writeJson(ByteBuf buf, Object value) throws IOException {
+        ByteBuf json = this.jsonCodec.getValueEncoder().encode(value);
+        try {
+            BinaryIO.writeVarInt(buf, json.readableBytes());
+            buf.writeBytes(json);
+        } finally {
+            json.release();
+        }
+    }
+
+    private Object readJson(ByteBuf buf, State state) throws IOException {
+        int length = BinaryIO.readVarInt(buf);
+        return this.jsonCodec.getValueDecoder().decode(buf.readSlice(length), state);
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@UtilityClass
+class BinaryIO {
+
+    void writeVarInt(ByteBuf buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte(value);
+    }
+
+    int readVarInt(ByteBuf buf) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buf.readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("VarInt is too big");
+    }
+
+    void writeVarLong(ByteBuf buf, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.writeByte(((int) value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte((int) value);
+    }
+
+    long readVarLong(ByteBuf buf) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buf.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("VarLong is too big");
+    }
+
+    // ZigZag so that small negative numbers stay small
+
+    void writeSignedVarInt(ByteBuf buf, int value) {
+        writeVarInt(buf, (value << 1) ^ (value >> 31));
+    }
+
+    int readSignedVarInt(ByteBuf buf) throws IOException {
+        int value = readVarInt(buf);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    void writeSignedVarLong(ByteBuf buf, long value) {
+        writeVarLong(buf, (value << 1) ^ (value >> 63));
+    }
+
+    long readSignedVarLong(ByteBuf buf) throws IOException {
+        long value = readVarLong(buf);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Length prefixed UTF-8, the length is shifted by one so that 0 can stand for null
+     */
+    void writeString(ByteBuf buf, String value) {
+        if (value == null) {
+            buf.writeByte(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(buf, bytes.length + 1);
+        buf.writeBytes(bytes);
+    }
+
+    String readString(ByteBuf buf) throws IOException {
+        int length = readVarInt(buf) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > buf.readableBytes()) {
+            throw new IOException("String length " + length + " exceeds the remaining " + buf.readableBytes() + " bytes");
+        }
+        String value = buf.toString(buf.readerIndex(), length, StandardCharsets.UTF_8);
+        buf.skipBytes(length);
+        return value;
+    }
+
+}
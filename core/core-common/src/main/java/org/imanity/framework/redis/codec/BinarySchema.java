@@ -0,0 +1,287 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import org.redisson.client.handler.State;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The field layout of one registered type, fields are written in a fixed order without names
+ */
+@Getter
+class BinarySchema {
+
+    private final Class<?> type;
+    private final Constructor<?> constructor;
+    private final SchemaField[] fields;
+    private final int fingerprint;
+
+    BinarySchema(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalArgumentException("Cannot create binary schema for abstract type " + type.getName());
+        }
+        this.type = type;
+
+        try {
+            this.constructor = type.getDeclaredConstructor();
+            this.constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("The type " + type.getName() + " requires a no args constructor for binary schema", e);
+        }
+
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        fields.sort(Comparator.comparing((Field field) -> field.getDeclaringClass().getName()).thenComparing(Field::getName));
+
+        int fingerprint = type.getName().hashCode();
+        this.fields = new SchemaField[fields.size()];
+        for (int i = 0; i < this.fields.length; i++) {
+            Field field = fields.get(i);
+            this.fields[i] = new SchemaField(field, FieldType.of(field.getType()));
+            fingerprint = 31 * fingerprint + (field.getName() + ":" + field.getType().getName()).hashCode();
+        }
+        this.fingerprint = fingerprint;
+    }
+
+    void write(BinaryCodec codec, ByteBuf buf, Object instance) throws IOException {
+        try {
+            for (SchemaField field : this.fields) {
+                field.type.write(codec, buf, field, instance);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IOException(e);
+        }
+    }
+
+    Object read(BinaryCodec codec, ByteBuf buf, State state) throws IOException {
+        try {
+            Object instance = this.constructor.newInstance();
+            for (SchemaField field : this.fields) {
+                field.type.read(codec, buf, state, field, instance);
+            }
+            return instance;
+        } catch (ReflectiveOperationException e) {
+            throw new IOException(e);
+        }
+    }
+
+    static class SchemaField {
+
+        private final Field field;
+        private final FieldType type;
+        private final Object[] constants;
+
+        SchemaField(Field field, FieldType type) {
+            this.field = field;
+            this.type = type;
+            this.constants = type == FieldType.ENUM ? field.getType().getEnumConstants() : null;
+        }
+
+    }
+
+    enum FieldType {
+
+        BOOLEAN {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IllegalAccessException {
+                buf.writeBoolean(field.field.getBoolean(instance));
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IllegalAccessException {
+                field.field.setBoolean(instance, buf.readBoolean());
+            }
+        },
+        BYTE {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IllegalAccessException {
+                buf.writeByte(field.field.getByte(instance));
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IllegalAccessException {
+                field.field.setByte(instance, buf.readByte());
+            }
+        },
+        SHORT {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IllegalAccessException {
+                BinaryIO.writeSignedVarInt(buf, field.field.getShort(instance));
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IOException, IllegalAccessException {
+                field.field.setShort(instance, (short) BinaryIO.readSignedVarInt(buf));
+            }
+        },
+        CHAR {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IllegalAccessException {
+                BinaryIO.writeVarInt(buf, field.field.getChar(instance));
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IOException, IllegalAccessException {
+                field.field.setChar(instance, (char) BinaryIO.readVarInt(buf));
+            }
+        },
+        INT {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IllegalAccessException {
+                BinaryIO.writeSignedVarInt(buf, field.field.getInt(instance));
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IOException, IllegalAccessException {
+                field.field.setInt(instance, BinaryIO.readSignedVarInt(buf));
+            }
+        },
+        LONG {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IllegalAccessException {
+                BinaryIO.writeSignedVarLong(buf, field.field.getLong(instance));
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IOException, IllegalAccessException {
+                field.field.setLong(instance, BinaryIO.readSignedVarLong(buf));
+            }
+        },
+        FLOAT {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IllegalAccessException {
+                buf.writeFloat(field.field.getFloat(instance));
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IllegalAccessException {
+                field.field.setFloat(instance, buf.readFloat());
+            }
+        },
+        DOUBLE {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IllegalAccessException {
+                buf.writeDouble(field.field.getDouble(instance));
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IllegalAccessException {
+                field.field.setDouble(instance, buf.readDouble());
+            }
+        },
+        STRING {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IllegalAccessException {
+                BinaryIO.writeString(buf, (String) field.field.get(instance));
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IOException, IllegalAccessException {
+                field.field.set(instance, BinaryIO.readString(buf));
+            }
+        },
+        ENUM {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IllegalAccessException {
+                Enum<?> value = (Enum<?>) field.field.get(instance);
+                BinaryIO.writeVarInt(buf, value == null ? 0 : value.ordinal() + 1);
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IOException, IllegalAccessException {
+                int ordinal = BinaryIO.readVarInt(buf) - 1;
+                if (ordinal >= field.constants.length) {
+                    throw new IOException("Unknown ordinal " + ordinal + " for " + field.field.getType().getName());
+                }
+                field.field.set(instance, ordinal < 0 ? null : field.constants[ordinal]);
+            }
+        },
+        VALUE {
+            @Override
+            void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IOException, IllegalAccessException {
+                codec.writeValue(buf, field.field.get(instance), field.field.getType());
+            }
+
+            @Override
+            void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IOException, IllegalAccessException {
+                Object value = codec.readValue(buf, state);
+                if (value != null && !field.field.getType().isInstance(value)) {
+                    throw new IOException("Can not read " + value.getClass().getName() + " into field " + field.field.getName() + " of type " + field.field.getType().getName());
+                }
+                field.field.set(instance, value);
+            }
+        };
+
+        abstract void write(BinaryCodec codec, ByteBuf buf, SchemaField field, Object instance) throws IOException, IllegalAccessException;
+
+        abstract void read(BinaryCodec codec, ByteBuf buf, State state, SchemaField field, Object instance) throws IOException, IllegalAccessException;
+
+        static FieldType of(Class<?> type) {
+            if (type == boolean.class) {
+                return BOOLEAN;
+            } else if (type == byte.class) {
+                return BYTE;
+            } else if (type == short.class) {
+                return SHORT;
+            } else if (type == char.class) {
+                return CHAR;
+            } else if (type == int.class) {
+                return INT;
+            } else if (type == long.class) {
+                return LONG;
+            } else if (type == float.class) {
+                return FLOAT;
+            } else if (type == double.class) {
+                return DOUBLE;
+            } else if (type == String.class) {
+                return STRING;
+            } else if (type.isEnum()) {
+                return ENUM;
+            }
+            return VALUE;
+        }
+
+    }
+
+}
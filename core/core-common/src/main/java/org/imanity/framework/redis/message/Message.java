@@ -32,4 +32,11 @@ import java.lang.annotation.Target;
 @Target({ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Message {
+
+    /**
+     * Publish this message with {@link org.imanity.framework.redis.codec.BinaryCodec} instead of json,
+     * every server listening to it has to run the same version of the class
+     */
+    boolean binary() default false;
+
 }
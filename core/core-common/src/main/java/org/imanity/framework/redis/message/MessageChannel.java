@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.redis.message;
+
+import lombok.Getter;
+import org.imanity.framework.redis.RedisService;
+import org.imanity.framework.redis.subscription.RedisPubSub;
+import org.redisson.client.codec.Codec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The redis channel of one @{@link Message} type, only subscribed once something listens to it
+ */
+public class MessageChannel {
+
+    private static final MessageListenerData[] EMPTY = new MessageListenerData[0];
+
+    @Getter
+    private final String name;
+    private final Codec codec;
+
+    private volatile MessageListenerData[] listeners = EMPTY;
+    private final Map<Class<?>, MessageListenerData[]> dispatchTable = new ConcurrentHashMap<>();
+
+    private volatile RedisPubSub<Object> pubSub;
+    private boolean subscribed;
+
+    public MessageChannel(String name) {
+        this(name, null);
+    }
+
+    /**
+     * @param codec the codec of this channel, or null to use the codec of the redis client
+     */
+    public MessageChannel(String name, Codec codec) {
+        this.name = name;
+        this.codec = codec;
+    }
+
+    public synchronized void addListener(MessageListenerData listener) {
+        MessageListenerData[] listeners = new MessageListenerData[this.listeners.length + 1];
+        System.arraycopy(this.listeners, 0, listeners, 0, this.listeners.length);
+        listeners[this.listeners.length] = listener;
+
+        this.listeners = listeners;
+        this.dispatchTable.clear();
+    }
+
+    public boolean hasListeners() {
+        return this.listeners.length > 0;
+    }
+
+    public synchronized void open(RedisService redisService) {
+        if (this.pubSub == null) {
+            this.pubSub = this.codec != null
+                    ? new RedisPubSub<>(this.name, redisService, Object.class, this.codec)
+                    : new RedisPubSub<>(this.name, redisService, Object.class);
+        }
+    }
+
+    public synchronized void subscribe(RedisService redisService) {
+        this.open(redisService);
+        if (!this.subscribed) {
+            this.pubSub.subscribe(this::dispatch);
+            this.subscribed = true;
+        }
+    }
+
+    public void publish(Object message) {
+        this.pubSub.publish(message);
+    }
+
+    public synchronized void close() {
+        if (this.pubSub != null) {
+            this.pubSub.disable();
+            this.pubSub = null;
+            this.subscribed = false;
+        }
+    }
+
+    public void dispatch(Object message) {
+        MessageListenerData[] listeners = this.dispatchTable.computeIfAbsent(message.getClass(), this::resolveListeners);
+        for (MessageListenerData listener : listeners) {
+            try {
+                listener.handle(message);
+            } catch (Throwable throwable) {
+                throwable.printStackTrace();
+            }
+        }
+    }
+
+    private MessageListenerData[] resolveListeners(Class<?> messageClass) {
+        List<MessageListenerData> result = new ArrayList<>();
+        for (MessageListenerData listener : this.listeners) {
+            if (listener.getMessageClass().isAssignableFrom(messageClass)) {
+                result.add(listener);
+            }
+        }
+        return result.isEmpty() ? EMPTY : result.toArray(EMPTY);
+    }
+
+}
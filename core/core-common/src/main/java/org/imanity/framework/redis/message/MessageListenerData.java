@@ -22,19 +22,39 @@
  * SOFTWARE.
  */
 
+
 package org.imanity.framework.redis.message;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 
-@AllArgsConstructor
 @Getter
 public class MessageListenerData {
 
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Object.class);
+
     private final Object instance;
     private final Method method;
     private final Class<?> messageClass;
 
+    // bound to the instance and adapted to (Object)void, so dispatch is a single invokeExact
+    private final MethodHandle handle;
+
+    public MessageListenerData(Object instance, Method method, Class<?> messageClass) throws IllegalAccessException {
+        this.instance = instance;
+        this.method = method;
+        this.messageClass = messageClass;
+        this.handle = MethodHandles.lookup().unreflect(method)
+                .bindTo(instance)
+                .asType(HANDLER_TYPE);
+    }
+
+    public void handle(Object message) throws Throwable {
+        this.handle.invokeExact(message);
+    }
+
 }
@@ -22,12 +22,13 @@
  * SOFTWARE.
  */
 
+
 package org.imanity.framework.redis.message;
 
 import org.imanity.framework.*;
 import org.imanity.framework.redis.RedisService;
+import org.imanity.framework.redis.codec.BinaryCodec;
 import org.imanity.framework.redis.message.annotation.HandleMessage;
-import org.imanity.framework.redis.subscription.RedisPubSub;
 import org.imanity.framework.util.AccessUtil;
 
 import java.lang.reflect.Method;
@@ -36,13 +37,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Every @{@link Message} class has its own channel, a server only subscribes to the channels it has listeners for.
+ * A message is published to the channel of each @{@link Message} class in its hierarchy, so a listener of an
+ * annotated super class still receives the sub classes.
+ */
 @Service(name = "messageService", dependencies = {"serverHandler"})
 public class MessageService {
 
-    private RedisPubSub<Object> redisPubSub;
-    private String channel;
+    public static final String CHANNEL_PREFIX = "imanity-server";
+
+    private static final MessageChannel[] NOT_A_MESSAGE = new MessageChannel[0];
 
-    private Map<Class<?>, List<MessageListenerData>> messageListeners;
+    private final Map<String, MessageChannel> channels = new ConcurrentHashMap<>();
+    private final Map<Class<?>, MessageChannel[]> publishChannels = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
 
     @Autowired
     private RedisService redisService;
@@ -53,8 +63,6 @@ public class MessageService {
             return;
         }
 
-        this.messageListeners = new ConcurrentHashMap<>(12);
-
         ComponentRegistry.registerComponentHolder(new ComponentHolder() {
 
             @Override
@@ -75,26 +83,26 @@ public class MessageService {
 
     @PostInitialize
     public void init() {
-        this.channel = "imanity-server";
-
         if (!ImanityCommon.CORE_CONFIG.USE_REDIS) {
             return;
         }
 
-        this.redisPubSub = new RedisPubSub<>(this.channel, this.redisService, Object.class);
-        this.redisPubSub.subscribe((message -> {
-            List<MessageListenerData> listeners = this.messageListeners.get(message.getClass());
-            if (listeners == null) {
-                return;
-            }
-            for (MessageListenerData data : listeners) {
-                try {
-                    data.getMethod().invoke(data.getInstance(), message);
-                } catch (Throwable throwable) {
-                    throwable.printStackTrace();
+        synchronized (this) {
+            for (MessageChannel channel : this.channels.values()) {
+                if (channel.hasListeners()) {
+                    channel.subscribe(this.redisService);
                 }
             }
-        }));
+            this.enabled = true;
+        }
+    }
+
+    @PostDestroy
+    public void stop() {
+        this.enabled = false;
+        for (MessageChannel channel : this.channels.values()) {
+            channel.close();
+        }
     }
 
     public void sendMessage(Object message) {
@@ -103,27 +111,49 @@ public class MessageService {
                 throw new IllegalStateException("The Message given a null serialized data!");
             }
 
-            Class<?> type = message.getClass();
-            if (!this.isAnnotated(type)) {
+            MessageChannel[] channels = this.publishChannels.computeIfAbsent(message.getClass(), this::resolvePublishChannels);
+            if (channels == NOT_A_MESSAGE) {
                 throw new IllegalArgumentException("The Message " + message.getClass() + " does not have @Message Annotation!");
             }
 
-            this.redisPubSub.publish(message);
+            if (!this.enabled) {
+                throw new IllegalStateException("The Message Service isn't enabled yet!");
+            }
+
+            for (MessageChannel channel : channels) {
+                channel.open(this.redisService);
+                channel.publish(message);
+            }
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         }
     }
 
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
     public boolean isAnnotated(Class<?> messageClass) {
-        while (messageClass != null && messageClass != Object.class) {
-            if (messageClass.getAnnotation(Message.class) != null) {
-                return true;
-            }
+        return this.publishChannels.computeIfAbsent(messageClass, this::resolvePublishChannels) != NOT_A_MESSAGE;
+    }
 
-            messageClass = messageClass.getSuperclass();
+    /**
+     * The channel a message type is published to and listened on, it's named after the nearest
+     * class in the hierarchy which carries @{@link Message}
+     *
+     * @return the channel, or null if no class in the hierarchy is a message
+     */
+    public MessageChannel getChannel(Class<?> messageClass) {
+        Class<?> annotated = findAnnotated(messageClass);
+        if (annotated == null) {
+            return null;
         }
-
-        return false;
+        return this.channels.computeIfAbsent(CHANNEL_PREFIX + ":" + annotated.getName(), name -> {
+            if (annotated.getAnnotation(Message.class).binary()) {
+                return new MessageChannel(name, new BinaryCodec(annotated));
+            }
+            return new MessageChannel(name);
+        });
     }
 
     public void registerListener(MessageListener messageListener) {
@@ -138,20 +168,47 @@ public class MessageService {
             }
             Class<?> messageClass = method.getParameterTypes()[0];
 
-            List<MessageListenerData> listeners;
-            if (this.messageListeners.containsKey(messageClass)) {
-                listeners = this.messageListeners.get(messageClass);
-            } else {
-                listeners = new ArrayList<>();
-                this.messageListeners.put(messageClass, listeners);
+            MessageChannel channel = this.getChannel(messageClass);
+            if (channel == null) {
+                throw new IllegalArgumentException("The method " + method + " listens to " + messageClass.getName() + " which does not have @Message Annotation!");
             }
 
+            MessageListenerData listenerData;
             try {
                 AccessUtil.setAccessible(method);
+                listenerData = new MessageListenerData(messageListener, method, messageClass);
             } catch (ReflectiveOperationException e) {
                 throw new IllegalArgumentException(e);
             }
-            listeners.add(new MessageListenerData(messageListener, method, messageClass));
+
+            synchronized (this) {
+                channel.addListener(listenerData);
+                if (this.enabled) {
+                    channel.subscribe(this.redisService);
+                }
+            }
+        }
+    }
+
+    private MessageChannel[] resolvePublishChannels(Class<?> messageClass) {
+        List<MessageChannel> channels = new ArrayList<>(1);
+        Class<?> type = messageClass;
+        while ((type = findAnnotated(type)) != null) {
+            channels.add(this.getChannel(type));
+            type = type.getSuperclass();
         }
+        return channels.isEmpty() ? NOT_A_MESSAGE : channels.toArray(new MessageChannel[0]);
+    }
+
+    private static Class<?> findAnnotated(Class<?> messageClass) {
+        while (messageClass != null && messageClass != Object.class) {
+            if (messageClass.getAnnotation(Message.class) != null) {
+                return messageClass;
+            }
+
+            messageClass = messageClass.getSuperclass();
+        }
+
+        return null;
     }
 }
@@ -40,8 +40,10 @@ import org.imanity.framework.redis.server.enums.ServerState;
 import org.imanity.framework.util.JsonChain;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @Setter
@@ -49,27 +51,73 @@ import java.util.Map;
 @JsonDeserialize(using = ImanityServer.Deserializer.class)
 public class ImanityServer {
 
+    public static final String ONLINE_PLAYERS = "onlinePlayers";
+    public static final String MAX_PLAYERS = "maxPlayers";
+    public static final String STATE = "state";
+    public static final String VERSION = "version";
+
     private String name;
     private int onlinePlayers;
     private int maxPlayers;
     private ServerState serverState;
 
-    private final Map<String, String> metadata = new HashMap<>();
+    // bumped by the owning server on every published change
+    private long version;
+
+    private final Map<String, String> metadata = new ConcurrentHashMap<>();
 
     public ImanityServer(String name) {
         this.name = name;
     }
 
     public void load(Map<String, String> data) {
-        this.onlinePlayers = Integer.parseInt(data.get("onlinePlayers"));
-        this.maxPlayers = Integer.parseInt(data.get("maxPlayers"));
-        this.serverState = ServerState.valueOf(data.get("state").toUpperCase());
-
-        data.remove("onlinePlayers");
-        data.remove("maxPlayers");
-        data.remove("state");
         this.metadata.clear();
-        this.metadata.putAll(data);
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            this.set(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void apply(long version, Map<String, String> changed, Collection<String> removed) {
+        for (Map.Entry<String, String> entry : changed.entrySet()) {
+            this.set(entry.getKey(), entry.getValue());
+        }
+        for (String key : removed) {
+            this.metadata.remove(key);
+        }
+        this.version = version;
+    }
+
+    /**
+     * The state as stored in the server hash, without the version
+     */
+    public Map<String, String> snapshot() {
+        Map<String, String> data = new HashMap<>(this.metadata);
+        data.put(ONLINE_PLAYERS, String.valueOf(this.onlinePlayers));
+        data.put(MAX_PLAYERS, String.valueOf(this.maxPlayers));
+        if (this.serverState != null) {
+            data.put(STATE, this.serverState.name());
+        }
+        return data;
+    }
+
+    private void set(String key, String value) {
+        switch (key) {
+            case ONLINE_PLAYERS:
+                this.onlinePlayers = Integer.parseInt(value);
+                break;
+            case MAX_PLAYERS:
+                this.maxPlayers = Integer.parseInt(value);
+                break;
+            case STATE:
+                this.serverState = ServerState.valueOf(value.toUpperCase());
+                break;
+            case VERSION:
+                this.version = Long.parseLong(value);
+                break;
+            default:
+                this.metadata.put(key, value);
+                break;
+        }
     }
 
     public int getInt(String key) {
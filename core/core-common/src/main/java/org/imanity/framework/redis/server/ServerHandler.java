@@ -33,17 +33,25 @@ import org.imanity.framework.redis.server.message.ServerDeleteMessage;
 import org.imanity.framework.redis.server.message.ServerStateChangedMessage;
 import org.imanity.framework.redis.server.thread.FetchThread;
 import org.imanity.framework.redis.server.thread.PushThread;
+import org.redisson.api.RScoredSortedSet;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Service(name = "serverHandler", dependencies = "redis")
 @Getter
 public class ServerHandler {
 
     public static final String METADATA = ImanityCommon.METADATA_PREFIX + "Server";
+    // sorted set of server names, scored by their last heartbeat
+    public static final String MEMBERS = METADATA + "Members";
 
-    private final Map<String, ImanityServer> servers = new HashMap<>();
+    public static final long HEARTBEAT_INTERVAL = TimeUnit.SECONDS.toMillis(10L);
+    public static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30L);
+    public static final long RECONCILE_INTERVAL = TimeUnit.SECONDS.toMillis(15L);
+
+    private final Map<String, ImanityServer> servers = new ConcurrentHashMap<>();
 
     private FetchThread fetchThread;
     private PushThread pushThread;
@@ -63,6 +71,7 @@ public class ServerHandler {
 
         this.currentServer = new ImanityServer(ImanityCommon.CORE_CONFIG.CURRENT_SERVER);
         this.currentServer.setServerState(ServerState.BOOTING);
+        this.addServer(this.currentServer.getName(), this.currentServer);
 
         this.fetchThread = new FetchThread(this);
         this.fetchThread.start();
@@ -75,6 +84,26 @@ public class ServerHandler {
         return this.servers.getOrDefault(name, null);
     }
 
+    public RScoredSortedSet<String> getMembers() {
+        return this.redis.getClient().getScoredSortedSet(MEMBERS);
+    }
+
+    /**
+     * Reload the whole state of a server from its hash, used when it joins or when an update was missed
+     *
+     * @return the server, or null if it doesn't have any state stored
+     */
+    public ImanityServer loadServer(String name) {
+        Map<String, String> data = this.redis.getMap(METADATA + ":" + name).readAllMap();
+        if (data.isEmpty()) {
+            return null;
+        }
+
+        ImanityServer server = this.servers.computeIfAbsent(name, ImanityServer::new);
+        server.load(data);
+        return server;
+    }
+
     public void addServer(String name, ImanityServer server) {
         this.servers.put(name, server);
     }
@@ -91,14 +120,32 @@ public class ServerHandler {
 
         this.currentServer.setServerState(serverState);
         this.messageService.sendMessage(new ServerStateChangedMessage(this.currentServer, serverState));
+        this.pushThread.wakeup();
+    }
+
+    public void setOnlinePlayers(int onlinePlayers) {
+        if (this.currentServer.getOnlinePlayers() != onlinePlayers) {
+            this.currentServer.setOnlinePlayers(onlinePlayers);
+            this.pushThread.wakeup();
+        }
+    }
+
+    public void setMaxPlayers(int maxPlayers) {
+        if (this.currentServer.getMaxPlayers() != maxPlayers) {
+            this.currentServer.setMaxPlayers(maxPlayers);
+            this.pushThread.wakeup();
+        }
     }
 
     public void addMetadata(String key, String value) {
         this.getCurrentServer().getMetadata().put(key, value);
+        this.pushThread.wakeup();
     }
 
     public void removeMetadata(String key) {
-        this.getCurrentServer().getMetadata().remove(key);
+        if (this.getCurrentServer().getMetadata().remove(key) != null) {
+            this.pushThread.wakeup();
+        }
     }
 
     @PostDestroy
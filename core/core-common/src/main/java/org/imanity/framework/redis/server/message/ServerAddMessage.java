@@ -30,7 +30,7 @@ import org.imanity.framework.redis.message.Message;
 
 @Getter
 @NoArgsConstructor
-@Message
+@Message(binary = true)
 public class ServerAddMessage {
 
     private String serverName;
@@ -36,6 +36,7 @@ import org.imanity.framework.redis.server.message.ServerAddMessage;
 import org.imanity.framework.redis.server.message.ServerCommandMessage;
 import org.imanity.framework.redis.server.message.ServerDeleteMessage;
 import org.imanity.framework.redis.server.message.ServerStateChangedMessage;
+import org.imanity.framework.redis.server.message.ServerUpdateMessage;
 
 @Component
 public class ServerListener implements MessageListener {
@@ -46,16 +47,31 @@ public class ServerListener implements MessageListener {
     @HandleMessage
     public void onServerAdd(ServerAddMessage message) {
         String serverName = message.getServerName();
-        ImanityServer server = this.serverHandler.getServer(serverName);
+        if (serverName.equals(this.serverHandler.getCurrentServer().getName())) {
+            return;
+        }
 
-        if (server != null) {
+        // reload even if we know it, it might have restarted
+        this.serverHandler.loadServer(serverName);
+    }
+
+    @HandleMessage
+    public void onServerUpdate(ServerUpdateMessage message) {
+        String serverName = message.getServerName();
+        if (serverName.equals(this.serverHandler.getCurrentServer().getName())) {
             return;
         }
 
-        server = new ImanityServer(serverName);
-        this.serverHandler.addServer(serverName, server);
+        ImanityServer server = this.serverHandler.getServer(serverName);
+        if (server == null || message.getVersion() > server.getVersion() + 1) {
+            // missed an update in between, the hash holds the whole state
+            this.serverHandler.loadServer(serverName);
+            return;
+        }
 
-        server.load(this.serverHandler.getRedis().getMap(serverName));
+        if (message.getVersion() == server.getVersion() + 1) {
+            server.apply(message.getVersion(), message.getChanged(), message.getRemoved());
+        }
     }
 
     @HandleMessage
@@ -22,14 +22,21 @@
  * SOFTWARE.
  */
 
+
 package org.imanity.framework.redis.server.thread;
 
 import org.imanity.framework.ImanityCommon;
-import org.imanity.framework.redis.server.ImanityServer;
 import org.imanity.framework.redis.server.ServerHandler;
+import org.redisson.api.RScoredSortedSet;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 
+/**
+ * Changes arrive through {@link org.imanity.framework.redis.server.message.ServerUpdateMessage},
+ * this only reconciles the membership set now and then to pick up missed joins and drop servers whose heartbeat stopped
+ */
 public class FetchThread extends Thread {
 
     private ServerHandler serverHandler;
@@ -53,24 +60,31 @@ public class FetchThread extends Thread {
             }
 
             try {
-                Thread.sleep(5000L);
-            } catch (Throwable throwable) {
-                throwable.printStackTrace();
+                Thread.sleep(ServerHandler.RECONCILE_INTERVAL);
+            } catch (InterruptedException ex) {
+                break;
             }
         }
     }
 
     private void fetch() {
-        for (String key : this.serverHandler.getRedis().getKeys(ServerHandler.METADATA + ":*")) {
-            String name = key.substring(0, ServerHandler.METADATA.length());
-            ImanityServer server = this.serverHandler.getServer(name);
-            if (server == null) {
-                server = new ImanityServer(name);
-                this.serverHandler.addServer(name, server);
+        long now = System.currentTimeMillis();
+        RScoredSortedSet<String> members = this.serverHandler.getMembers();
+        members.removeRangeByScore(0, true, now - ServerHandler.TIMEOUT, false);
+
+        Collection<String> alive = new HashSet<>(members.readAll());
+        String current = this.serverHandler.getCurrentServer().getName();
+
+        for (String name : new ArrayList<>(this.serverHandler.getServers().keySet())) {
+            if (!name.equals(current) && !alive.contains(name)) {
+                this.serverHandler.removeServer(name);
             }
+        }
 
-            Map<String, String> data = this.serverHandler.getRedis().getMap(key);
-            server.load(data);
+        for (String name : alive) {
+            if (!name.equals(current) && this.serverHandler.getServer(name) == null) {
+                this.serverHandler.loadServer(name);
+            }
         }
     }
 }
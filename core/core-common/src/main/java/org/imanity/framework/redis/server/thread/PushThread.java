@@ -22,16 +22,38 @@
  * SOFTWARE.
  */
 
+
 package org.imanity.framework.redis.server.thread;
 
 import org.imanity.framework.ImanityCommon;
 import org.imanity.framework.redis.server.ImanityServer;
 import org.imanity.framework.redis.server.ServerHandler;
-import org.redisson.api.RMap;
-
+import org.imanity.framework.redis.server.message.ServerAddMessage;
+import org.imanity.framework.redis.server.message.ServerUpdateMessage;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RMapAsync;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes only what changed since the last push, the state is diffed locally every second
+ * or right away when {@link #wakeup()} is called, and redis is only written when the diff isn't empty
+ */
 public class PushThread extends Thread {
 
+    private static final long CHECK_INTERVAL = TimeUnit.SECONDS.toNanos(1L);
+
     private final ServerHandler serverHandler;
+    private final Map<String, String> published = new HashMap<>();
+
+    private boolean announced;
+    private long lastHeartbeat;
 
     public PushThread(ServerHandler serverHandler) {
         this.serverHandler = serverHandler;
@@ -43,7 +65,7 @@ public class PushThread extends Thread {
     @Override
     public void run() {
 
-        while (!ImanityCommon.PLATFORM.isShuttingDown()) {
+        while (!ImanityCommon.PLATFORM.isShuttingDown() && !this.isInterrupted()) {
 
             try {
                 this.push();
@@ -51,32 +73,89 @@ public class PushThread extends Thread {
                 throwable.printStackTrace();
             }
 
-            try {
-                Thread.sleep(5000L);
-            } catch (Throwable throwable) {
-                throwable.printStackTrace();
-            }
+            LockSupport.parkNanos(this, CHECK_INTERVAL);
 
         }
 
     }
 
+    public void wakeup() {
+        LockSupport.unpark(this);
+    }
+
     public void shutdown() {
         ImanityServer server = serverHandler.getCurrentServer();
+        this.serverHandler.getMembers().remove(server.getName());
         this.serverHandler.getRedis()
                 .getMap(ServerHandler.METADATA + ":" + server.getName())
-                .clear();
+                .delete();
     }
 
     private void push() {
 
         ImanityServer server = serverHandler.getCurrentServer();
+        Map<String, String> snapshot = server.snapshot();
+
+        Map<String, String> changed = new HashMap<>();
+        for (Map.Entry<String, String> entry : snapshot.entrySet()) {
+            if (!entry.getValue().equals(this.published.get(entry.getKey()))) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
 
-        RMap<String, String> map = this.serverHandler.getRedis().getMap(ServerHandler.METADATA + ":" + server.getName());
-        map.put("onlinePlayers", String.valueOf(server.getOnlinePlayers()));
-        map.put("maxPlayers", String.valueOf(server.getMaxPlayers()));
-        map.put("state", server.getServerState().name());
-        map.putAll(server.getMetadata());
+        List<String> removed = new ArrayList<>();
+        for (String key : this.published.keySet()) {
+            if (!snapshot.containsKey(key)) {
+                removed.add(key);
+            }
+        }
+
+        if (!changed.isEmpty() || !removed.isEmpty()) {
+            // the commands are sent as one MULTI / EXEC, so peers never read a deleted or half written hash
+            RBatch batch = this.serverHandler.getRedis().createBatch(BatchOptions.defaults()
+                    .executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+            RMapAsync<String, String> map = batch.getMap(ServerHandler.METADATA + ":" + server.getName());
+
+            long version;
+            Map<String, String> write;
+            if (server.getVersion() == 0L) {
+                // first push since boot, drop whatever a previous run left behind and start from a version
+                // higher than any the peers could have seen, so they reload instead of ignoring us
+                map.deleteAsync();
+                version = System.currentTimeMillis();
+                write = new HashMap<>(snapshot);
+            } else {
+                version = server.getVersion() + 1;
+                if (!removed.isEmpty()) {
+                    map.fastRemoveAsync(removed.toArray(new String[0]));
+                }
+                write = new HashMap<>(changed);
+            }
+
+            write.put(ImanityServer.VERSION, String.valueOf(version));
+            map.putAllAsync(write);
+            batch.execute();
+
+            server.setVersion(version);
+            this.published.keySet().removeAll(removed);
+            this.published.putAll(changed);
+
+            if (this.announced) {
+                this.serverHandler.getMessageService().sendMessage(new ServerUpdateMessage(server.getName(), version, changed, removed));
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - this.lastHeartbeat >= ServerHandler.HEARTBEAT_INTERVAL) {
+            this.serverHandler.getMembers().add(now, server.getName());
+            this.lastHeartbeat = now;
+        }
+
+        // the message service comes up after us, peers are told once it can publish
+        if (!this.announced && this.serverHandler.getMessageService().isEnabled()) {
+            this.serverHandler.getMessageService().sendMessage(new ServerAddMessage(server.getName()));
+            this.announced = true;
+        }
 
     }
 }
@@ -23,43 +23,160 @@
  */
 
 package org.imanity.frameworktest;
-//
-//import org.imanity.framework.metadata.CommonMetadataRegistries;
-//import org.imanity.framework.metadata.MetadataKey;
-//import org.imanity.framework.metadata.MetadataMap;
-//import org.junit.Test;
-//
-//import java.util.UUID;
-//
-//import static org.junit.Assert.*;
+
+import org.imanity.framework.metadata.*;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
 
 public class MetadataTest {
 
-//    @Test
+    @Test
     public void testMetadata() {
-//        // Make int metadata key
-//        MetadataKey<Integer> intKey = MetadataKey.createIntegerKey("test");
-//
-//        // Put into uuid cache
-//        UUID testUuid = UUID.randomUUID();
-//
-//        MetadataMap map = CommonMetadataRegistries.provide(testUuid);
-//        map.put(intKey, 20);
-//
-//        // Assert
-//        assertEquals(map, CommonMetadataRegistries.provide(testUuid));
-//        assertEquals(CommonMetadataRegistries.provide(testUuid).getOrNull(intKey), (Object) 20);
-//
-//        // Remove the metadata we just put
-//        CommonMetadataRegistries.provide(testUuid).remove(intKey);
-//
-//        // Assert Removal for Metadata
-//        assertNull(CommonMetadataRegistries.provide(testUuid).getOrNull(intKey));
-//
-//        CommonMetadataRegistries.remove(testUuid);
-//
-//        // Assert Removal for Metadata Map
-//        assertNull(CommonMetadataRegistries.getOrNull(testUuid));
+        // Make int metadata key
+        MetadataKey<Integer> intKey = MetadataKey.createIntegerKey("test");
+
+        // Put into uuid cache
+        UUID testUuid = UUID.randomUUID();
+
+        MetadataMap map = CommonMetadataRegistries.provide(testUuid);
+        map.put(intKey, 20);
+
+        // Assert
+        assertEquals(map, CommonMetadataRegistries.provide(testUuid));
+        assertEquals(CommonMetadataRegistries.provide(testUuid).getOrNull(intKey), (Object) 20);
+
+        // Remove the metadata we just put
+        CommonMetadataRegistries.provide(testUuid).remove(intKey);
+
+        // Assert Removal for Metadata
+        assertNull(CommonMetadataRegistries.provide(testUuid).getOrNull(intKey));
+
+        CommonMetadataRegistries.remove(testUuid);
+
+        // Assert Removal for Metadata Map
+        assertNull(CommonMetadataRegistries.getOrNull(testUuid));
+    }
+
+    @Test
+    public void testExpireAfterWrite() throws InterruptedException {
+        MetadataKey<String> key = MetadataKey.createStringKey("expiring");
+        MetadataMap map = MetadataMap.create();
+
+        map.put(key, ExpiringValue.of("value", 100, TimeUnit.MILLISECONDS));
+        assertTrue(map.has(key));
+        assertEquals("value", map.getOrNull(key));
+        assertFalse(map.isEmpty());
+
+        Thread.sleep(250L);
+
+        // expired by the timer wheel, without touching the key first
+        assertTrue(map.isEmpty());
+        assertFalse(map.has(key));
+        assertNull(map.getOrNull(key));
+    }
+
+    @Test
+    public void testReplacedExpiringValueIsDescheduled() throws InterruptedException {
+        MetadataKey<String> key = MetadataKey.createStringKey("replaced");
+        MetadataMap map = MetadataMap.create();
+
+        map.put(key, ExpiringValue.of("value", 100, TimeUnit.MILLISECONDS));
+        map.put(key, "persistent");
+
+        Thread.sleep(250L);
+
+        assertFalse(map.isEmpty());
+        assertEquals("persistent", map.getOrNull(key));
+    }
+
+    @Test
+    public void testPutIfAbsentReplacesExpiredValue() throws InterruptedException {
+        MetadataKey<Integer> key = MetadataKey.createIntegerKey("absent");
+        MetadataMap map = MetadataMap.create();
+
+        map.put(key, ExpiringValue.of(1, 50, TimeUnit.MILLISECONDS));
+        assertFalse(map.putIfAbsent(key, 2));
+
+        Thread.sleep(150L);
+
+        assertTrue(map.putIfAbsent(key, 3));
+        assertEquals((Object) 3, map.getOrNull(key));
+    }
+
+    @Test
+    public void testRemoval() {
+        MetadataKey<Integer> key = MetadataKey.createIntegerKey("removal");
+        MetadataKey<String> expiringKey = MetadataKey.createStringKey("removal-expiring");
+        MetadataMap map = MetadataMap.create();
+
+        assertFalse(map.remove(key));
+
+        map.put(key, 1);
+        map.put(expiringKey, ExpiringValue.of("value", 1, TimeUnit.MINUTES));
+
+        assertTrue(map.remove(key));
+        assertTrue(map.remove(expiringKey));
+        assertFalse(map.has(key));
+        assertFalse(map.has(expiringKey));
+        assertTrue(map.isEmpty());
+
+        map.put(key, 2);
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testIsEmpty() {
+        MetadataKey<Integer> key = MetadataKey.createIntegerKey("empty");
+        MetadataMap map = MetadataMap.create();
+
+        assertTrue(map.isEmpty());
+
+        map.put(key, 1);
+        assertFalse(map.isEmpty());
+
+        map.remove(key);
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testWeakValueCleanup() throws InterruptedException {
+        MetadataKey<StringBuilder> key = MetadataKey.create("weak", StringBuilder.class);
+        MetadataMap map = MetadataMap.create();
+
+        StringBuilder value = new StringBuilder("value");
+        WeakReference<StringBuilder> reference = new WeakReference<>(value);
+        map.put(key, WeakValue.of(value));
+        assertSame(value, map.getOrNull(key));
+
+        value = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertNull("the weak value has not been collected", reference.get());
+
+        // weak values have no deadline, an explicit cleanup must not wait for the periodic recheck
+        assertTrue(map.isEmpty());
+        assertFalse(map.has(key));
+    }
+
+    @Test
+    public void testSoftValueIsKeptWhileReachable() {
+        MetadataKey<StringBuilder> key = MetadataKey.create("soft", StringBuilder.class);
+        MetadataMap map = MetadataMap.create();
+
+        StringBuilder value = new StringBuilder("value");
+        map.put(key, SoftValue.of(value));
+        map.cleanup();
+
+        assertFalse(map.isEmpty());
+        assertSame(value, map.getOrNull(key));
     }
 
 }
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.frameworktest.command;
+
+import org.imanity.framework.command.CommandEvent;
+import org.imanity.framework.command.CommandMeta;
+import org.imanity.framework.command.CommandTree;
+import org.imanity.framework.command.parameter.ParameterMeta;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CommandTreeTest {
+
+    @Test
+    public void matchAliasesIgnoringCase() throws Exception {
+        CommandTree tree = new CommandTree();
+        CommandMeta alpha = command("noArguments", "alpha", "a");
+        tree.register(alpha);
+
+        assertSame(alpha, tree.match("alpha").getCommandMeta());
+        assertSame(alpha, tree.match("ALPHA").getCommandMeta());
+        assertSame(alpha, tree.match("a").getCommandMeta());
+        assertNull(tree.match("alp"));
+        assertNull(tree.match("bravo"));
+    }
+
+    @Test
+    public void longestAliasWins() throws Exception {
+        CommandTree tree = new CommandTree();
+        CommandMeta team = command("withArgument", "team");
+        CommandMeta teamCreate = command("withArgument", "team create");
+        tree.register(team);
+        tree.register(teamCreate);
+
+        CommandTree.Match match = tree.match("Team Create red");
+        assertSame(teamCreate, match.getCommandMeta());
+        assertArrayEquals(new String[] {"red"}, match.getArguments());
+
+        match = tree.match("team join red");
+        assertSame(team, match.getCommandMeta());
+        assertArrayEquals(new String[] {"join", "red"}, match.getArguments());
+    }
+
+    @Test
+    public void commandWithoutParametersDropsArguments() throws Exception {
+        CommandTree tree = new CommandTree();
+        CommandMeta alpha = command("noArguments", "alpha");
+        tree.register(alpha);
+
+        CommandTree.Match match = tree.match("alpha extra words");
+        assertSame(alpha, match.getCommandMeta());
+        assertEquals(0, match.getArguments().length);
+    }
+
+    @Test
+    public void argumentsMatchSplit() throws Exception {
+        CommandTree tree = new CommandTree();
+        tree.register(command("withArgument", "papa"));
+
+        for (String arguments : new String[] {"10 20", "10  20", " 10", "10 ", "10   ", "a b c"}) {
+            assertArrayEquals(arguments, arguments.split(" "), tree.match("papa " + arguments).getArguments());
+        }
+        assertEquals(0, tree.match("papa").getArguments().length);
+        assertEquals(0, tree.match("papa ").getArguments().length);
+    }
+
+    private static CommandMeta command(String method, String... names) throws NoSuchMethodException {
+        boolean withArgument = method.equals("withArgument");
+        List<ParameterMeta> parameters = withArgument
+                ? Collections.singletonList(new ParameterMeta("value", false, "", new String[0], String.class))
+                : Collections.emptyList();
+        Class<?>[] parameterTypes = withArgument
+                ? new Class[] {CommandEvent.class, String.class}
+                : new Class[] {CommandEvent.class};
+
+        return new CommandMeta(names, "", parameters, new Commands(), Commands.class.getDeclaredMethod(method, parameterTypes), null);
+    }
+
+    public static class Commands {
+
+        public void noArguments(CommandEvent event) {
+        }
+
+        public void withArgument(CommandEvent event, String value) {
+        }
+
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.frameworktest.locale;
+
+import org.imanity.framework.locale.Locale;
+import org.imanity.framework.locale.LocaleTemplate;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class LocaleTemplateTest {
+
+    private static final String[] PLACEHOLDERS = {"<player>", "<seconds>"};
+
+    @Test
+    public void translateColourCodesOnce() {
+        LocaleTemplate template = new LocaleTemplate("&cHello &lworld");
+
+        assertEquals("§cHello §lworld", template.getTranslated());
+        assertSame(template.getTranslated(), template.getTranslated());
+    }
+
+    @Test
+    public void renderPlaceholders() {
+        LocaleTemplate template = new LocaleTemplate("&e<player> starts in <seconds>s, good luck <player>!");
+
+        assertEquals("§eImanity starts in 10s, good luck Imanity!", template.render(PLACEHOLDERS, "Imanity", 10));
+        assertSame(template.compile(PLACEHOLDERS), template.compile("<player>", "<seconds>"));
+    }
+
+    @Test
+    public void leaveUnboundPlaceholders() {
+        LocaleTemplate template = new LocaleTemplate("<player> <seconds>");
+
+        assertEquals("Imanity <seconds>", template.render(PLACEHOLDERS, "Imanity"));
+        assertEquals("<player> 5", template.render(PLACEHOLDERS, null, 5));
+    }
+
+    @Test
+    public void pluralise() {
+        LocaleTemplate template = new LocaleTemplate("<seconds> {plural:<seconds>|second|seconds} left");
+
+        assertEquals("1 second left", template.render(PLACEHOLDERS, "Imanity", 1));
+        assertEquals("3 seconds left", template.render(PLACEHOLDERS, "Imanity", 3));
+        assertEquals("{plural:<minutes>|a|b}", new LocaleTemplate("{plural:<minutes>|a|b}").render(PLACEHOLDERS, "Imanity", 1));
+    }
+
+    @Test
+    public void renderIntoBuilder() {
+        LocaleTemplate.Compiled compiled = new LocaleTemplate("[<player>]").compile(PLACEHOLDERS);
+        StringBuilder builder = new StringBuilder("> ");
+
+        compiled.render(builder, "Imanity", 0L);
+        assertEquals("> [Imanity]", builder.toString());
+    }
+
+    @Test
+    public void renderNestedTemplate() {
+        LocaleTemplate inner = new LocaleTemplate("<player>!");
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                return inner.render(PLACEHOLDERS, "inner");
+            }
+        };
+
+        assertEquals("outer inner!", new LocaleTemplate("outer <player>").render(PLACEHOLDERS, nested));
+    }
+
+    @Test
+    public void cachedTemplateFollowsEntry() throws InterruptedException {
+        Locale locale = new Locale("en_us") {};
+        locale.registerEntry("greeting", "hello");
+        assertEquals("hello", locale.getTemplate("greeting").render(PLACEHOLDERS));
+
+        locale.registerEntry("greeting", "hi");
+        assertEquals("hi", locale.getTemplate("greeting").render(PLACEHOLDERS));
+
+        locale.unregisterEntry("greeting");
+        assertEquals("greeting", locale.getTemplate("greeting").render(PLACEHOLDERS));
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                locale.getTemplate("greeting");
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < 20000; i++) {
+            locale.registerEntry("greeting", "value " + i);
+        }
+        running.set(false);
+        reader.join();
+
+        assertEquals("value 19999", locale.getTemplate("greeting").render(PLACEHOLDERS));
+    }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.frameworktest.redis;
+
+import io.netty.buffer.ByteBuf;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.imanity.framework.redis.codec.BinaryCodec;
+import org.imanity.framework.redis.server.enums.ServerState;
+import org.imanity.framework.redis.server.message.ServerUpdateMessage;
+import org.junit.Test;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.JsonJacksonCodec;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class BinaryCodecTest {
+
+    @Test
+    public void roundTripScalars() throws IOException {
+        BinaryCodec codec = new BinaryCodec();
+
+        for (Object value : new Object[] {"", "imanity", "中文", true, false, 0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                0L, Long.MIN_VALUE, Long.MAX_VALUE, 0.5D, Double.NaN, 1.5F, Float.NaN, (short) -3, Short.MAX_VALUE,
+                (byte) 7, Byte.MIN_VALUE, 'c', '中', UUID.randomUUID()}) {
+            assertEquals(value, roundTrip(codec, value));
+        }
+    }
+
+    @Test
+    public void roundTripCollections() throws IOException {
+        BinaryCodec codec = new BinaryCodec();
+
+        List<Object> list = Arrays.asList("a", 1, null, 2L);
+        assertEquals(list, roundTrip(codec, list));
+
+        Set<String> set = new LinkedHashSet<>(Arrays.asList("b", "a", "c"));
+        assertEquals(new ArrayList<>(set), new ArrayList<>((Set<?>) roundTrip(codec, set)));
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("players", 20);
+        map.put("motd", "hello");
+        map.put("nested", Collections.singletonList("x"));
+        assertEquals(map, roundTrip(codec, map));
+    }
+
+    @Test
+    public void roundTripSchema() throws IOException {
+        BinaryCodec codec = new BinaryCodec(Sample.class, Nested.class);
+
+        Sample sample = Sample.create();
+        Object decoded = roundTrip(codec, sample);
+
+        assertEquals(Sample.class, decoded.getClass());
+        assertEquals(sample, decoded);
+        assertTrue(((Sample) decoded).nested instanceof Nested);
+    }
+
+    @Test
+    public void roundTripBoxedFields() throws IOException {
+        BinaryCodec codec = new BinaryCodec(Boxed.class);
+
+        Boxed boxed = new Boxed();
+        boxed.f = 2.25F;
+        boxed.s = (short) -12;
+        boxed.b = (byte) 42;
+        boxed.c = 'x';
+        boxed.values = Arrays.asList(1.5F, (short) 2, (byte) 3, 'y');
+
+        Boxed decoded = (Boxed) roundTrip(codec, boxed);
+        assertEquals(boxed, decoded);
+        assertEquals(Float.class, decoded.values.get(0).getClass());
+        assertEquals(Short.class, decoded.values.get(1).getClass());
+        assertEquals(Byte.class, decoded.values.get(2).getClass());
+        assertEquals(Character.class, decoded.values.get(3).getClass());
+    }
+
+    @Test
+    public void roundTripNullFields() throws IOException {
+        BinaryCodec codec = new BinaryCodec(Sample.class, Nested.class);
+
+        Sample sample = new Sample();
+        assertEquals(sample, roundTrip(codec, sample));
+    }
+
+    @Test
+    public void roundTripServerUpdate() throws IOException {
+        BinaryCodec codec = new BinaryCodec(ServerUpdateMessage.class);
+
+        Map<String, String> changed = new HashMap<>();
+        changed.put("onlinePlayers", "42");
+        changed.put("state", ServerState.RUNNING.name());
+        ServerUpdateMessage message = new ServerUpdateMessage("lobby-1", 1610000000000L, changed, Collections.singletonList("legacy"));
+
+        ServerUpdateMessage decoded = (ServerUpdateMessage) roundTrip(codec, message);
+        assertEquals(message.getServerName(), decoded.getServerName());
+        assertEquals(message.getVersion(), decoded.getVersion());
+        assertEquals(message.getChanged(), decoded.getChanged());
+        assertEquals(message.getRemoved(), decoded.getRemoved());
+
+        assertTrue(encode(codec, message).length * 2 < encode(new JsonJacksonCodec(), message).length);
+    }
+
+    @Test
+    public void unregisteredTypesFallbackToJson() throws IOException {
+        BinaryCodec codec = new BinaryCodec();
+
+        Nested nested = new Nested("json", 3);
+        assertEquals(nested, roundTrip(codec, nested));
+
+        // A field that can't hold the decoded collection type keeps it's own type through json
+        BinaryCodec sampleCodec = new BinaryCodec(Sample.class);
+        Sample sample = Sample.create();
+        sample.tree = new TreeMap<>(Collections.singletonMap("k", 1));
+        Sample decoded = (Sample) roundTrip(sampleCodec, sample);
+        assertEquals(sample, decoded);
+        assertEquals(TreeMap.class, decoded.tree.getClass());
+    }
+
+    @Test(expected = IOException.class)
+    public void unknownSchemaIsRejected() throws IOException {
+        byte[] bytes = encode(new BinaryCodec(Nested.class), new Nested("a", 1));
+        decode(new BinaryCodec(), bytes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void schemaRequiresNoArgsConstructor() {
+        new BinaryCodec(NoDefaultConstructor.class);
+    }
+
+    private static Object roundTrip(Codec codec, Object value) throws IOException {
+        return decode(codec, encode(codec, value));
+    }
+
+    private static byte[] encode(Codec codec, Object value) throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(value);
+        try {
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return bytes;
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static Object decode(Codec codec, byte[] bytes) throws IOException {
+        ByteBuf buf = io.netty.buffer.Unpooled.wrappedBuffer(bytes);
+        try {
+            Object value = codec.getValueDecoder().decode(buf, null);
+            assertEquals(0, buf.readableBytes());
+            return value;
+        } finally {
+            buf.release();
+        }
+    }
+
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Nested {
+
+        private String name;
+        private int amount;
+
+        public Nested(String name, int amount) {
+            this.name = name;
+            this.amount = amount;
+        }
+
+    }
+
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Boxed {
+
+        private Float f;
+        private Short s;
+        private Byte b;
+        private Character c;
+        private List<Object> values;
+
+    }
+
+    @NoArgsConstructor
+    @EqualsAndHashCode(callSuper = true)
+    public static class Sample extends Base {
+
+        private boolean flag;
+        private byte b;
+        private short s;
+        private char c;
+        private int i;
+        private long l;
+        private float f;
+        private double d;
+        private String string;
+        private ServerState state;
+        private Integer boxed;
+        private UUID uuid;
+        private List<String> list;
+        private Set<UUID> set;
+        private Map<String, Integer> map;
+        private TreeMap<String, Integer> tree;
+        private Nested nested;
+        private transient String ignored;
+
+        static Sample create() {
+            Sample sample = new Sample();
+            sample.id = 7;
+            sample.flag = true;
+            sample.b = -3;
+            sample.s = Short.MIN_VALUE;
+            sample.c = '中';
+            sample.i = -150;
+            sample.l = System.currentTimeMillis();
+            sample.f = 1.5F;
+            sample.d = -2.25D;
+            sample.string = "party:invite";
+            sample.state = ServerState.STOPPING;
+            sample.boxed = 9;
+            sample.uuid = UUID.randomUUID();
+            sample.list = Arrays.asList("a", "b");
+            sample.set = new HashSet<>(Collections.singleton(UUID.randomUUID()));
+            sample.map = new HashMap<>(Collections.singletonMap("x", 1));
+            sample.nested = new Nested("nested", 5);
+            return sample;
+        }
+
+    }
+
+    @EqualsAndHashCode
+    public static class Base {
+
+        protected int id;
+
+    }
+
+    public static class NoDefaultConstructor {
+
+        public NoDefaultConstructor(String value) {
+        }
+
+    }
+
+}
@@ -42,8 +42,10 @@ public @interface Cacheable {
     /**
      * Time units of object lifetime.
      *
-     * <p>The minimum unit you can use is a second. We simply can't cache for
-     * less than a second, because cache is being cleaned every second.
+     * <p>Expired objects are removed by the cache manager's scheduler, with the
+     * default manager there is no minimum unit.
+     * {@link org.imanity.framework.cache.manager.CacheManagerConcurrentMap}
+     * is only cleaned every second.
      */
     TimeUnit unit() default TimeUnit.MINUTES;
 
@@ -40,6 +40,11 @@ public class CacheWrapper<T> implements Serializable, Cloneable {
 
     private long expireTime;
 
+    /**
+     * The time in nanoseconds it took to compute the cached object, 0 if unknown
+     */
+    private long loadTime;
+
     public CacheWrapper() {
     }
 
@@ -55,6 +60,18 @@ public class CacheWrapper<T> implements Serializable, Cloneable {
         this.expireTime = expireTime;
     }
 
+    /**
+     * Returns the time in milliseconds left before this wrapper expires
+     *
+     * @return the time left, or {@link Long#MAX_VALUE} if it never expires
+     */
+    public long getTimeLeft() {
+        if (expireTime > 0) {
+            return Math.max(0L, expireTime - (System.currentTimeMillis() - lastLoadTime));
+        }
+        return Long.MAX_VALUE;
+    }
+
     public boolean isExpired() {
         if (expireTime > 0) {
             return (System.currentTimeMillis() - lastLoadTime) > expireTime;
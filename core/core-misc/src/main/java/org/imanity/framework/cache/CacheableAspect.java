@@ -42,7 +42,7 @@ import org.imanity.framework.cache.impl.CacheKeyAbstract;
 import org.imanity.framework.cache.impl.CacheKeyMethod;
 import org.imanity.framework.cache.impl.CacheKeyString;
 import org.imanity.framework.cache.manager.CacheManager;
-import org.imanity.framework.cache.manager.CacheManagerConcurrentMap;
+import org.imanity.framework.cache.manager.CacheManagerCaffeine;
 import org.imanity.framework.cache.script.AbstractScriptParser;
 import org.imanity.framework.cache.script.SpringELParser;
 import org.intellij.lang.annotations.Language;
@@ -86,21 +86,25 @@ public class CacheableAspect {
                 .build()
         );
 
-        this.defaultCacheManager = new CacheManagerConcurrentMap();
-        this.defaultCacheManager.init(this)
-        ;
+        this.defaultCacheManager = new CacheManagerCaffeine();
+        this.defaultCacheManager.init(this);
 
         this.cacheManagers = new ConcurrentHashMap<>(0);
         this.scriptParser = new SpringELParser();
 
         CLEANER_SERVICE.scheduleAtFixedRate(() -> {
-            this.defaultCacheManager.clean();
+            this.cleanIfRequired(this.defaultCacheManager);
 
             for (CacheManager cacheManager : this.cacheManagers.values()) {
-                cacheManager.clean();
+                this.cleanIfRequired(cacheManager);
             }
         }, 1L, 1L, TimeUnit.SECONDS);
+    }
 
+    private void cleanIfRequired(CacheManager cacheManager) {
+        if (!cacheManager.isSelfExpiring()) {
+            cacheManager.clean();
+        }
     }
 
     // TODO: Performance check, is this key reader efficient?
@@ -180,13 +184,16 @@ public class CacheableAspect {
             return wrapper.get();
         }
 
+        long start = System.nanoTime();
         Object result = point.proceed();
+        long loadTime = System.nanoTime() - start;
 
         if (condition.length() != 0 && !this.checkCondition(condition, point.getTarget(), point.getArgs(), result, true)) {
             return result;
         }
 
         wrapper = new CacheWrapper<>(result, annotation.forever() ? 0L : annotation.unit().toMillis(annotation.lifetime()));
+        wrapper.setLoadTime(loadTime);
         manager.cache(key, wrapper);
         return result;
     }
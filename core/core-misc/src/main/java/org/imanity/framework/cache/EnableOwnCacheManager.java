@@ -25,7 +25,7 @@
 package org.imanity.framework.cache;
 
 import org.imanity.framework.cache.manager.CacheManager;
-import org.imanity.framework.cache.manager.CacheManagerConcurrentMap;
+import org.imanity.framework.cache.manager.CacheManagerCaffeine;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -36,6 +36,6 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 public @interface EnableOwnCacheManager {
 
-    Class<? extends CacheManager> value() default CacheManagerConcurrentMap.class;
+    Class<? extends CacheManager> value() default CacheManagerCaffeine.class;
 
 }
@@ -28,22 +28,29 @@ import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.Objects;
 
 public class CacheKeyMethod extends CacheKeyAbstract {
 
     private final Method method;
     private final Object[] arguments;
+    private final int hashCode;
 
     public CacheKeyMethod(final JoinPoint point) {
         super(point);
         this.method = ((MethodSignature) point.getSignature()).getMethod();
         this.arguments = point.getArgs();
+
+        // the target is left out on purpose, a target may hash itself through its own cached methods
+        this.hashCode = 31 * this.method.hashCode() + Arrays.deepHashCode(this.arguments);
+    }
+
+    public Method getMethod() {
+        return this.method;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(this.method);
+        return this.hashCode;
     }
 
     @Override
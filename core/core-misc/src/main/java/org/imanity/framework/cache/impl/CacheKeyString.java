@@ -38,6 +38,10 @@ public class CacheKeyString extends CacheKeyAbstract {
         this.key = key;
     }
 
+    public String getKey() {
+        return this.key;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -37,6 +37,15 @@ public interface CacheManager {
 
     void clean();
 
+    /**
+     * Returns if this manager expires its entries by itself, managers which don't are swept by {@link #clean()} every second
+     *
+     * @return true if no periodic sweep is required
+     */
+    default boolean isSelfExpiring() {
+        return false;
+    }
+
     Map<CacheKeyAbstract, CacheWrapper<?>> getAsMap();
 
     <T> Collection<T> findByType(Class<T> type);
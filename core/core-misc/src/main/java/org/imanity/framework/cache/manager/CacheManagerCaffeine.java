@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.cache.manager;
+
+import com.github.benmanes.caffeine.cache.*;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.MapMaker;
+import org.aspectj.lang.JoinPoint;
+import org.imanity.framework.cache.CacheWrapper;
+import org.imanity.framework.cache.CacheableAspect;
+import org.imanity.framework.cache.impl.CacheKeyAbstract;
+import org.imanity.framework.cache.impl.CacheKeyMethod;
+import org.imanity.framework.cache.impl.CacheKeyString;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link CacheManager} backed by a Caffeine cache.
+ *
+ * Entries are bounded by a size based (Window TinyLFU) eviction, and expired by Caffeine's scheduler
+ * with the lifetime of each {@link CacheWrapper}, so no periodic sweep over the cache is required.
+ * Keys are indexed by their target, value type, method and tag (the key of a {@link CacheKeyString}), which makes
+ * {@link #flush(JoinPoint)}, {@link #findByType(Class)}, {@link #invalidateMethod(Method)} and
+ * {@link #invalidateTag(String)} independent of the cache size.
+ */
+public class CacheManagerCaffeine implements CacheManager {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 100_000L;
+
+    private final long maximumSize;
+    private final StatsCounter statsCounter = new ConcurrentStatsCounter();
+
+    private Cache<CacheKeyAbstract, CacheWrapper<?>> cache;
+    private CacheableAspect cacheableAspect;
+
+    // targets are compared by identity, their own hashCode() could call into this cache
+    private final ConcurrentMap<Object, Set<CacheKeyAbstract>> targetIndex = new MapMaker()
+            .weakKeys()
+            .makeMap();
+    private final ConcurrentMap<Class<?>, Set<CacheKeyAbstract>> typeIndex = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, Set<CacheKeyAbstract>> methodIndex = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<CacheKeyAbstract>> tagIndex = new ConcurrentHashMap<>();
+
+    public CacheManagerCaffeine() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public CacheManagerCaffeine(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public void init(CacheableAspect cacheableAspect) {
+        this.cacheableAspect = cacheableAspect;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(this.maximumSize)
+                .expireAfter(new WrapperExpiry())
+                .scheduler(Scheduler.forScheduledExecutorService(CacheableAspect.CLEANER_SERVICE))
+                .writer(new IndexWriter())
+                .recordStats(() -> this.statsCounter)
+                .build();
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss, load time and eviction statistics of this cache
+     *
+     * @return the statistics
+     */
+    public CacheStats getStats() {
+        return this.statsCounter.snapshot();
+    }
+
+    @Override
+    public void clean() {
+        this.cache.cleanUp();
+    }
+
+    @Override
+    public boolean isSelfExpiring() {
+        return true;
+    }
+
+    @Override
+    public Map<CacheKeyAbstract, CacheWrapper<?>> getAsMap() {
+        return ImmutableMap.copyOf(this.cache.asMap());
+    }
+
+    @Override
+    public <T> Collection<T> findByType(Class<T> type) {
+        Set<T> results = new HashSet<>();
+        for (Map.Entry<Class<?>, Set<CacheKeyAbstract>> entry : this.typeIndex.entrySet()) {
+            Class<?> valueType = entry.getKey();
+            if (!type.isAssignableFrom(valueType)) {
+                continue;
+            }
+
+            Set<CacheKeyAbstract> keys = entry.getValue();
+            for (CacheKeyAbstract key : keys) {
+                Object object = this.getValue(key);
+
+                if (object == null || object.getClass() != valueType) {
+                    // stale index entry, the key has been removed or replaced by a value of another type
+                    this.removeIndexed(this.typeIndex, valueType, key);
+
+                    // the key may have been written again in the meantime
+                    object = this.getValue(key);
+                    if (object == null || object.getClass() != valueType) {
+                        continue;
+                    }
+                    this.addIndexed(this.typeIndex, valueType, key);
+                }
+
+                results.add(type.cast(object));
+            }
+        }
+
+        return results;
+    }
+
+    @Override
+    public CacheWrapper<?> find(CacheKeyAbstract key) {
+        return this.cache.getIfPresent(key);
+    }
+
+    @Override
+    public void cache(CacheKeyAbstract key, CacheWrapper<?> wrapper) throws Throwable {
+        this.cache.put(key, wrapper);
+        if (wrapper.getLoadTime() > 0L) {
+            this.statsCounter.recordLoadSuccess(wrapper.getLoadTime());
+        }
+    }
+
+    @Override
+    public void evict(JoinPoint point, String keyString) {
+        this.cache.invalidate(this.cacheableAspect.toKey(point, keyString));
+    }
+
+    @Override
+    public void flush(JoinPoint point) {
+        this.invalidateIndexed(this.targetIndex, CacheKeyAbstract.findTarget(point));
+    }
+
+    /**
+     * Invalidates every argument variant cached for the method
+     *
+     * @param method the cached method
+     */
+    public void invalidateMethod(Method method) {
+        this.invalidateIndexed(this.methodIndex, method);
+    }
+
+    /**
+     * Invalidates every entry cached with the key, regardless of its target
+     *
+     * @param tag the evaluated key of {@link org.imanity.framework.Cacheable#key()}
+     */
+    public void invalidateTag(String tag) {
+        this.invalidateIndexed(this.tagIndex, tag);
+    }
+
+    private <K> void invalidateIndexed(ConcurrentMap<K, Set<CacheKeyAbstract>> index, K key) {
+        Set<CacheKeyAbstract> keys = index.get(key);
+        if (keys != null) {
+            this.cache.invalidateAll(new ArrayList<>(keys));
+        }
+    }
+
+    private Object getValue(CacheKeyAbstract key) {
+        // reading through the map view doesn't count towards the hit / miss statistics
+        CacheWrapper<?> wrapper = this.cache.asMap().get(key);
+        return wrapper != null ? wrapper.get() : null;
+    }
+
+    // Sets are added to and removed from inside compute, so a key is never added to a set that has just been dropped
+    private <K> void addIndexed(ConcurrentMap<K, Set<CacheKeyAbstract>> index, K indexKey, CacheKeyAbstract key) {
+        index.compute(indexKey, (k, keys) -> {
+            if (keys == null) {
+                keys = newIndexSet(k);
+            }
+            keys.add(key);
+            return keys;
+        });
+    }
+
+    // Drop the set once it's empty, the tag index gains a set for every distinct key ever cached
+    private <K> void removeIndexed(ConcurrentMap<K, Set<CacheKeyAbstract>> index, K indexKey, CacheKeyAbstract key) {
+        index.computeIfPresent(indexKey, (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static Set<CacheKeyAbstract> newIndexSet(Object key) {
+        return ConcurrentHashMap.newKeySet();
+    }
+
+    private static final class WrapperExpiry implements Expiry<CacheKeyAbstract, CacheWrapper<?>> {
+
+        @Override
+        public long expireAfterCreate(CacheKeyAbstract key, CacheWrapper<?> value, long currentTime) {
+            long timeLeft = value.getTimeLeft();
+            return timeLeft == Long.MAX_VALUE ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(timeLeft);
+        }
+
+        @Override
+        public long expireAfterUpdate(CacheKeyAbstract key, CacheWrapper<?> value, long currentTime, long currentDuration) {
+            return this.expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(CacheKeyAbstract key, CacheWrapper<?> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+    /**
+     * Keeps the target and type indexes in sync, the writer is called atomically with each change of an entry
+     */
+    private final class IndexWriter implements CacheWriter<CacheKeyAbstract, CacheWrapper<?>> {
+
+        @Override
+        public void write(CacheKeyAbstract key, CacheWrapper<?> value) {
+            targetIndex.computeIfAbsent(key.getTarget(), CacheManagerCaffeine::newIndexSet).add(key);
+
+            Object object = value.get();
+            if (object != null) {
+                addIndexed(typeIndex, object.getClass(), key);
+            }
+
+            if (key instanceof CacheKeyMethod) {
+                addIndexed(methodIndex, ((CacheKeyMethod) key).getMethod(), key);
+            } else if (key instanceof CacheKeyString) {
+                addIndexed(tagIndex, ((CacheKeyString) key).getKey(), key);
+            }
+        }
+
+        @Override
+        public void delete(CacheKeyAbstract key, CacheWrapper<?> value, RemovalCause cause) {
+            // the target entry goes away with the target itself
+            Set<CacheKeyAbstract> targetKeys = targetIndex.get(key.getTarget());
+            if (targetKeys != null) {
+                targetKeys.remove(key);
+            }
+
+            Object object = value != null ? value.get() : null;
+            if (object != null) {
+                removeIndexed(typeIndex, object.getClass(), key);
+            }
+
+            if (key instanceof CacheKeyMethod) {
+                removeIndexed(methodIndex, ((CacheKeyMethod) key).getMethod(), key);
+            } else if (key instanceof CacheKeyString) {
+                removeIndexed(tagIndex, ((CacheKeyString) key).getKey(), key);
+            }
+        }
+
+    }
+
+}
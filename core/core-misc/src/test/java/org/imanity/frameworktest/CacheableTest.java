@@ -24,15 +24,20 @@
 
 package org.imanity.frameworktest;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
 import org.imanity.framework.CacheEvict;
 import org.imanity.framework.CachePut;
 import org.imanity.framework.Cacheable;
+import org.imanity.framework.cache.CacheableAspect;
 import org.imanity.framework.cache.EnableOwnCacheManager;
+import org.imanity.framework.cache.manager.CacheManagerCaffeine;
 import org.junit.Test;
 
+import java.lang.reflect.Field;
 import java.security.SecureRandom;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.StringJoiner;
@@ -110,6 +115,67 @@ public class CacheableTest {
         MatcherAssert.assertThat(testPut, CoreMatchers.equalTo(testPut));
     }
 
+    @Test
+    public void cacheArgumentVariants() throws Exception {
+        Baz baz = new Baz();
+        CacheManagerCaffeine cacheManager = (CacheManagerCaffeine) CacheableAspect.INSTANCE.getCacheManager(Baz.class);
+
+        long first = baz.get(1);
+        long second = baz.get(2);
+        MatcherAssert.assertThat(first, CoreMatchers.not(second));
+        MatcherAssert.assertThat(first, CoreMatchers.equalTo(baz.get(1)));
+        MatcherAssert.assertThat(second, CoreMatchers.equalTo(baz.get(2)));
+
+        CacheStats stats = cacheManager.getStats();
+        MatcherAssert.assertThat(stats.hitCount(), CoreMatchers.equalTo(2L));
+        MatcherAssert.assertThat(stats.missCount(), CoreMatchers.equalTo(2L));
+        MatcherAssert.assertThat(stats.loadSuccessCount(), CoreMatchers.equalTo(2L));
+        MatcherAssert.assertThat(cacheManager.findByType(Long.class).size(), CoreMatchers.equalTo(2));
+
+        baz.flush();
+        MatcherAssert.assertThat(cacheManager.findByType(Long.class).isEmpty(), CoreMatchers.equalTo(true));
+        MatcherAssert.assertThat(first, CoreMatchers.not(baz.get(1)));
+    }
+
+    @Test
+    public void invalidateByMethodAndTag() throws Exception {
+        Baz baz = new Baz();
+        Imanity imanity = new Imanity();
+        CacheManagerCaffeine bazManager = (CacheManagerCaffeine) CacheableAspect.INSTANCE.getCacheManager(Baz.class);
+        CacheManagerCaffeine imanityManager = (CacheManagerCaffeine) CacheableAspect.INSTANCE.getCacheManager(Imanity.class);
+
+        long first = baz.get(1);
+        long second = baz.get(2);
+        bazManager.invalidateMethod(Baz.class.getMethod("get", int.class));
+        MatcherAssert.assertThat(first, CoreMatchers.not(baz.get(1)));
+        MatcherAssert.assertThat(second, CoreMatchers.not(baz.get(2)));
+
+        long tagged = imanity.test(7);
+        long other = imanity.test(8);
+        imanityManager.invalidateTag("test-7");
+        MatcherAssert.assertThat(tagged, CoreMatchers.not(imanity.test(7)));
+        MatcherAssert.assertThat(other, CoreMatchers.equalTo(imanity.test(8)));
+    }
+
+    @Test
+    public void indexDropsEmptySets() throws Exception {
+        Imanity imanity = new Imanity();
+        CacheManagerCaffeine imanityManager = (CacheManagerCaffeine) CacheableAspect.INSTANCE.getCacheManager(Imanity.class);
+
+        Field field = CacheManagerCaffeine.class.getDeclaredField("tagIndex");
+        field.setAccessible(true);
+        Map<String, ?> tagIndex = (Map<String, ?>) field.get(imanityManager);
+
+        for (int id = 100; id < 200; id++) {
+            imanity.test(id);
+            MatcherAssert.assertThat(tagIndex.containsKey("test-" + id), CoreMatchers.equalTo(true));
+        }
+        for (int id = 100; id < 200; id++) {
+            imanity.evict(id);
+            MatcherAssert.assertThat(tagIndex.containsKey("test-" + id), CoreMatchers.equalTo(false));
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testNullParameter() throws Exception {
         Imanity imanity = new Imanity();
@@ -242,6 +308,21 @@ public class CacheableTest {
         }
     }
 
+    @EnableOwnCacheManager
+    public static final class Baz {
+
+        @Cacheable(forever = true)
+        public long get(int id) {
+            return CacheableTest.RANDOM.nextLong();
+        }
+
+        @Cacheable.ClearBefore
+        public void flush() {
+            // nothing to do
+        }
+
+    }
+
     public static final class Bar {
 
         @Cacheable
@@ -31,6 +31,7 @@ import org.imanity.framework.mysql.pojo.Query;
 import org.imanity.framework.mysql.pojo.Transaction;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 @Data
@@ -52,6 +53,10 @@ public class Session implements AutoCloseable {
         return this.byId(clazz, id).first(clazz);
     }
 
+    public boolean exists(Class<?> clazz, Object id) {
+        return this.byId(clazz, id).exists(clazz);
+    }
+
     public <T> T findByQuery(Class<T> clazz, String query, Object value) {
         return this.query().whereQuery(query, value).first(clazz);
     }
@@ -77,6 +82,13 @@ public class Session implements AutoCloseable {
         return this.query().insert(row);
     }
 
+    /**
+     * Insert multiple rows using JDBC batches, see {@link Query#insertAll(Iterable)}.
+     */
+    public Query insertAll(Iterable<?> rows) {
+        return this.query().insertAll(rows);
+    }
+
     /**
      * See {@link Query#generatedKeyReceiver(Object, String...)
      * generateKeyReceiver} method.
@@ -104,6 +116,14 @@ public class Session implements AutoCloseable {
         return this.query().results(clazz);
     }
 
+    /**
+     * Execute a "select" query and stream the results through a forward only
+     * cursor, see {@link Query#cursor(Class)}. The stream must be closed.
+     */
+    public <T> Stream<T> stream(Class<T> clazz) {
+        return this.query().stream(clazz);
+    }
+
     /**
      * Returns the first row in a query in a pojo. Will return it in a Map if a
      * class that implements Map is specified.
@@ -128,6 +148,13 @@ public class Session implements AutoCloseable {
         return this.query().upsert(row);
     }
 
+    /**
+     * Upsert multiple rows using JDBC batches, see {@link Query#upsertAll(Iterable)}.
+     */
+    public Query upsertAll(Iterable<?> rows) {
+        return this.query().upsertAll(rows);
+    }
+
     /**
      * Create a query and specify which table it operates on.
      */
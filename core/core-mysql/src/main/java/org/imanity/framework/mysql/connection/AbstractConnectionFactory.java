@@ -50,6 +50,15 @@ public abstract class AbstractConnectionFactory {
 
     public abstract Connection connection() throws SQLException;
 
+    /**
+     * The fetch size used by streaming queries, see {@link Query#cursor(Class)}.
+     *
+     * @return the fetch size
+     */
+    public int streamFetchSize() {
+        return 256;
+    }
+
     public Session session(Transaction transaction) {
         return new Session(this, transaction);
     }
@@ -71,6 +80,13 @@ public abstract class AbstractConnectionFactory {
         return new Query(this).insert(row);
     }
 
+    /**
+     * Insert multiple rows using JDBC batches, see {@link Query#insertAll(Iterable)}.
+     */
+    public Query insertAll(Iterable<?> rows) {
+        return new Query(this).insertAll(rows);
+    }
+
     /**
      * See {@link Query#generatedKeyReceiver(Object, String...)
      * generateKeyReceiver} method.
@@ -122,6 +138,13 @@ public abstract class AbstractConnectionFactory {
         return new Query(this).upsert(row);
     }
 
+    /**
+     * Upsert multiple rows using JDBC batches, see {@link Query#upsertAll(Iterable)}.
+     */
+    public Query upsertAll(Iterable<?> rows) {
+        return new Query(this).upsertAll(rows);
+    }
+
     /**
      * Create a query and specify which table it operates on.
      */
@@ -89,7 +89,8 @@ public class H2ConnectionFactory extends FileConnectionFactory {
     }
 
     public String url() {
-        return "jdbc:h2:" + this.path.toString() + ";mode=MySQL";
+        // the single connection keeps the parsed statements in a query cache keyed by their sql
+        return "jdbc:h2:" + this.path.toString() + ";mode=MySQL;QUERY_CACHE_SIZE=64";
     }
 
     @Override
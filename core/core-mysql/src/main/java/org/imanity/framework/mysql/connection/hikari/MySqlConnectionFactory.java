@@ -45,6 +45,17 @@ public class MySqlConnectionFactory extends HikariConnectionFactory {
         this.config.setJdbcUrl("jdbc:mysql://" + address + ":" + port + "/" + databaseName);
         this.config.setUsername(username);
         this.config.setPassword(password);
+
+        // keeps a per connection cache of prepared statements keyed by their sql, which only pays off
+        // because the generated statements bind their values instead of inlining them
+        this.config.addDataSourceProperty("cachePrepStmts", "true");
+        this.config.addDataSourceProperty("prepStmtCacheSize", "250");
+        this.config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        this.config.addDataSourceProperty("useServerPrepStmts", "true");
+        this.config.addDataSourceProperty("cacheResultSetMetadata", "true");
+
+        // lets Connector/J send a batch of inserts as a single multi row statement
+        this.config.addDataSourceProperty("rewriteBatchedStatements", "true");
     }
 
     @Override
@@ -57,6 +68,12 @@ public class MySqlConnectionFactory extends HikariConnectionFactory {
         return new MySqlStatementBuilder();
     }
 
+    @Override
+    public int streamFetchSize() {
+        // Connector/J only streams the rows one by one instead of reading the whole result with this value
+        return Integer.MIN_VALUE;
+    }
+
     @Override
     protected void postInitialize() {
         super.postInitialize();
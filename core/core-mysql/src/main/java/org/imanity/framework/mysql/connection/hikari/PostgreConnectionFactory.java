@@ -42,6 +42,9 @@ public class PostgreConnectionFactory extends HikariConnectionFactory {
         this.config.addDataSourceProperty("databaseName", databaseName);
         this.config.addDataSourceProperty("user", username);
         this.config.addDataSourceProperty("password", password);
+
+        // lets the driver send a batch of inserts as multi row statements
+        this.config.addDataSourceProperty("reWriteBatchedInserts", "true");
     }
 
     @Override
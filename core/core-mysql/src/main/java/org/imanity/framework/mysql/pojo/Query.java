@@ -32,16 +32,18 @@ import org.imanity.framework.mysql.pojo.statement.SqlStatementBuilder;
 import org.imanity.framework.mysql.util.SQLUtil;
 import org.intellij.lang.annotations.Language;
 
-import java.lang.reflect.InvocationTargetException;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Getter
 public class Query {
 
+	private static final int DEFAULT_BATCH_SIZE = 500;
+
 	private Object generatedKeyReceiver;
 	private String[] generatedKeyNames;
 
@@ -52,6 +54,10 @@ public class Query {
 	private String where;
 	private Object[] args;
 
+	private int limit;
+	private int fetchSize;
+	private int batchSize;
+
 	private List<Where> wheres;
 
 	private int rowsAffected;
@@ -102,14 +108,18 @@ public class Query {
 	public Query byMultipleIds(Class<?> type, List ids) {
 		PojoInfo info = this.sqlStatementBuilder.getPojoInfo(type);
 		if (info != null) {
-			this.where = info.getPrimaryKeyName() + " in ";
-
 			Object[] idArray = new Object[ids.size()];
 			for (int i = 0; i < idArray.length; i++) {
 				idArray[i] = info.toReadableValue(info.getProperty(info.getPrimaryKeyName()), ids.get(i));
 			}
 
-			this.args = new Object[] {ids};
+			if (idArray.length == 0) {
+				// "in ()" isn't valid sql
+				this.where = "1=0";
+			} else {
+				this.where = info.getPrimaryKeyName() + " in (" + SQLUtil.getQuestionMarks(idArray.length) + ")";
+			}
+			this.args = idArray;
 		} else {
 			throw new IllegalArgumentException("The POJO info for type " + type.getName() + " does not exists!");
 		}
@@ -162,143 +172,180 @@ public class Query {
 	}
 
 	/**
-	 * Returns the first row in a query in a pojo, or null if the query returns no
-	 * results. Will return it in a Map if a class that implements Map is specified.
+	 * Limit the amount of rows returned by a "select" query. Has no effect if
+	 * the .sql() method is used.
 	 */
-	public <T> T first(Class<T> clazz) {
-		List<T> list = results(clazz);
-		if (list.size() > 0) {
-			return list.get(0);
-		} else {
-			return null;
-		}
+	public Query limit(int limit) {
+		this.limit = limit;
+		return this;
 	}
 
 	/**
-	 * Provides the results as a list of Map objects instead of a list of pojos.
+	 * Hint the JDBC driver about how many rows should be fetched from the
+	 * database at once. When it isn't specified, .cursor() and .stream() use the
+	 * streaming fetch size of the connection factory.
 	 */
-	private List<Map<String, Object>> resultsMap(Class<Map<String, Object>> clazz) {
-
-		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
-		Connection con = null;
-		PreparedStatement state = null;
-
-		try {
-			if (sql == null) {
-				sql = sqlStatementBuilder.getSelectSql(this, clazz);
-			}
-
-			Connection localCon;
-			if (transaction == null) {
-				localCon = factory.connection();
-				con = localCon; // con gets closed below if non-null
-			} else {
-				localCon = transaction.getConnection();
-			}
-
-			state = localCon.prepareStatement(sql);
-			loadArgs(state);
-
-			ResultSet resultSet = state.executeQuery();
+	public Query fetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+		return this;
+	}
 
-			metaData = resultSet.getMetaData();
-			int colCount = metaData.getColumnCount();
+	/**
+	 * Set the amount of rows sent to the database in a single round trip by
+	 * .insertAll() and .upsertAll(). Defaults to 500.
+	 */
+	public Query batchSize(int batchSize) {
+		this.batchSize = batchSize;
+		return this;
+	}
 
-			while (resultSet.next()) {
-				Map<String, Object> map;
-				if (clazz.equals(Map.class)) {
-					map = new HashMap<>();
-				} else {
-					map = clazz.getDeclaredConstructor().newInstance();
-				}
+	/**
+	 * Returns the first row in a query in a pojo, or null if the query returns no
+	 * results. Will return it in a Map if a class that implements Map is specified.
+	 */
+	public <T> T first(Class<T> clazz) {
+		if (sql == null) {
+			limit = 1;
+		}
 
-				for (int i = 1; i <= colCount; i++) {
-					String columnName = metaData.getColumnLabel(i);
-					map.put(columnName, resultSet.getObject(i));
-				}
-				result.add(map);
-			}
+		try (ResultCursor<T> cursor = openCursor(clazz, fetchSize)) {
+			return cursor.hasNext() ? cursor.next() : null;
+		}
+	}
 
-		} catch (InstantiationException | IllegalAccessException | SQLException | IllegalArgumentException
-				| InvocationTargetException | NoSuchMethodException | SecurityException e) {
-			throw new ImanitySqlException(e);
-		} finally {
-			close(state);
-			close(con);
+	/**
+	 * Returns true if the query returns at least one row. Only a single row is
+	 * requested from the database and it isn't mapped into an object.
+	 */
+	public boolean exists(Class<?> clazz) {
+		if (sql == null) {
+			limit = 1;
 		}
 
-		return result;
+		try (ResultCursor<?> cursor = openCursor(clazz, fetchSize)) {
+			return cursor.hasNext();
+		}
 	}
 
 	/**
 	 * Execute a "select" query and return a list of results where each row is an
 	 * instance of clazz. Returns an empty list if there are no results.
 	 */
-	@SuppressWarnings("unchecked")
 	public <T> List<T> results(Class<T> clazz) {
-		if (Map.class.isAssignableFrom(clazz)) {
-			return (List<T>) resultsMap((Class<Map<String, Object>>) clazz);
+		List<T> out = new ArrayList<T>();
+		try (ResultCursor<T> cursor = openCursor(clazz, fetchSize)) {
+			while (cursor.hasNext()) {
+				out.add(cursor.next());
+			}
 		}
+		return out;
+	}
 
-		List<T> out = new ArrayList<T>();
+	/**
+	 * Execute a "select" query and return a forward only cursor over the results,
+	 * where each row is mapped into an instance of clazz while iterating. Use it to
+	 * scan large tables in constant memory. The cursor must be closed.
+	 */
+	public <T> ResultCursor<T> cursor(Class<T> clazz) {
+		return openCursor(clazz, fetchSize != 0 ? fetchSize : factory.streamFetchSize());
+	}
+
+	/**
+	 * Same as .cursor(), but exposed as a sequential stream. The stream must be
+	 * closed.
+	 */
+	public <T> Stream<T> stream(Class<T> clazz) {
+		return cursor(clazz).stream();
+	}
+
+	private <T> ResultCursor<T> openCursor(Class<T> clazz, int fetchSize) {
 		Connection con = null;
 		PreparedStatement state = null;
+		ResultSet resultSet = null;
 
 		try {
 			if (sql == null) {
 				sql = sqlStatementBuilder.getSelectSql(this, clazz);
+				args = sqlStatementBuilder.getSelectArgs(this, clazz);
 			}
 
 			Connection localCon;
 			if (transaction == null) {
 				localCon = factory.connection();
-				con = localCon; // con gets closed below if non-null
+				con = localCon; // con gets closed with the cursor if non-null
 			} else {
 				localCon = transaction.getConnection();
 			}
 
-			state = localCon.prepareStatement(sql);
+			state = localCon.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			if (fetchSize != 0) {
+				state.setFetchSize(fetchSize);
+			}
 			loadArgs(state);
 
-			ResultSet rs = state.executeQuery();
+			resultSet = state.executeQuery();
+			metaData = resultSet.getMetaData();
 
-			metaData = rs.getMetaData();
-			int colCount = metaData.getColumnCount();
+			return new ResultCursor<>(resultSet, rowMapper(clazz, metaData), sql, state, con);
+		} catch (SQLException | IllegalArgumentException | SecurityException e) {
+			close(resultSet);
+			close(state);
+			close(con);
 
-			if (SQLUtil.isPrimitiveOrString(clazz) || clazz.getPackage().getName().startsWith("java.sql")) {
-				// if the receiver class is a primitive or jdbc type just grab the first column
-				// and assign it
-				while (rs.next()) {
-					Object colValue = rs.getObject(1);
-					out.add((T) colValue);
-				}
+			ImanitySqlException dbe = new ImanitySqlException(e);
+			dbe.setSql(sql);
+			throw dbe;
+		}
+	}
 
-			} else {
-				PojoInfo pojoInfo = sqlStatementBuilder.getPojoInfo(clazz);
-				while (rs.next()) {
-					T row = clazz.getDeclaredConstructor().newInstance();
+	/**
+	 * Creates the mapper for the rows of a result set, the column labels and types
+	 * are resolved once per query instead of once per row.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> RowMapper<T> rowMapper(Class<T> clazz, ResultSetMetaData metaData) throws SQLException {
+		int colCount = metaData.getColumnCount();
+		String[] colNames = new String[colCount];
+		String[] colTypeNames = new String[colCount];
+		for (int i = 0; i < colCount; i++) {
+			colNames[i] = metaData.getColumnLabel(i + 1);
+			colTypeNames[i] = metaData.getColumnTypeName(i + 1);
+		}
 
-					for (int i = 1; i <= colCount; i++) {
-						String colName = metaData.getColumnLabel(i);
-						Object colValue = sqlStatementBuilder.convertValue(rs.getObject(i), metaData.getColumnTypeName(i));
+		if (Map.class.isAssignableFrom(clazz)) {
+			// provides the results as Map objects instead of pojos
+			return resultSet -> {
+				Map<String, Object> map;
+				if (clazz.equals(Map.class)) {
+					map = new HashMap<>();
+				} else {
+					map = (Map<String, Object>) clazz.getDeclaredConstructor().newInstance();
+				}
 
-						pojoInfo.putValue(row, colName, colValue, true);
-					}
-					out.add(row);
+				for (int i = 0; i < colCount; i++) {
+					map.put(colNames[i], resultSet.getObject(i + 1));
 				}
-			}
+				return (T) map;
+			};
+		}
 
-		} catch (InstantiationException | IllegalAccessException | SQLException | IllegalArgumentException
-				| InvocationTargetException | NoSuchMethodException | SecurityException e) {
-			ImanitySqlException dbe = new ImanitySqlException(e);
-			dbe.setSql(sql);
-			throw dbe;
-		} finally {
-			close(state);
-			close(con);
+		if (SQLUtil.isPrimitiveOrString(clazz) || clazz.getPackage().getName().startsWith("java.sql")) {
+			// if the receiver class is a primitive or jdbc type just grab the first column
+			// and assign it
+			return resultSet -> (T) resultSet.getObject(1);
 		}
 
-		return out;
+		PojoInfo pojoInfo = sqlStatementBuilder.getPojoInfo(clazz);
+		return resultSet -> {
+			T row = clazz.getDeclaredConstructor().newInstance();
+
+			for (int i = 0; i < colCount; i++) {
+				Object colValue = sqlStatementBuilder.convertValue(resultSet.getObject(i + 1), colTypeNames[i]);
+
+				pojoInfo.putValue(row, colNames[i], colValue, true);
+			}
+			return row;
+		};
 	}
 
 	private void loadArgs(PreparedStatement state) throws SQLException {
@@ -356,6 +403,133 @@ public class Query {
 		return this;
 	}
 
+	/**
+	 * Insert multiple rows into their tables using JDBC batches, see .batchSize().
+	 * Generated keys are written back into the rows when the driver returns them.
+	 * Unless the query is part of a transaction, all rows are written in one
+	 * transaction which is committed once the last batch has been executed.
+	 */
+	public Query insertAll(Iterable<?> rows) {
+		return executeBatch(rows, false);
+	}
+
+	/**
+	 * Upsert multiple rows into their tables using JDBC batches, see .batchSize().
+	 * Unless the query is part of a transaction, all rows are written in one
+	 * transaction which is committed once the last batch has been executed.
+	 */
+	public Query upsertAll(Iterable<?> rows) {
+		return executeBatch(rows, true);
+	}
+
+	private Query executeBatch(Iterable<?> rows, boolean upsert) {
+
+		Connection con = null;
+		PreparedStatement state = null;
+		boolean autoCommit = false;
+
+		int maxBatchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+		List<Object> batch = new ArrayList<>(Math.min(maxBatchSize, 64));
+		Property generatedProperty = null;
+
+		try {
+
+			Connection localCon;
+			if (transaction == null) {
+				localCon = factory.connection();
+				con = localCon; // con gets committed and closed below if non-null
+
+				autoCommit = con.getAutoCommit();
+				if (autoCommit) {
+					con.setAutoCommit(false);
+				}
+			} else {
+				localCon = transaction.getConnection();
+			}
+
+			rowsAffected = 0;
+			for (Object row : rows) {
+				String rowSql = upsert ? sqlStatementBuilder.getUpsertSql(this, row) : sqlStatementBuilder.getInsertSql(this, row);
+
+				// a statement can only batch a single sql, so a different row type flushes the batch
+				if (state == null || !rowSql.equals(sql) || batch.size() >= maxBatchSize) {
+					flushBatch(state, batch, generatedProperty);
+					batch.clear();
+
+					if (state == null || !rowSql.equals(sql)) {
+						close(state);
+
+						sql = rowSql;
+						generatedProperty = upsert || Map.class.isAssignableFrom(row.getClass()) ? null : sqlStatementBuilder.getPojoInfo(row.getClass()).getGeneratedColumnProperty();
+						if (generatedProperty != null) {
+							state = localCon.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+						} else {
+							state = localCon.prepareStatement(sql);
+						}
+					}
+				}
+
+				args = upsert ? sqlStatementBuilder.getUpsertArgs(this, row) : sqlStatementBuilder.getInsertArgs(this, row);
+				loadUpdateArgs(state, args);
+				state.addBatch();
+				batch.add(row);
+			}
+			flushBatch(state, batch, generatedProperty);
+
+			if (con != null) {
+				con.commit();
+			}
+
+		} catch (SQLException | IllegalArgumentException e) {
+			if (con != null) {
+				try {
+					con.rollback();
+				} catch (SQLException ignored) {
+				}
+			}
+
+			ImanitySqlException dbe = new ImanitySqlException(e);
+			dbe.setSql(sql);
+			throw dbe;
+		} finally {
+			close(state);
+			if (con != null && autoCommit) {
+				try {
+					con.setAutoCommit(true);
+				} catch (SQLException ignored) {
+				}
+			}
+			close(con);
+		}
+
+		return this;
+	}
+
+	private void flushBatch(PreparedStatement state, List<Object> batch, Property generatedProperty) throws SQLException {
+		if (state == null || batch.isEmpty()) {
+			return;
+		}
+
+		for (int count : state.executeBatch()) {
+			// drivers which rewrite the batch into a multi row statement report SUCCESS_NO_INFO
+			if (count > 0) {
+				rowsAffected += count;
+			}
+		}
+
+		if (generatedProperty != null) {
+			try (ResultSet resultSet = state.getGeneratedKeys()) {
+				String[] generatedKeyNames = new String[] {generatedProperty.getName()};
+				for (Object row : batch) {
+					if (!resultSet.next()) {
+						break;
+					}
+					readGeneratedKeys(resultSet, row, generatedKeyNames);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Update a row in a table. It will match an existing row based on the primary
 	 * key.
@@ -398,21 +572,7 @@ public class Query {
 				state = localCon.prepareStatement(sql);
 			}
 
-			if (args != null) {
-				for (int i = 0; i < args.length; i++) {
-					Object arg = args[i];
-
-					/*
-					 * The purpose of this is to allow List args to be inserted into JDBC array
-					 * fields. Postgres JDBC drivers do not handle this correctly.
-					 */
-					if (arg != null && List.class.isAssignableFrom(arg.getClass())) {
-						arg = ((List<?>) arg).toArray();
-					}
-
-					state.setObject(i + 1, arg);
-				}
-			}
+			loadUpdateArgs(state, args);
 
 			rowsAffected = state.executeUpdate();
 
@@ -432,69 +592,34 @@ public class Query {
 		return this;
 	}
 
-	@SuppressWarnings("unchecked")
+	private void loadUpdateArgs(PreparedStatement state, Object[] args) throws SQLException {
+		if (args != null) {
+			for (int i = 0; i < args.length; i++) {
+				Object arg = args[i];
+
+				/*
+				 * The purpose of this is to allow List args to be inserted into JDBC array
+				 * fields. Postgres JDBC drivers do not handle this correctly.
+				 */
+				if (arg != null && List.class.isAssignableFrom(arg.getClass())) {
+					arg = ((List<?>) arg).toArray();
+				}
+
+				state.setObject(i + 1, arg);
+			}
+		}
+	}
+
 	private void populateGeneratedKeys(PreparedStatement state, Object generatedKeyReceiver,
 			String[] generatedKeyNames) {
 
 		ResultSet resultSet = null;
 
 		try {
-			boolean isMap = Map.class.isAssignableFrom(generatedKeyReceiver.getClass());
-
-			PojoInfo pojoInfo = null;
-			if (!isMap) {
-				pojoInfo = sqlStatementBuilder.getPojoInfo(generatedKeyReceiver.getClass());
-			}
-
-			/*-
-			 * JDBC drivers are inconsistent in the way they handle generated keys.
-			 * MySQL returns a single column named "GENERATED_KEY". The column has the incorrect name, obviously.
-			 * Postgres returns a row of keys with the right names, but it returns more than just the generated ones.
-			 * So we do a hack: it it's just one column, assume it's the right one, else fetch the value
-			 * by column name.
-			 */
-
 			resultSet = state.getGeneratedKeys();
 
-			ResultSetMetaData meta = resultSet.getMetaData();
-			int colCount = meta.getColumnCount();
-
 			if (resultSet.next()) {
-				if (isMap) {
-					Map<String, Object> map = (Map<String, Object>) generatedKeyReceiver;
-					if (colCount == 1) {
-						map.put(generatedKeyNames[0], resultSet.getObject(1));
-					} else {
-						for (String generatedKeyName : generatedKeyNames) {
-							map.put(generatedKeyName, resultSet.getObject(generatedKeyName));
-						}
-					}
-
-				} else {
-
-					for (String generatedKeyName : generatedKeyNames) {
-						Property prop = pojoInfo.getProperty(generatedKeyName);
-						if (prop == null) {
-							throw new ImanitySqlException("Generated key name not found: " + generatedKeyName);
-						}
-
-						/*
-						 * getObject() below doesn't handle primitives correctly. Must convert to object
-						 * equivalent.
-						 */
-
-						Class<?> type = SQLUtil.wrap(prop.getDataType());
-
-						Object newKey;
-						if (colCount == 1) {
-							newKey = resultSet.getObject(1, type);
-						} else {
-							newKey = resultSet.getObject(prop.getName(), type);
-						}
-
-						pojoInfo.putValue(generatedKeyReceiver, prop.getName(), newKey);
-					}
-				}
+				readGeneratedKeys(resultSet, generatedKeyReceiver, generatedKeyNames);
 			}
 
 		} catch (SQLException | SecurityException | IllegalArgumentException e) {
@@ -511,6 +636,63 @@ public class Query {
 
 	}
 
+	@SuppressWarnings("unchecked")
+	private void readGeneratedKeys(ResultSet resultSet, Object generatedKeyReceiver, String[] generatedKeyNames) throws SQLException {
+		boolean isMap = Map.class.isAssignableFrom(generatedKeyReceiver.getClass());
+
+		PojoInfo pojoInfo = null;
+		if (!isMap) {
+			pojoInfo = sqlStatementBuilder.getPojoInfo(generatedKeyReceiver.getClass());
+		}
+
+		/*-
+		 * JDBC drivers are inconsistent in the way they handle generated keys.
+		 * MySQL returns a single column named "GENERATED_KEY". The column has the incorrect name, obviously.
+		 * Postgres returns a row of keys with the right names, but it returns more than just the generated ones.
+		 * So we do a hack: it it's just one column, assume it's the right one, else fetch the value
+		 * by column name.
+		 */
+
+		ResultSetMetaData meta = resultSet.getMetaData();
+		int colCount = meta.getColumnCount();
+
+		if (isMap) {
+			Map<String, Object> map = (Map<String, Object>) generatedKeyReceiver;
+			if (colCount == 1) {
+				map.put(generatedKeyNames[0], resultSet.getObject(1));
+			} else {
+				for (String generatedKeyName : generatedKeyNames) {
+					map.put(generatedKeyName, resultSet.getObject(generatedKeyName));
+				}
+			}
+
+		} else {
+
+			for (String generatedKeyName : generatedKeyNames) {
+				Property prop = pojoInfo.getProperty(generatedKeyName);
+				if (prop == null) {
+					throw new ImanitySqlException("Generated key name not found: " + generatedKeyName);
+				}
+
+				/*
+				 * getObject() below doesn't handle primitives correctly. Must convert to object
+				 * equivalent.
+				 */
+
+				Class<?> type = SQLUtil.wrap(prop.getDataType());
+
+				Object newKey;
+				if (colCount == 1) {
+					newKey = resultSet.getObject(1, type);
+				} else {
+					newKey = resultSet.getObject(prop.getName(), type);
+				}
+
+				pojoInfo.putValue(generatedKeyReceiver, prop.getName(), newKey);
+			}
+		}
+	}
+
 	// similar to Guava's Primitives.wrap
 
 	/**
@@ -557,13 +739,34 @@ public class Query {
 	 * .table() method and limit the rows to delete using the .where() method.
 	 */
 	public Query delete() {
+		return delete(null);
+	}
+
+	/**
+	 * Delete the rows matching the where conditions from the table of the row class,
+	 * unless another table has been given with .table(). The whereQuery() values are
+	 * converted the same way they are for a select of the row class.
+	 */
+	public Query delete(Class<?> rowClass) {
 		String table = getTable();
+		if (table == null && rowClass != null) {
+			table = sqlStatementBuilder.getPojoInfo(rowClass).getTable();
+		}
 		if (table == null) {
 			throw new ImanitySqlException("You must specify a table name with the table() method.");
 		}
 		sql = "delete from " + table;
 		if (where != null) {
 			sql += " where " + where;
+		} else if (!wheres.isEmpty()) {
+			StringBuilder buf = new StringBuilder(sql);
+			for (int i = 0; i < wheres.size(); i++) {
+				buf.append(i == 0 ? " where " : " and ");
+				buf.append(wheres.get(i).getProperty());
+				buf.append("=?");
+			}
+			sql = buf.toString();
+			args = sqlStatementBuilder.getSelectArgs(this, rowClass);
 		}
 		execute();
 		return this;
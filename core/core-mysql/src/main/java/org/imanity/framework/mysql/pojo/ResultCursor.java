@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.mysql.pojo;
+
+import org.imanity.framework.mysql.ImanitySqlException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A forward only cursor over the rows of a select query. Rows are mapped lazily while iterating, so only
+ * the rows fetched by the JDBC driver are held in memory at once.
+ * <p>
+ * The cursor closes itself once every row has been read, but it should be closed explicitly
+ * (try-with-resources) whenever the iteration could stop early. Closing the cursor also closes the
+ * statement and the connection it owns.
+ * </p>
+ */
+public class ResultCursor<T> implements Iterator<T>, AutoCloseable {
+
+	private final ResultSet resultSet;
+	private final RowMapper<T> rowMapper;
+	private final String sql;
+	private final List<AutoCloseable> resources;
+
+	private boolean fetched;
+	private boolean hasRow;
+	private boolean closed;
+
+	ResultCursor(ResultSet resultSet, RowMapper<T> rowMapper, String sql, AutoCloseable... resources) {
+		this.resultSet = resultSet;
+		this.rowMapper = rowMapper;
+		this.sql = sql;
+		this.resources = new ArrayList<>(Arrays.asList(resources));
+	}
+
+	/**
+	 * Register a resource that should be closed together with this cursor, for example
+	 * the {@link Transaction} the query is running in.
+	 */
+	public ResultCursor<T> onClose(AutoCloseable resource) {
+		this.resources.add(resource);
+		return this;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (this.closed) {
+			return false;
+		}
+
+		if (!this.fetched) {
+			try {
+				this.hasRow = this.resultSet.next();
+			} catch (SQLException e) {
+				throw this.fail(e);
+			}
+			this.fetched = true;
+
+			if (!this.hasRow) {
+				this.close();
+			}
+		}
+		return this.hasRow;
+	}
+
+	@Override
+	public T next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		this.fetched = false;
+
+		try {
+			return this.rowMapper.map(this.resultSet);
+		} catch (SQLException | ReflectiveOperationException | IllegalArgumentException | SecurityException e) {
+			throw this.fail(e);
+		}
+	}
+
+	/**
+	 * Returns a sequential stream over the remaining rows, closing the stream closes this cursor.
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+				.onClose(this::close);
+	}
+
+	@Override
+	public void close() {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+
+		close(this.resultSet);
+		for (AutoCloseable resource : this.resources) {
+			close(resource);
+		}
+	}
+
+	private ImanitySqlException fail(Exception e) {
+		this.close();
+
+		ImanitySqlException dbe = new ImanitySqlException(e);
+		dbe.setSql(this.sql);
+		return dbe;
+	}
+
+	private static void close(AutoCloseable ac) {
+		if (ac == null) {
+			return;
+		}
+		try {
+			ac.close();
+		} catch (Exception e) {
+			// bury it
+		}
+	}
+
+}
@@ -38,27 +38,19 @@ public class MySqlStatementBuilder extends StandardSqlStatementBuilder {
 
 	@Override
 	public Object[] getUpsertArgs(Query query, Object row) {
-		
-		// same args as insert, but we need to duplicate the values
-		Object [] args = super.getInsertArgs(query, row);
-		
-		int count = args.length;
-		
-		Object [] upsertArgs = new Object[count * 2];
-		System.arraycopy(args, 0, upsertArgs, 0, count);
-		System.arraycopy(args, 0, upsertArgs, count, count);
-		
-		return upsertArgs;
+		// same args as insert, the update clause refers to the inserted values
+		return super.getInsertArgs(query, row);
 	}
 	
 
 	@Override
 	public void makeUpsertSql(StandardPojoInfo pojoInfo) {
 
-		// INSERT INTO table (a,b,c) VALUES (1,2,3) ON DUPLICATE KEY UPDATE c=c+1;
+		// INSERT INTO table (a,b,c) VALUES (1,2,3) ON DUPLICATE KEY UPDATE a=VALUES(a),b=VALUES(b),c=VALUES(c);
 		
 		// mostly the same as the makeInsertSql code
-		// it uses the same column names and argcount
+		// it uses the same column names and argcount, and without any placeholder in the
+		// update clause Connector/J is able to rewrite a batch into a single multi row insert
 
 		StringBuilder buf = new StringBuilder();
 		buf.append(pojoInfo.getInsertSql());
@@ -72,7 +64,9 @@ public class MySqlStatementBuilder extends StandardSqlStatementBuilder {
 				buf.append(',');
 			}
 			buf.append(colName);
-			buf.append("=?");
+			buf.append("=values(");
+			buf.append(colName);
+			buf.append(')');
 		}
 		
 		pojoInfo.setUpsertSql(buf.toString());
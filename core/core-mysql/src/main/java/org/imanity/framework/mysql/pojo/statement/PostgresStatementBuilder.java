@@ -24,13 +24,70 @@
 
 package org.imanity.framework.mysql.pojo.statement;
 
+import org.imanity.framework.mysql.ImanitySqlException;
 import org.imanity.framework.mysql.pojo.Property;
+import org.imanity.framework.mysql.pojo.Query;
 import org.imanity.framework.mysql.pojo.info.StandardPojoInfo;
 
 import javax.persistence.Column;
 
 public class PostgresStatementBuilder extends StandardSqlStatementBuilder {
 
+	@Override
+	public String getUpsertSql(Query query, Object row) {
+		StandardPojoInfo pojoInfo = getPojoInfo(row.getClass());
+		if (pojoInfo.getUpsertSql() == null) {
+			throw new ImanitySqlException("No primary key specified in the row. Use the @Id annotation.");
+		}
+		return pojoInfo.getUpsertSql();
+	}
+
+	@Override
+	public Object[] getUpsertArgs(Query query, Object row) {
+		return super.getInsertArgs(query, row);
+	}
+
+	@Override
+	public void makeUpsertSql(StandardPojoInfo pojoInfo) {
+
+		// INSERT INTO table (a,b,c) VALUES (1,2,3) ON CONFLICT (a) DO UPDATE SET b=EXCLUDED.b,c=EXCLUDED.c;
+
+		// the conflict target has to be spelled out, so it's only possible with a primary key
+
+		if (pojoInfo.getPrimaryKeyName() == null) {
+			return;
+		}
+
+		StringBuilder buf = new StringBuilder();
+		buf.append(pojoInfo.getInsertSql());
+		buf.append(" on conflict (");
+		buf.append(pojoInfo.getPrimaryKeyName());
+		buf.append(")");
+
+		boolean first = true;
+		for (String colName: pojoInfo.getInsertColumnNames()) {
+			if (colName.equalsIgnoreCase(pojoInfo.getPrimaryKeyName())) {
+				continue;
+			}
+			if (first) {
+				buf.append(" do update set ");
+				first = false;
+			} else {
+				buf.append(',');
+			}
+			buf.append(colName);
+			buf.append("=excluded.");
+			buf.append(colName);
+		}
+
+		if (first) {
+			// every column is part of the key, nothing to update
+			buf.append(" do nothing");
+		}
+
+		pojoInfo.setUpsertSql(buf.toString());
+	}
+
 	@Override
 	public String getCreateTableSql(Class<?> clazz) {
 		
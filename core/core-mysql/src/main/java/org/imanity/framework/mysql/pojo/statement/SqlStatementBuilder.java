@@ -42,6 +42,7 @@ public interface SqlStatementBuilder {
 	public Object[] getUpsertArgs(Query query, Object row);
 	
 	public String getSelectSql(Query query, Class<?> rowClass);
+	public Object[] getSelectArgs(Query query, Class<?> rowClass);
 	public String getCreateTableSql(Class<?> clazz);
 	
 	public PojoInfo getPojoInfo(Class<?> rowClass);
@@ -36,7 +36,6 @@ import org.imanity.framework.mysql.util.SQLUtil;
 import javax.persistence.Column;
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -164,6 +163,7 @@ public class StandardSqlStatementBuilder implements SqlStatementBuilder {
 	}
 	
 	public void makeUpsertSql(StandardPojoInfo pojoInfo) {
+		// there is no standard upsert, see MySqlStatementBuilder and PostgresStatementBuilder
 	}
 
 	private void makeSelectColumns(StandardPojoInfo pojoInfo) {
@@ -192,26 +192,15 @@ public class StandardSqlStatementBuilder implements SqlStatementBuilder {
 		String where = query.getWhere();
 		if (where == null) {
 			if (query.getWheres().size() > 0) {
-				where = "";
-				Iterator<Where> iterator = query.getWheres().iterator();
-
-				while (iterator.hasNext()) {
-
-					Where whereObj = iterator.next();
-
-					Object value;
-					Property property = pojoInfo.getProperty(whereObj.getProperty());
-					if (property != null) {
-						value = pojoInfo.toReadableValue(property, whereObj.getValue());
-					} else {
-						value = whereObj.getValue().toString();
-					}
-
-					where += whereObj.getProperty() + "=\'" + value.toString() + "\'";
-					if (iterator.hasNext()) {
-						where += ",";
+				StringBuilder buf = new StringBuilder();
+				for (Where whereObj : query.getWheres()) {
+					if (buf.length() > 0) {
+						buf.append(" and ");
 					}
+					buf.append(whereObj.getProperty());
+					buf.append("=?");
 				}
+				where = buf.toString();
 			}
 		} else if (query.getWheres().size() > 0) {
 			LOGGER.error(new IllegalArgumentException("There is where statement specified but Where list also not empty!"));
@@ -236,9 +225,45 @@ public class StandardSqlStatementBuilder implements SqlStatementBuilder {
 			out.append(" order by ");
 			out.append(orderBy);
 		}
+		if (query.getLimit() > 0) {
+			appendLimit(out, query.getLimit());
+		}
 		return out.toString();
 	}
 
+	@Override
+	public Object[] getSelectArgs(Query query, Class<?> rowClass) {
+		if (query.getWhere() != null || query.getWheres().isEmpty()) {
+			return query.getArgs();
+		}
+
+		// the values are bound in the same order the where list got rendered by getSelectSql()
+		// without a row class, as for a plain table delete, only the fallback conversion applies
+		StandardPojoInfo pojoInfo = rowClass != null ? getPojoInfo(rowClass) : null;
+		Object[] args = new Object[query.getWheres().size()];
+		for (int i = 0; i < args.length; i++) {
+			Where whereObj = query.getWheres().get(i);
+
+			Object value = whereObj.getValue();
+			Property property = pojoInfo != null ? pojoInfo.getProperty(whereObj.getProperty()) : null;
+			if (property != null) {
+				value = pojoInfo.toReadableValue(property, value);
+			} else if (value != null && !SQLUtil.isPrimitiveOrString(value.getClass())) {
+				value = value.toString();
+			}
+			args[i] = value;
+		}
+		return args;
+	}
+
+	/**
+	 * Append the clause limiting the amount of returned rows, supported as is by MySql, Postgres, H2 and SQLite.
+	 */
+	protected void appendLimit(StringBuilder out, int limit) {
+		out.append(" limit ");
+		out.append(limit);
+	}
+
 
 	@Override
 	public String getCreateTableSql(Class<?> clazz) {
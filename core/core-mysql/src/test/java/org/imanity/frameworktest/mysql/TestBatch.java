@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.imanity.frameworktest.mysql;
+
+import org.imanity.framework.mysql.connection.file.H2ConnectionFactory;
+import org.junit.Test;
+
+import javax.persistence.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestBatch {
+
+	@Test
+	public void test() {
+
+		H2ConnectionFactory db = new H2ConnectionFactory(new File("./h2test").toPath().toAbsolutePath(), true);
+
+		db.query().sql("drop table if exists batchtest").execute();
+		db.query().sql("drop table if exists batchgenerated").execute();
+
+		db.createTable(Row.class);
+		db.createTable(Generated.class);
+
+		List<Row> rows = new ArrayList<>();
+		for (int i = 0; i < 1200; i++) {
+			Row row = new Row();
+			row.id = i;
+			row.name = "row" + i;
+			rows.add(row);
+		}
+
+		// insert
+		assertEquals(1200, db.query().batchSize(100).insertAll(rows).getRowsAffected());
+		assertEquals(1200, db.count(Row.class));
+
+		// upsert, existing rows are updated
+		for (Row row : rows) {
+			row.name = "updated" + row.id;
+		}
+		Row extra = new Row();
+		extra.id = 5000;
+		extra.name = "extra";
+		rows.add(extra);
+
+		db.upsertAll(rows);
+		assertEquals(1201, db.count(Row.class));
+		assertEquals("updated42", db.query().sql("select name from batchtest where id=?", 42).first(String.class));
+
+		// generated keys
+		List<Generated> generated = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			Generated value = new Generated();
+			value.name = "generated" + i;
+			generated.add(value);
+		}
+		db.insertAll(generated);
+		for (Generated value : generated) {
+			assertTrue(value.id > 0);
+		}
+
+	}
+
+	@Table(name="batchtest")
+	public static class Row {
+		@Id
+		public long id;
+		public String name;
+	}
+
+	@Table(name="batchgenerated")
+	public static class Generated {
+		@Id
+		@GeneratedValue
+		public long id;
+		public String name;
+	}
+
+}
@@ -28,11 +28,18 @@ import org.imanity.framework.mysql.connection.file.H2ConnectionFactory;
 import org.junit.Test;
 
 import javax.persistence.Column;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
 import javax.persistence.Table;
 import java.io.File;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 public class TestSelect {
@@ -75,6 +82,60 @@ public class TestSelect {
 		
 	}
 	
+	@Test
+	public void where() {
+
+		H2ConnectionFactory db = new H2ConnectionFactory(new File("./h2test").toPath().toAbsolutePath(), true);
+
+		db.query().sql("drop table if exists selectwheretest").execute();
+
+		db.createTable(IdRow.class);
+
+		String[] names = {"bob", "alice", "o'brien"};
+		for (int i = 0; i < names.length; i++) {
+			IdRow row = new IdRow();
+			row.id = i;
+			row.name = names[i];
+			db.insert(row);
+		}
+
+		// multiple conditions are bound, not inlined
+		assertEquals("1alice", db.query().whereQuery("id", 1).whereQuery("name", "alice").first(IdRow.class).toString());
+		assertNull(db.query().whereQuery("id", 1).whereQuery("name", "bob").first(IdRow.class));
+		assertEquals("2o'brien", db.query().whereQuery("name", "o'brien").first(IdRow.class).toString());
+
+		// ids
+		List<IdRow> rows = db.query().byMultipleIds(IdRow.class, Arrays.asList(0L, 2L)).orderBy("id").results(IdRow.class);
+		assertEquals(2, rows.size());
+		assertEquals("0bob", rows.get(0).toString());
+		assertEquals("2o'brien", rows.get(1).toString());
+
+	}
+
+	@Test
+	public void deleteWhere() {
+
+		H2ConnectionFactory db = new H2ConnectionFactory(new File("./h2test").toPath().toAbsolutePath(), true);
+
+		db.query().sql("drop table if exists selectdeletetest").execute();
+
+		db.createTable(EnumRow.class);
+
+		Colour[] colours = {Colour.RED, Colour.BLUE, Colour.BLUE};
+		for (int i = 0; i < colours.length; i++) {
+			EnumRow row = new EnumRow();
+			row.id = i;
+			row.colour = colours[i];
+			db.insert(row);
+		}
+
+		// the ordinal is bound for the condition, as it is when the rows got written
+		assertEquals(2, db.query().whereQuery("colour", Colour.BLUE).delete(EnumRow.class).getRowsAffected());
+		assertEquals((Long) 1L, db.query().sql("select count(*) from selectdeletetest").first(Long.class));
+		assertEquals((Long) 0L, db.query().sql("select id from selectdeletetest").first(Long.class));
+
+	}
+
 	@Table(name="selecttest")
 	public static class Row {
 		@Column(unique=true)
@@ -85,4 +146,26 @@ public class TestSelect {
 		}
 	}
 
+	public enum Colour {
+		RED, BLUE
+	}
+
+	@Table(name="selectdeletetest")
+	public static class EnumRow {
+		@Id
+		public long id;
+		@Enumerated(EnumType.ORDINAL)
+		public Colour colour;
+	}
+
+	@Table(name="selectwheretest")
+	public static class IdRow {
+		@Id
+		public long id;
+		public String name;
+		public String toString() {
+			return id + name;
+		}
+	}
+
 }
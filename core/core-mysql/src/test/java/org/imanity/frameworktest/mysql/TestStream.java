@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.imanity.frameworktest.mysql;
+
+import org.imanity.framework.mysql.connection.file.H2ConnectionFactory;
+import org.imanity.framework.mysql.pojo.ResultCursor;
+import org.junit.Test;
+
+import javax.persistence.Column;
+import javax.persistence.Table;
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class TestStream {
+
+	@Test
+	public void test() {
+
+		H2ConnectionFactory db = new H2ConnectionFactory(new File("./h2test").toPath().toAbsolutePath(), true);
+
+		db.query().sql("drop table if exists streamtest").execute();
+
+		db.createTable(Row.class);
+
+		for (int i = 0; i < 100; i++) {
+			Row row = new Row();
+			row.id = i;
+			row.name = "row" + i;
+			db.insert(row);
+		}
+
+		// cursor
+		int count = 0;
+		try (ResultCursor<Row> cursor = db.query().orderBy("id").fetchSize(10).cursor(Row.class)) {
+			while (cursor.hasNext()) {
+				Row row = cursor.next();
+				assertEquals(count++, row.id);
+			}
+		}
+		assertEquals(100, count);
+
+		// stream
+		long sum = db.query().stream(Row.class).mapToLong(row -> row.id).sum();
+		assertEquals(4950, sum);
+
+		// limit
+		assertEquals(10, db.query().orderBy("id").limit(10).results(Row.class).size());
+
+		// exists
+		assertTrue(db.query().where("id=?", 42).exists(Row.class));
+		assertFalse(db.query().where("id=?", 420).exists(Row.class));
+
+	}
+
+	@Table(name="streamtest")
+	public static class Row {
+		@Column(unique=true)
+		public long id;
+		public String name;
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework;
+
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link Repository} whose operations can also be performed off the calling thread through {@link RepositoryExecutor}
+ */
+public interface AsyncRepository<T, ID extends Serializable> extends Repository<T, ID> {
+
+    default CompletableFuture<Optional<T>> findByIdAsync(ID id) {
+        return RepositoryExecutor.supply(() -> this.findById(id));
+    }
+
+    default <Q> CompletableFuture<Optional<T>> findByQueryAsync(String query, Q value) {
+        return RepositoryExecutor.supply(() -> this.findByQuery(query, value));
+    }
+
+    default <S extends T> CompletableFuture<S> saveAsync(S pojo) {
+        return RepositoryExecutor.supply(() -> this.save(pojo));
+    }
+
+    default <S extends T> CompletableFuture<Iterable<S>> saveAllAsync(Iterable<S> pojoIterable) {
+        return RepositoryExecutor.supply(() -> this.saveAll(pojoIterable));
+    }
+
+    default CompletableFuture<Void> deleteByIdAsync(ID id) {
+        return RepositoryExecutor.run(() -> this.deleteById(id));
+    }
+
+}
@@ -32,9 +32,10 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Getter
-public abstract class ConfigurableRepository<T, ID extends Serializable> implements Repository<T, ID> {
+public abstract class ConfigurableRepository<T, ID extends Serializable> implements AsyncRepository<T, ID> {
 
     private Repository<T, ID> repository;
     private BeanDetails serviceDetails;
@@ -125,6 +126,11 @@ public abstract class ConfigurableRepository<T, ID extends Serializable> impleme
         return this.repository.findAll();
     }
 
+    @Override
+    public Stream<T> streamAll() {
+        return this.repository.streamAll();
+    }
+
     @Override
     public Iterable<T> findAllById(List<ID> ids) {
         return this.repository.findAllById(ids);
@@ -36,7 +36,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-public abstract class MongoRepository<T, ID extends Serializable> implements Repository<T, ID> {
+public abstract class MongoRepository<T, ID extends Serializable> implements AsyncRepository<T, ID> {
 
     @Autowired
     private static MongoService MONGO_SERVICE;
@@ -27,6 +27,8 @@ package org.imanity.framework;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @DisallowAnnotation(value = PreInitialize.class)
 @ServiceDependency(dependencies = {"mongo", "sql"})
@@ -43,6 +45,10 @@ public interface Repository<T, ID extends Serializable> {
         return pojoIterable;
     }
 
+    default <S extends T> Iterable<S> upsertAll(Iterable<S> pojoIterable) {
+        return this.saveAll(pojoIterable);
+    }
+
     Optional<T> findById(ID id);
 
     <Q> Optional<T> findByQuery(String query, Q value);
@@ -51,6 +57,15 @@ public interface Repository<T, ID extends Serializable> {
 
     Iterable<T> findAll();
 
+    /**
+     * Stream every entity, implementations may read lazily and hold a connection until the stream is closed
+     *
+     * @return the stream, to be closed once done with it
+     */
+    default Stream<T> streamAll() {
+        return StreamSupport.stream(this.findAll().spliterator(), false);
+    }
+
     Iterable<T> findAllById(List<ID> ids);
 
     long count();
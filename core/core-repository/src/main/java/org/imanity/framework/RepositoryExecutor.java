@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The executor backing {@link AsyncRepository}
+ *
+ * It's sized like the default connection pool so no more queries are in flight than there are connections to serve them.
+ * Queries submitted once the queue is full or after {@link #shutdown(long, TimeUnit)} are never run on the submitting thread,
+ * which is often the main thread, their future completes exceptionally with a {@link RejectedExecutionException} instead
+ */
+public final class RepositoryExecutor {
+
+    public static final int POOL_SIZE = Integer.getInteger("imanity.repository.threads", 10);
+    public static final int QUEUE_CAPACITY = Integer.getInteger("imanity.repository.queue", POOL_SIZE * 64);
+
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                POOL_SIZE,
+                POOL_SIZE,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    final Thread thread = new Thread(runnable);
+                    thread.setName("Imanity Repository Worker " + THREAD_ID.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    throw new RejectedExecutionException(pool.isShutdown()
+                            ? "The repository executor has been shut down"
+                            : "The repository executor queue is full (" + QUEUE_CAPACITY + " queries)");
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, EXECUTOR);
+        } catch (RejectedExecutionException ex) {
+            return RepositoryExecutor.rejected(ex);
+        }
+    }
+
+    public static CompletableFuture<Void> run(Runnable runnable) {
+        try {
+            return CompletableFuture.runAsync(runnable, EXECUTOR);
+        } catch (RejectedExecutionException ex) {
+            return RepositoryExecutor.rejected(ex);
+        }
+    }
+
+    private static <T> CompletableFuture<T> rejected(RejectedExecutionException ex) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(ex);
+        return future;
+    }
+
+    public static int getQueuedTasks() {
+        return EXECUTOR.getQueue().size();
+    }
+
+    /**
+     * Called by the framework on shutdown, queued queries still run but anything submitted afterwards is rejected
+     *
+     * @return false if queries were still running once the timeout elapsed
+     */
+    public static boolean shutdown(long timeout, TimeUnit unit) {
+        EXECUTOR.shutdown();
+        try {
+            return EXECUTOR.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private RepositoryExecutor() {
+    }
+
+}
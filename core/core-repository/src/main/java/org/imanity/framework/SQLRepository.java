@@ -27,6 +27,7 @@ package org.imanity.framework;
 import org.imanity.framework.mysql.SqlService;
 import org.imanity.framework.mysql.Session;
 import org.imanity.framework.mysql.connection.AbstractConnectionFactory;
+import org.imanity.framework.mysql.pojo.ResultCursor;
 import org.imanity.framework.mysql.pojo.Transaction;
 
 import java.io.Serializable;
@@ -35,8 +36,9 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
-public abstract class SQLRepository<T, ID extends Serializable> implements Repository<T, ID> {
+public abstract class SQLRepository<T, ID extends Serializable> implements AsyncRepository<T, ID> {
 
     private RepositoryType type;
     private AbstractConnectionFactory factory;
@@ -109,6 +111,20 @@ public abstract class SQLRepository<T, ID extends Serializable> implements Repos
         return pojo;
     }
 
+    @Override
+    public <S extends T> Iterable<S> saveAll(Iterable<S> pojoIterable) {
+        return this.upsertAll(pojoIterable);
+    }
+
+    /**
+     * Upsert every pojo in a single transaction, the rows are sent to the database in JDBC batches.
+     */
+    @Override
+    public <S extends T> Iterable<S> upsertAll(Iterable<S> pojoIterable) {
+        this.performSession(session -> session.upsertAll(pojoIterable));
+        return pojoIterable;
+    }
+
     @Override
     public Optional<T> findById(ID id) {
         return Optional.ofNullable(this.performSessionResult(session -> session.find(this.type(), id)));
@@ -121,7 +137,8 @@ public abstract class SQLRepository<T, ID extends Serializable> implements Repos
 
     @Override
     public boolean existsById(ID id) {
-        return this.performSessionResult(session -> session.find(this.type(), id) != null);
+        Boolean exists = this.performSessionResult(session -> session.exists(this.type(), id));
+        return exists != null && exists;
     }
 
     @Override
@@ -129,6 +146,37 @@ public abstract class SQLRepository<T, ID extends Serializable> implements Repos
         return this.performSessionResult(session -> session.results(this.type()));
     }
 
+    /**
+     * Stream every row through a {@link #cursor()}, the stream must be closed to release its connection.
+     */
+    @Override
+    public Stream<T> streamAll() {
+        return this.cursor().stream();
+    }
+
+    /**
+     * Open a forward only cursor over every row in its own transaction, the transaction is committed once the
+     * cursor has been closed.
+     *
+     * @return the cursor
+     */
+    public ResultCursor<T> cursor() {
+        if (this.factory == null) {
+            throw new IllegalArgumentException("Attempt to perform action before repository initialized!");
+        }
+
+        Transaction transaction = this.factory.startTransaction();
+        try {
+            return this.factory.session(transaction)
+                    .query()
+                    .cursor(this.type())
+                    .onClose(transaction);
+        } catch (Throwable throwable) {
+            transaction.rollback();
+            throw throwable;
+        }
+    }
+
     @Override
     public Iterable<T> findAllById(List<ID> ids) {
         return this.performSessionResult(session -> session.query().byMultipleIds(this.type(), ids).results(this.type()));
@@ -148,12 +196,12 @@ public abstract class SQLRepository<T, ID extends Serializable> implements Repos
     public <Q> void deleteByQuery(String queryName, Q value) {
         this.performSession(session -> session.query()
                 .whereQuery(queryName, value)
-                .delete());
+                .delete(this.type()));
     }
 
     @Override
     public void deleteAll() {
-        this.performSession(session -> session.query().delete());
+        this.performSession(session -> session.query().delete(this.type()));
     }
 
 
@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.frameworktest;
+
+import org.imanity.framework.AsyncRepository;
+import org.imanity.framework.RepositoryExecutor;
+import org.imanity.framework.mysql.connection.file.H2ConnectionFactory;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.persistence.Column;
+import javax.persistence.Table;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * The executor is static and can be shut down only once, so the shutdown test runs last
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class RepositoryExecutorTest {
+
+    static {
+        System.setProperty("imanity.repository.threads", "2");
+        System.setProperty("imanity.repository.queue", "4");
+    }
+
+    private static RowRepository repository;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        H2ConnectionFactory db = new H2ConnectionFactory(Files.createTempDirectory("imanity").resolve("h2test").toAbsolutePath(), true);
+        db.query().sql("drop table if exists repositorytest").execute();
+
+        repository = new RowRepository(db);
+        repository.init();
+    }
+
+    @Test
+    public void executeOnWorkers() throws Exception {
+        Row row = new Row();
+        row.id = 1;
+        row.name = "async";
+
+        assertSame(row, repository.saveAsync(row).get(5, TimeUnit.SECONDS));
+        assertEquals("async", repository.findByIdAsync(1L).get(5, TimeUnit.SECONDS).get().name);
+
+        repository.deleteByIdAsync(1L).get(5, TimeUnit.SECONDS);
+        assertFalse(repository.findByIdAsync(1L).get(5, TimeUnit.SECONDS).isPresent());
+
+        Thread worker = RepositoryExecutor.supply(Thread::currentThread).get(5, TimeUnit.SECONDS);
+        assertNotSame(Thread.currentThread(), worker);
+    }
+
+    @Test
+    public void rejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(RepositoryExecutor.POOL_SIZE);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+        try {
+            // Block every worker first, then fill the queue
+            for (int i = 0; i < RepositoryExecutor.POOL_SIZE; i++) {
+                futures.add(RepositoryExecutor.supply(() -> {
+                    started.countDown();
+                    awaitUninterruptibly(release);
+                    return repository.count();
+                }));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < RepositoryExecutor.QUEUE_CAPACITY; i++) {
+                futures.add(RepositoryExecutor.supply(repository::count));
+            }
+
+            Thread caller = Thread.currentThread();
+            CompletableFuture<Boolean> rejected = RepositoryExecutor.supply(() -> Thread.currentThread() == caller);
+
+            assertTrue(rejected.isCompletedExceptionally());
+            try {
+                rejected.join();
+                fail();
+            } catch (CompletionException ex) {
+                assertTrue(ex.getCause() instanceof RejectedExecutionException);
+            }
+        } finally {
+            release.countDown();
+        }
+
+        for (CompletableFuture<Long> future : futures) {
+            assertEquals(Long.valueOf(0L), future.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void shutdownDrainsQueue() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Row>> saves = new ArrayList<>();
+
+        RepositoryExecutor.run(() -> {
+            started.countDown();
+            awaitUninterruptibly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < RepositoryExecutor.QUEUE_CAPACITY; i++) {
+            Row row = new Row();
+            row.id = 100 + i;
+            row.name = "queued" + i;
+            saves.add(repository.saveAsync(row));
+        }
+
+        release.countDown();
+        assertTrue(RepositoryExecutor.shutdown(5, TimeUnit.SECONDS));
+
+        for (CompletableFuture<Row> save : saves) {
+            assertTrue(save.isDone());
+            save.join();
+        }
+        assertEquals(RepositoryExecutor.QUEUE_CAPACITY, repository.count());
+
+        CompletableFuture<Long> afterShutdown = repository.findByIdAsync(100L).thenApply(row -> row.get().id);
+        assertTrue(afterShutdown.isCompletedExceptionally());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Table(name = "repositorytest")
+    public static class Row {
+        @Column(unique = true)
+        public long id;
+        public String name;
+    }
+
+    private static class RowRepository implements AsyncRepository<Row, Long> {
+
+        private final H2ConnectionFactory db;
+
+        private RowRepository(H2ConnectionFactory db) {
+            this.db = db;
+        }
+
+        @Override
+        public void init() {
+            this.db.createTable(Row.class);
+        }
+
+        @Override
+        public Class<Row> type() {
+            return Row.class;
+        }
+
+        @Override
+        public <S extends Row> S save(S pojo) {
+            this.db.upsert(pojo);
+            return pojo;
+        }
+
+        @Override
+        public Optional<Row> findById(Long id) {
+            return this.findByQuery("id", id);
+        }
+
+        @Override
+        public <Q> Optional<Row> findByQuery(String query, Q value) {
+            return Optional.ofNullable(this.db.query().where(query + "=?", value).first(Row.class));
+        }
+
+        @Override
+        public boolean existsById(Long id) {
+            return this.db.query().where("id=?", id).exists(Row.class);
+        }
+
+        @Override
+        public Iterable<Row> findAll() {
+            return this.db.results(Row.class);
+        }
+
+        @Override
+        public Iterable<Row> findAllById(List<Long> ids) {
+            List<Row> rows = new ArrayList<>();
+            for (Long id : ids) {
+                this.findById(id).ifPresent(rows::add);
+            }
+            return rows;
+        }
+
+        @Override
+        public long count() {
+            return this.db.count(Row.class);
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            this.deleteByQuery("id", id);
+        }
+
+        @Override
+        public <Q> void deleteByQuery(String query, Q value) {
+            this.db.query().where(query + "=?", value).delete(Row.class);
+        }
+
+        @Override
+        public void deleteAll() {
+            this.db.query().delete(Row.class);
+        }
+
+    }
+
+}
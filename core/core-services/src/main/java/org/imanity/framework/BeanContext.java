@@ -32,6 +32,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.imanity.framework.details.*;
 import org.imanity.framework.exception.ServiceAlreadyExistsException;
+import org.imanity.framework.index.BeanIndex;
 import org.imanity.framework.plugin.AbstractPlugin;
 import org.imanity.framework.plugin.PluginListenerAdapter;
 import org.imanity.framework.plugin.PluginManager;
@@ -46,12 +47,19 @@ import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class BeanContext {
 
     public static boolean SHOW_LOGS = false;
 
+    /**
+     * Construct and pre initialize independent beans concurrently,
+     * only safe when no bean touches main thread only api in those stages
+     */
+    public static boolean PARALLEL_INITIALIZATION = false;
+
     public static BeanContext INSTANCE;
 
     protected static final Logger LOGGER = LogManager.getLogger(BeanContext.class);
@@ -63,6 +71,7 @@ public class BeanContext {
 
     private final Map<Class<?>, BeanDetails> beanByType = new ConcurrentHashMap<>();
     private final Map<String, BeanDetails> beanByName = new ConcurrentHashMap<>();
+    private final Map<AbstractPlugin, Set<BeanDetails>> beansByPlugin = new ConcurrentHashMap<>();
 
     /**
      * NOT THREAD SAFE
@@ -102,29 +111,20 @@ public class BeanContext {
     }
 
     public Collection<BeanDetails> findDetailsBindWith(AbstractPlugin plugin) {
-        return this.beanByType.values()
-                .stream()
-                .filter(beanDetails -> beanDetails.isBind() && beanDetails.getBindPlugin().equals(plugin))
-                .collect(Collectors.toList());
+        Set<BeanDetails> beans = plugin != null ? this.beansByPlugin.get(plugin) : null;
+        if (beans == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(beans);
     }
 
     @SneakyThrows
     public void injectBeans(Object instance) {
-        Collection<Field> fields = Reflect.getDeclaredFields(instance.getClass());
-
-        for (Field field : fields) {
-            int modifiers = field.getModifiers();
-            Autowired annotation = field.getAnnotation(Autowired.class);
-
-            if (annotation == null || Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
-                continue;
-            }
-
+        for (BeanClassAccessor.AutowiredField field : BeanClassAccessor.of(instance.getClass()).getAutowiredFields()) {
             Object service = this.getBean(field.getType());
 
             if (service != null) {
-                AccessUtil.setAccessible(field);
-                Reflect.setField(instance, field, service);
+                field.getSetter().invokeExact(instance, service);
             } else {
                 throw new IllegalArgumentException("Couldn't find bean " + field.getType().getName() + " !");
             }
@@ -144,8 +144,8 @@ public class BeanContext {
         }
 
         ComponentBeanDetails details = new ComponentBeanDetails(type, instance, name, componentHolder);
-        this.registerBean(details);
         this.attemptBindPlugin(details);
+        this.registerBean(details);
 
         details.call(PreInitialize.class);
 //        this.injectBeans(instance); // put into BeanContext
@@ -171,13 +171,28 @@ public class BeanContext {
 
         log("Start scanning beans for " + scanName + " with packages [" + String.join(" ", classPaths) + "]...");
 
-        ReflectLookup reflectLookup = new ReflectLookup(Collections.singleton(classLoader), classPaths);
-        log("Finish build Reflect Lookup instance with in " + (System.currentTimeMillis() - start) + "ms");
+        Collection<Class<?>> serviceTypes;
+        Collection<Class<?>> componentTypes;
+        Collection<Field> staticFields;
+
+        BeanIndex beanIndex = BeanIndex.load(classLoader);
+        if (beanIndex != null) {
+            serviceTypes = beanIndex.findAnnotatedClasses(Service.class, classPaths);
+            componentTypes = beanIndex.findAnnotatedClasses(Component.class, classPaths);
+            staticFields = beanIndex.findAutowiredStaticFields(classPaths);
+            log("Finish reading bean index within " + (System.currentTimeMillis() - start) + "ms");
+        } else {
+            ReflectLookup reflectLookup = new ReflectLookup(Collections.singleton(classLoader), classPaths);
+            serviceTypes = reflectLookup.findAnnotatedClasses(Service.class);
+            componentTypes = reflectLookup.findAnnotatedClasses(Component.class);
+            staticFields = reflectLookup.findAnnotatedStaticFields(Autowired.class);
+            log("Finish build Reflect Lookup instance with in " + (System.currentTimeMillis() - start) + "ms");
+        }
         start = System.currentTimeMillis();
 
         List<BeanDetails> beanDetailsList = new ArrayList<>(Arrays.asList(included));
 
-        for (Class<?> type : reflectLookup.findAnnotatedClasses(Service.class)) {
+        for (Class<?> type : serviceTypes) {
 
             Service service = type.getAnnotation(Service.class);
             Preconditions.checkNotNull(service, "The type " + type.getName() + " doesn't have @Service annotation!");
@@ -201,7 +216,10 @@ public class BeanContext {
         log("Finish scanning beans within " + (System.currentTimeMillis() - start) + "ms");
         start = System.currentTimeMillis();
 
-        beanDetailsList = this.loadInOrder(beanDetailsList);
+        List<List<BeanDetails>> levels = this.loadInOrder(beanDetailsList);
+        beanDetailsList = levels.stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
         log("Finish initialize beans in order within " + (System.currentTimeMillis() - start) + "ms");
         start = System.currentTimeMillis();
 
@@ -220,11 +238,13 @@ public class BeanContext {
         log("Unregistered shouldn't initialized beans within " + (System.currentTimeMillis() - start) + "ms");
         start = System.currentTimeMillis();
 
-        this.call(PreInitialize.class, beanDetailsList);
+        for (List<BeanDetails> level : levels) {
+            this.forEachInLevel(level, this::callPreInitialize);
+        }
         log("Finish pre enable beans within " + (System.currentTimeMillis() - start) + "ms");
         start = System.currentTimeMillis();
 
-        beanDetailsList.addAll(ComponentRegistry.scanComponents(this, reflectLookup));
+        beanDetailsList.addAll(ComponentRegistry.scanComponents(this, componentTypes));
         log("Finish scanning component " + (System.currentTimeMillis() - start) + "ms");
         start = System.currentTimeMillis();
 
@@ -237,7 +257,7 @@ public class BeanContext {
         log("Finish injecting beans within " + (System.currentTimeMillis() - start) + "ms");
         start = System.currentTimeMillis();
 
-        for (Field field : reflectLookup.findAnnotatedStaticFields(Autowired.class)) {
+        for (Field field : staticFields) {
             if (!Modifier.isStatic(field.getModifiers())) {
                 continue;
             }
@@ -344,7 +364,12 @@ public class BeanContext {
         }
     }
 
-    private List<BeanDetails> loadInOrder(List<BeanDetails> beanDetailsList) {
+    @SneakyThrows
+    private void callPreInitialize(BeanDetails beanDetails) {
+        beanDetails.call(PreInitialize.class);
+    }
+
+    private List<List<BeanDetails>> loadInOrder(List<BeanDetails> beanDetailsList) {
         Map<String, BeanDetails> unloaded = new HashMap<>();
         for (BeanDetails beanDetails : beanDetailsList) {
             unloaded.put(beanDetails.getName(), beanDetails);
@@ -389,43 +414,64 @@ public class BeanContext {
             }
         }
 
-        // Continually loop until all dependency found and loaded
-        List<BeanDetails> sorted = new ArrayList<>();
+        // Build level by level, a bean only depends on beans of the levels before its own
+        List<List<BeanDetails>> levels = new ArrayList<>();
 
         while (!unloaded.isEmpty()) {
-            Iterator<Map.Entry<String, BeanDetails>> iterator = unloaded.entrySet().iterator();
+            List<BeanDetails> level = new ArrayList<>();
+            Iterator<BeanDetails> iterator = unloaded.values().iterator();
 
             while (iterator.hasNext()) {
-                Map.Entry<String, BeanDetails> entry = iterator.next();
-                BeanDetails beanDetails = entry.getValue();
-                boolean missingDependencies = true;
+                BeanDetails beanDetails = iterator.next();
 
-                if (!(beanDetails instanceof ServiceBeanDetails) || !((ServiceBeanDetails) beanDetails).hasDependencies()) {
-                    missingDependencies = false;
-                } else {
-                    List<String> list = Lists.newArrayList(((ServiceBeanDetails) beanDetails).getDependencies());
-                    list.removeIf(dependency -> {
-                        BeanDetails dependencyDetails = this.getBeanByName(dependency);
-                        return dependencyDetails != null && dependencyDetails.getInstance() != null;
-                    });
-
-                    if (list.isEmpty()) {
-                        missingDependencies = false;
-                    }
+                if (!this.isMissingDependencies(beanDetails)) {
+                    level.add(beanDetails);
+                    iterator.remove();
                 }
+            }
 
-                if (!missingDependencies) {
-                    if (beanDetails instanceof ServiceBeanDetails) {
-                        ((ServiceBeanDetails) beanDetails).build(this);
-                    }
+            if (level.isEmpty()) {
+                for (BeanDetails beanDetails : unloaded.values()) {
+                    LOGGER.error("Couldn't resolve the dependencies " + ((ServiceBeanDetails) beanDetails).getDependencies() + " for " + beanDetails.getName() + "!");
+                    this.unregisterBean(beanDetails);
+                }
+                break;
+            }
 
-                    sorted.add(beanDetails);
-                    iterator.remove();
+            this.forEachInLevel(level, beanDetails -> {
+                if (beanDetails instanceof ServiceBeanDetails) {
+                    ((ServiceBeanDetails) beanDetails).build(this);
                 }
+            });
+            levels.add(level);
+        }
+
+        return levels;
+    }
+
+    private boolean isMissingDependencies(BeanDetails beanDetails) {
+        if (!(beanDetails instanceof ServiceBeanDetails) || !((ServiceBeanDetails) beanDetails).hasDependencies()) {
+            return false;
+        }
+
+        for (String dependency : ((ServiceBeanDetails) beanDetails).getDependencies()) {
+            BeanDetails dependencyDetails = this.getBeanByName(dependency);
+            if (dependencyDetails == null || dependencyDetails.getInstance() == null) {
+                return true;
             }
         }
+        return false;
+    }
 
-        return sorted;
+    /**
+     * Beans of the same level are independent, so they are handled concurrently when {@link #PARALLEL_INITIALIZATION} is on.
+     */
+    private void forEachInLevel(List<BeanDetails> level, Consumer<BeanDetails> action) {
+        if (PARALLEL_INITIALIZATION && level.size() > 1) {
+            level.parallelStream().forEach(action);
+        } else {
+            level.forEach(action);
+        }
     }
 
     public BeanDetails registerBean(BeanDetails beanDetails) {
@@ -435,6 +481,9 @@ public class BeanContext {
     public BeanDetails registerBean(BeanDetails beanDetails, boolean sort) {
         this.beanByType.put(beanDetails.getType(), beanDetails);
         this.beanByName.put(beanDetails.getName(), beanDetails);
+        if (beanDetails.isBind()) {
+            this.beansByPlugin.computeIfAbsent(beanDetails.getBindPlugin(), plugin -> ConcurrentHashMap.newKeySet()).add(beanDetails);
+        }
         if (sort) {
             this.sortedBeans.add(beanDetails);
         }
@@ -454,6 +503,12 @@ public class BeanContext {
     public void unregisterBean(@NonNull BeanDetails beanDetails) {
         this.beanByType.remove(beanDetails.getType());
         this.beanByName.remove(beanDetails.getName());
+        if (beanDetails.isBind()) {
+            this.beansByPlugin.computeIfPresent(beanDetails.getBindPlugin(), (plugin, beans) -> {
+                beans.remove(beanDetails);
+                return beans.isEmpty() ? null : beans;
+            });
+        }
 
         this.lock.writeLock().lock();
         this.sortedBeans.remove(beanDetails);
@@ -31,6 +31,7 @@ import org.imanity.framework.util.entry.Entry;
 import org.imanity.framework.util.entry.EntryArrayList;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class ComponentRegistry {
@@ -74,9 +75,13 @@ public class ComponentRegistry {
     }
 
     public static List<ComponentBeanDetails> scanComponents(BeanContext beanContext, ReflectLookup reflectLookup) {
+        return scanComponents(beanContext, reflectLookup.findAnnotatedClasses(Component.class));
+    }
+
+    public static List<ComponentBeanDetails> scanComponents(BeanContext beanContext, Collection<Class<?>> types) {
         List<ComponentBeanDetails> components = new ArrayList<>();
 
-        for (Class<?> type : reflectLookup.findAnnotatedClasses(Component.class)) {
+        for (Class<?> type : types) {
             try {
                 ComponentHolder componentHolder = ComponentRegistry.getComponentHolder(type);
                 Object instance = componentHolder.newInstance(type);
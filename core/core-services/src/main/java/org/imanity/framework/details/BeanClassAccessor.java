@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.details;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.imanity.framework.*;
+import org.imanity.framework.reflect.Reflect;
+import org.imanity.framework.util.AccessUtil;
+import org.imanity.framework.util.Utility;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * The lifecycle methods and autowired fields of a bean class, resolved into method handles once per class
+ */
+@Getter
+public class BeanClassAccessor {
+
+    private static final Class<? extends Annotation>[] ANNOTATIONS = new Class[] {
+            PreInitialize.class, PostInitialize.class,
+            PreDestroy.class, PostDestroy.class,
+            ShouldInitialize.class
+    };
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, BeanDetails.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle[] NO_INVOKERS = new MethodHandle[0];
+
+    private static final ClassValue<BeanClassAccessor> ACCESSORS = new ClassValue<BeanClassAccessor>() {
+        @Override
+        protected BeanClassAccessor computeValue(Class<?> type) {
+            return new BeanClassAccessor(type);
+        }
+    };
+
+    public static BeanClassAccessor of(Class<?> type) {
+        return ACCESSORS.get(type);
+    }
+
+    private final Class<?> type;
+    private final Map<Class<? extends Annotation>, String> disallowAnnotations;
+    private final Map<Class<? extends Annotation>, Collection<Method>> annotatedMethods;
+    private final AutowiredField[] autowiredFields;
+
+    /**
+     * Every handle is adapted to {@code (Object instance, BeanDetails details) -> Object}
+     */
+    private final Map<Class<? extends Annotation>, MethodHandle[]> invokers;
+
+    private BeanClassAccessor(Class<?> type) {
+        this.type = type;
+
+        Collection<Class<?>> superClasses = Utility.getSuperAndInterfaces(type);
+        Map<Class<? extends Annotation>, String> disallowAnnotations = new HashMap<>();
+        for (Class<?> superClass : superClasses) {
+            DisallowAnnotation disallowAnnotation = superClass.getAnnotation(DisallowAnnotation.class);
+            if (disallowAnnotation != null) {
+                for (Class<? extends Annotation> annotation : disallowAnnotation.value()) {
+                    disallowAnnotations.put(annotation, superClass.getName());
+                }
+            }
+        }
+        this.disallowAnnotations = Collections.unmodifiableMap(disallowAnnotations);
+
+        Map<Class<? extends Annotation>, Collection<Method>> annotatedMethods = new HashMap<>();
+        Map<Class<? extends Annotation>, MethodHandle[]> invokers = new HashMap<>();
+        for (Class<?> superClass : superClasses) {
+            if (superClass.isInterface()) {
+                continue;
+            }
+
+            for (Method method : superClass.getDeclaredMethods()) {
+                Class<? extends Annotation> annotation = this.findAnnotation(method);
+                if (annotation == null) {
+                    continue;
+                }
+
+                annotatedMethods.computeIfAbsent(annotation, ignored -> new ArrayList<>()).add(method);
+
+                MethodHandle[] handles = invokers.getOrDefault(annotation, NO_INVOKERS);
+                handles = Arrays.copyOf(handles, handles.length + 1);
+                handles[handles.length - 1] = invoker(method);
+                invokers.put(annotation, handles);
+            }
+        }
+        annotatedMethods.replaceAll((annotation, methods) -> Collections.unmodifiableList((List<Method>) methods));
+        this.annotatedMethods = Collections.unmodifiableMap(annotatedMethods);
+        this.invokers = invokers;
+
+        List<AutowiredField> autowiredFields = new ArrayList<>();
+        for (Field field : Reflect.getDeclaredFields(type)) {
+            int modifiers = field.getModifiers();
+            if (field.getAnnotation(Autowired.class) == null || Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+                continue;
+            }
+
+            autowiredFields.add(new AutowiredField(field.getType(), setter(field)));
+        }
+        this.autowiredFields = autowiredFields.toArray(new AutowiredField[0]);
+    }
+
+    public MethodHandle[] getInvokers(Class<? extends Annotation> annotation) {
+        return this.invokers.getOrDefault(annotation, NO_INVOKERS);
+    }
+
+    private Class<? extends Annotation> findAnnotation(Method method) {
+        for (Class<? extends Annotation> annotation : ANNOTATIONS) {
+            if (method.getAnnotation(annotation) == null) {
+                continue;
+            }
+
+            if (this.disallowAnnotations.containsKey(annotation)) {
+                String className = this.disallowAnnotations.get(annotation);
+                throw new IllegalArgumentException("The annotation " + annotation.getSimpleName() + " is disallowed by class " + className + ", But it used in method " + method.toString());
+            }
+
+            int parameterCount = method.getParameterCount();
+            if (parameterCount > 0) {
+                if (parameterCount != 1 || !BeanDetails.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                    throw new IllegalArgumentException("The method " + method.toString() + " used annotation " + annotation.getSimpleName() + " but doesn't have matches parameters! you can only use either no parameter or one parameter with ServerData type on annotated " + annotation.getSimpleName() + "!");
+                }
+            }
+
+            if (annotation == ShouldInitialize.class && method.getReturnType() != boolean.class) {
+                throw new IllegalArgumentException("The method " + method.toString() + " used annotation " + annotation.getSimpleName() + " but doesn't have matches return type! you can only use boolean as return type on annotated " + annotation.getSimpleName() + "!");
+            }
+            return annotation;
+        }
+        return null;
+    }
+
+    @SneakyThrows
+    private static MethodHandle invoker(Method method) {
+        method.setAccessible(true);
+
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+        if (method.getParameterCount() == 0) {
+            handle = MethodHandles.dropArguments(handle, 1, BeanDetails.class);
+        }
+        return handle.asType(INVOKER_TYPE);
+    }
+
+    @SneakyThrows
+    private static MethodHandle setter(Field field) {
+        AccessUtil.setAccessible(field);
+
+        return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class AutowiredField {
+
+        private final Class<?> type;
+
+        /**
+         * {@code (Object instance, Object value) -> void}
+         */
+        private final MethodHandle setter;
+
+    }
+
+}
@@ -28,32 +28,26 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
-import lombok.SneakyThrows;
 import org.imanity.framework.*;
 import org.imanity.framework.plugin.AbstractPlugin;
-import org.imanity.framework.util.Utility;
 import org.jetbrains.annotations.Nullable;
 
 @Getter
 @Setter
 public class GenericBeanDetails implements BeanDetails {
 
-    private static final Class<? extends Annotation>[] ANNOTATIONS = new Class[] {
-            PreInitialize.class, PostInitialize.class,
-            PreDestroy.class, PostDestroy.class,
-            ShouldInitialize.class
-    };
-
     private String name;
 
     private ActivationStage stage;
     private Map<Class<? extends Annotation>, String> disallowAnnotations;
     private Map<Class<? extends Annotation>, Collection<Method>> annotatedMethods;
+    private BeanClassAccessor accessor;
 
     private AbstractPlugin plugin;
 
@@ -88,71 +82,15 @@ public class GenericBeanDetails implements BeanDetails {
         this.loadAnnotations();
     }
 
-    @SneakyThrows
     public void loadAnnotations() {
-        this.annotatedMethods = new HashMap<>();
-        this.disallowAnnotations = new HashMap<>();
-
-        this.loadAnnotations(Utility.getSuperAndInterfaces(this.type));
-    }
-
-    public void loadAnnotations(Collection<Class<?>> superClasses) {
-        for (Class<?> type : superClasses) {
-            DisallowAnnotation disallowAnnotation = type.getAnnotation(DisallowAnnotation.class);
-            if (disallowAnnotation != null) {
-                for (Class<? extends Annotation> annotation : disallowAnnotation.value()) {
-                    this.disallowAnnotations.put(annotation, type.getName());
-                }
-            }
-        }
-
-        for (Class<?> type : superClasses) {
-            if (type.isInterface()) {
-                continue;
-            }
-
-            for (Method method : type.getDeclaredMethods()) {
-                this.loadMethod(method);
-            }
-        }
-    }
-
-    public void loadMethod(Method method) {
-        for (Class<? extends Annotation> annotation : ANNOTATIONS) {
-            if (method.getAnnotation(annotation) != null) {
-                if (this.disallowAnnotations.containsKey(annotation)) {
-                    String className = this.disallowAnnotations.get(annotation);
-                    throw new IllegalArgumentException("The annotation " + annotation.getSimpleName() + " is disallowed by class " + className + ", But it used in method " + method.toString());
-                }
-
-                int parameterCount = method.getParameterCount();
-                if (parameterCount > 0) {
-                    if (parameterCount != 1 || !BeanDetails.class.isAssignableFrom(method.getParameterTypes()[0])) {
-                        throw new IllegalArgumentException("The method " + method.toString() + " used annotation " + annotation.getSimpleName() + " but doesn't have matches parameters! you can only use either no parameter or one parameter with ServerData type on annotated " + annotation.getSimpleName() + "!");
-                    }
-                }
-
-                if (annotation == ShouldInitialize.class && method.getReturnType() != boolean.class) {
-                    throw new IllegalArgumentException("The method " + method.toString() + " used annotation " + annotation.getSimpleName() + " but doesn't have matches return type! you can only use boolean as return type on annotated " + annotation.getSimpleName() + "!");
-                }
-                method.setAccessible(true);
-
-                if (this.annotatedMethods.containsKey(annotation)) {
-                    this.annotatedMethods.get(annotation).add(method);
-                } else {
-                    List<Method> methods = new LinkedList<>();
-                    methods.add(method);
-
-                    this.annotatedMethods.put(annotation, methods);
-                }
-                break;
-            }
-        }
+        this.accessor = BeanClassAccessor.of(this.type);
+        this.disallowAnnotations = this.accessor.getDisallowAnnotations();
+        this.annotatedMethods = this.accessor.getAnnotatedMethods();
     }
 
     @Override
     public boolean shouldInitialize() throws InvocationTargetException, IllegalAccessException  {
-        if (this.annotatedMethods == null) {
+        if (this.accessor == null) {
             return true;
         }
 
@@ -160,19 +98,9 @@ public class GenericBeanDetails implements BeanDetails {
             throw new NullPointerException("The Instance of bean details for " + this.type.getName() + " is null.");
         }
 
-        if (this.annotatedMethods.containsKey(ShouldInitialize.class)) {
-            for (Method method : this.annotatedMethods.get(ShouldInitialize.class)) {
-                boolean result;
-
-                if (method.getParameterCount() == 1) {
-                    result = (boolean) method.invoke(instance, this);
-                } else {
-                    result = (boolean) method.invoke(instance);
-                }
-
-                if (!result) {
-                    return false;
-                }
+        for (MethodHandle invoker : this.accessor.getInvokers(ShouldInitialize.class)) {
+            if (!(boolean) this.invoke(invoker)) {
+                return false;
             }
         }
 
@@ -185,19 +113,21 @@ public class GenericBeanDetails implements BeanDetails {
             throw new NullPointerException("The Instance of bean details for " + this.type.getName() + " is null.");
         }
 
-        if (this.annotatedMethods.containsKey(annotation)) {
-            for (Method method : this.annotatedMethods.get(annotation)) {
-                if (method.getParameterCount() == 1) {
-                    method.invoke(instance, this);
-                } else {
-                    method.invoke(instance);
-                }
-            }
+        for (MethodHandle invoker : this.accessor.getInvokers(annotation)) {
+            this.invoke(invoker);
         }
 
         this.changeStage(annotation);
     }
 
+    private Object invoke(MethodHandle invoker) throws InvocationTargetException {
+        try {
+            return invoker.invokeExact(this.instance, (BeanDetails) this);
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        }
+    }
+
     private void changeStage(Class<? extends Annotation> annotation) {
         if (annotation == PreInitialize.class) {
             this.stage = ActivationStage.PRE_INIT_CALLED;
@@ -31,9 +31,9 @@ import org.imanity.framework.BeanContext;
 import org.imanity.framework.ServiceDependency;
 import org.imanity.framework.details.constructor.BeanConstructorDetails;
 import org.imanity.framework.details.constructor.GenericBeanConstructorDetails;
+import org.imanity.framework.util.Utility;
 
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Set;
 
 @Getter
@@ -72,10 +72,10 @@ public class ServiceBeanDetails extends GenericBeanDetails {
     }
 
     @Override
-    public void loadAnnotations(Collection<Class<?>> superClasses) {
-        super.loadAnnotations(superClasses);
+    public void loadAnnotations() {
+        super.loadAnnotations();
 
-        for (Class<?> type : superClasses) {
+        for (Class<?> type : Utility.getSuperAndInterfaces(this.getType())) {
             ServiceDependency dependencyAnnotation = type.getAnnotation(ServiceDependency.class);
             if (dependencyAnnotation != null) {
                 dependencies.addAll(Arrays.asList(dependencyAnnotation.dependencies()));
@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.index;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.imanity.framework.Autowired;
+import org.imanity.framework.Component;
+import org.imanity.framework.PostInitialize;
+import org.imanity.framework.PreInitialize;
+import org.imanity.framework.Service;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * The bean sites of a class loader, read from the {@link #LOCATION} files generated by {@link BeanIndexProcessor}.
+ */
+public class BeanIndex {
+
+    public static final String LOCATION = "META-INF/imanity/beans.idx";
+
+    private final ClassLoader classLoader;
+    private final Map<Kind, List<String[]>> entries = new EnumMap<>(Kind.class);
+
+    private BeanIndex(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Load the index of the class loader.
+     *
+     * @return the index, or null if the class loader itself doesn't ship one and the classpath has to be scanned
+     */
+    @Nullable
+    public static BeanIndex load(ClassLoader classLoader) throws IOException {
+        List<URL> resources = Collections.list(classLoader.getResources(LOCATION));
+        if (resources.isEmpty()) {
+            return null;
+        }
+
+        ClassLoader parent = classLoader.getParent();
+        if (parent != null && resources.size() == Collections.list(parent.getResources(LOCATION)).size()) {
+            // Everything came from the parent, this loader has been compiled without the processor
+            return null;
+        }
+
+        BeanIndex index = new BeanIndex(classLoader);
+        for (URL resource : resources) {
+            index.read(resource);
+        }
+        return index;
+    }
+
+    private void read(URL resource) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split(" ");
+                Kind kind = Kind.byKey(parts[0]);
+                if (kind == null || parts.length < 2) {
+                    continue;
+                }
+
+                this.entries.computeIfAbsent(kind, ignored -> new ArrayList<>()).add(parts);
+            }
+        }
+    }
+
+    public Set<Class<?>> findAnnotatedClasses(Class<? extends Annotation> annotation, Collection<String> classPaths) {
+        Kind kind = Kind.byAnnotation(annotation.getName());
+        if (kind == null) {
+            throw new IllegalArgumentException("The annotation " + annotation.getName() + " isn't indexed!");
+        }
+
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (String[] entry : this.entries.getOrDefault(kind, Collections.emptyList())) {
+            if (!matches(entry[1], classPaths)) {
+                continue;
+            }
+
+            Class<?> type = this.loadClass(entry[1]);
+            if (type != null) {
+                classes.add(type);
+            }
+        }
+        return classes;
+    }
+
+    public Set<Field> findAutowiredStaticFields(Collection<String> classPaths) {
+        Set<Field> fields = new LinkedHashSet<>();
+        for (String[] entry : this.entries.getOrDefault(Kind.AUTOWIRED, Collections.emptyList())) {
+            if (entry.length < 3 || !matches(entry[1], classPaths)) {
+                continue;
+            }
+
+            Class<?> type = this.loadClass(entry[1]);
+            if (type == null) {
+                continue;
+            }
+
+            try {
+                fields.add(type.getDeclaredField(entry[2]));
+            } catch (NoSuchFieldException ex) {
+                throw new IllegalStateException("The bean index is out of date, field " + entry[2] + " of " + entry[1] + " doesn't exist!", ex);
+            }
+        }
+        return fields;
+    }
+
+    @Nullable
+    private Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, false, this.classLoader);
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return null;
+        }
+    }
+
+    private static boolean matches(String name, Collection<String> classPaths) {
+        for (String classPath : classPaths) {
+            if (name.startsWith(classPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Kind {
+
+        SERVICE("service", Service.class.getName()),
+        COMPONENT("component", Component.class.getName()),
+        PRE_INITIALIZE("pre-initialize", PreInitialize.class.getName()),
+        POST_INITIALIZE("post-initialize", PostInitialize.class.getName()),
+        AUTOWIRED("autowired", Autowired.class.getName());
+
+        private final String key;
+        private final String annotation;
+
+        @Nullable
+        public static Kind byKey(String key) {
+            for (Kind kind : values()) {
+                if (kind.key.equals(key)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        public static Kind byAnnotation(String annotation) {
+            for (Kind kind : values()) {
+                if (kind.annotation.equals(annotation)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes {@link BeanIndex#LOCATION} at compile time so {@link org.imanity.framework.BeanContext}
+ * can discover beans without scanning the classpath.
+ *
+ * Picked up automatically by javac from the core-services jar.
+ */
+@SupportedAnnotationTypes({
+        "org.imanity.framework.Service",
+        "org.imanity.framework.Component",
+        "org.imanity.framework.PreInitialize",
+        "org.imanity.framework.PostInitialize",
+        "org.imanity.framework.Autowired"
+})
+public class BeanIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> entries = new TreeSet<>();
+    private final Set<String> compiledTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement) {
+                this.compiledTypes.add(this.binaryName((TypeElement) element));
+            }
+        }
+
+        for (TypeElement annotation : annotations) {
+            BeanIndex.Kind kind = BeanIndex.Kind.byAnnotation(annotation.getQualifiedName().toString());
+            if (kind == null) {
+                continue;
+            }
+
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                this.index(kind, element);
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            this.write();
+        }
+        return false;
+    }
+
+    private void index(BeanIndex.Kind kind, Element element) {
+        switch (kind) {
+            case SERVICE:
+            case COMPONENT:
+                if (element.getKind() == ElementKind.CLASS && !element.getModifiers().contains(Modifier.ABSTRACT)) {
+                    this.entries.add(kind.getKey() + " " + this.binaryName((TypeElement) element));
+                }
+                break;
+            case PRE_INITIALIZE:
+            case POST_INITIALIZE:
+                this.entries.add(kind.getKey() + " " + this.binaryName((TypeElement) element.getEnclosingElement()));
+                break;
+            case AUTOWIRED:
+                // Instance fields are injected through the bean itself, only static sites need indexing
+                if (element.getModifiers().contains(Modifier.STATIC)) {
+                    this.entries.add(kind.getKey() + " " + this.binaryName((TypeElement) element.getEnclosingElement()) + " " + element.getSimpleName());
+                }
+                break;
+        }
+    }
+
+    private void write() {
+        Set<String> lines = new TreeSet<>(this.entries);
+        this.readPrevious(lines);
+
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", BeanIndex.LOCATION);
+            try (Writer writer = file.openWriter()) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException ex) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + BeanIndex.LOCATION + ": " + ex);
+        }
+    }
+
+    /**
+     * Incremental builds only hand us the changed sources, so keep the entries of every type that
+     * wasn't recompiled this time and still exists.
+     */
+    private void readPrevious(Set<String> lines) {
+        try {
+            FileObject file = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", BeanIndex.LOCATION);
+            try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] parts = line.split(" ");
+                    if (parts.length < 2 || BeanIndex.Kind.byKey(parts[0]) == null) {
+                        continue;
+                    }
+
+                    String type = parts[1];
+                    if (this.isRecompiled(type)) {
+                        continue;
+                    }
+
+                    if (this.processingEnv.getElementUtils().getTypeElement(type.replace('$', '.')) != null) {
+                        lines.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignored) {
+            // No previous index
+        }
+    }
+
+    private boolean isRecompiled(String type) {
+        int nested = type.indexOf('$');
+        return this.compiledTypes.contains(nested == -1 ? type : type.substring(0, nested));
+    }
+
+    private String binaryName(TypeElement element) {
+        return this.processingEnv.getElementUtils().getBinaryName(element).toString();
+    }
+
+}
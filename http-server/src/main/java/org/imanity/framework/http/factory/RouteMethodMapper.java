@@ -24,7 +24,6 @@
 
 package org.imanity.framework.http.factory;
 
-import com.google.common.collect.Sets;
 import io.netty.handler.codec.http.HttpMethod;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -34,16 +33,15 @@ import org.imanity.framework.http.RestController;
 import org.imanity.framework.http.annotation.GetMapping;
 import org.imanity.framework.http.annotation.PostMapping;
 import org.imanity.framework.http.entity.MethodDetail;
-import org.imanity.framework.util.entry.Entry;
 
 import java.lang.reflect.Method;
-import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.HashMap;
+import java.util.Map;
 
 public class RouteMethodMapper {
 
-    private static final Set<Entry<Pattern, MethodMapping>> GET_MAPPINGS = Sets.newConcurrentHashSet();
-    private static final Set<Entry<Pattern, MethodMapping>> POST_MAPPINGS = Sets.newConcurrentHashSet();
+    private static final RouteTree GET_ROUTES = new RouteTree();
+    private static final RouteTree POST_ROUTES = new RouteTree();
 
     public static void preInit() {
         ComponentRegistry.registerComponentHolder(new ComponentHolder() {
@@ -62,17 +60,13 @@ public class RouteMethodMapper {
                     GetMapping getAnnotation = method.getAnnotation(GetMapping.class);
                     if (getAnnotation != null) {
                         String url = baseUrl + getAnnotation.value();
-                        String formattedUrl = formatUrl(url);
-                        MethodMapping mapping = new MethodMapping(instance, method, url);
-                        GET_MAPPINGS.add(new Entry<>(Pattern.compile(formattedUrl), mapping));
+                        GET_ROUTES.register(url, new MethodMapping(instance, method, url));
                     }
 
                     PostMapping postAnnotation = method.getAnnotation(PostMapping.class);
                     if (postAnnotation != null) {
                         String url = baseUrl + postAnnotation.value();
-                        String formattedUrl = formatUrl(url);
-                        MethodMapping mapping = new MethodMapping(instance, method, url);
-                        POST_MAPPINGS.add(new Entry<>(Pattern.compile(formattedUrl), mapping));
+                        POST_ROUTES.register(url, new MethodMapping(instance, method, url));
                     }
                 }
                 return instance;
@@ -81,23 +75,24 @@ public class RouteMethodMapper {
     }
 
     public static MethodDetail getMethodDetail(String requestPath, HttpMethod httpMethod) {
-        MethodDetail methodDetail = new MethodDetail();
+        RouteTree routes;
         if (httpMethod == HttpMethod.GET) {
-            methodDetail.build(requestPath, GET_MAPPINGS);
-            return methodDetail;
+            routes = GET_ROUTES;
+        } else if (httpMethod == HttpMethod.POST) {
+            routes = POST_ROUTES;
+        } else {
+            return null;
         }
 
-        if (httpMethod == HttpMethod.POST) {
-            methodDetail.build(requestPath, POST_MAPPINGS);
-            return methodDetail;
+        MethodDetail methodDetail = new MethodDetail();
+        Map<String, String> urlParameterMappings = new HashMap<>();
+        MethodMapping mapping = routes.match(requestPath, urlParameterMappings);
+        if (mapping != null) {
+            methodDetail.setInstance(mapping.getInstance());
+            methodDetail.setMethod(mapping.getMethod());
+            methodDetail.setUrlParameterMappings(urlParameterMappings);
         }
-        return null;
-    }
-
-    private static String formatUrl(String url) {
-        String originPattern = url.replaceAll("(\\{\\w+})", "[\\\\u4e00-\\\\u9fa5_a-zA-Z0-9]+");
-        String pattern = "^" + originPattern + "/?$";
-        return pattern.replaceAll("/+", "/");
+        return methodDetail;
     }
 
     @AllArgsConstructor
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.framework.http.factory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prefix tree of path segments, static segments are matched before {variable} captures
+ * and a lookup walks the request path once without any regex
+ */
+public class RouteTree {
+
+    private final Node root = new Node();
+
+    public synchronized void register(String url, RouteMethodMapper.MethodMapping mapping) {
+        Node node = this.root;
+        List<String> variableNames = new ArrayList<>();
+
+        for (String segment : url.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+
+            if (isVariable(segment)) {
+                variableNames.add(segment.substring(1, segment.length() - 1));
+                if (node.variable == null) {
+                    node.variable = new Node();
+                }
+                node = node.variable;
+            } else {
+                node = node.children.computeIfAbsent(segment, ignored -> new Node());
+            }
+        }
+
+        RouteMethodMapper.MethodMapping existing = node.mapping;
+        if (existing != null) {
+            throw new IllegalArgumentException("The route " + url + " of " + mapping.getMethod() + " is ambiguous with " + existing.getUrl() + " of " + existing.getMethod() + "!");
+        }
+
+        node.variableNames = variableNames.toArray(new String[0]);
+        node.mapping = mapping;
+    }
+
+    /**
+     * Find the mapping of the request path and put the captured path variables into variables
+     *
+     * @return the mapping, or null if no route matches
+     */
+    public RouteMethodMapper.MethodMapping match(String path, Map<String, String> variables) {
+        List<String> captures = new ArrayList<>(4);
+        Node node = this.find(this.root, path, 0, captures);
+        if (node == null) {
+            return null;
+        }
+
+        String[] variableNames = node.variableNames;
+        for (int i = 0; i < variableNames.length; i++) {
+            variables.put(variableNames[i], captures.get(i));
+        }
+        return node.mapping;
+    }
+
+    private Node find(Node node, String path, int index, List<String> captures) {
+        final int length = path.length();
+        while (index < length && path.charAt(index) == '/') {
+            index++;
+        }
+
+        if (index == length) {
+            return node.mapping != null ? node : null;
+        }
+
+        int end = path.indexOf('/', index);
+        if (end == -1) {
+            end = length;
+        }
+        String segment = path.substring(index, end);
+
+        Node child = node.children.get(segment);
+        if (child != null) {
+            Node found = this.find(child, path, end, captures);
+            if (found != null) {
+                return found;
+            }
+        }
+
+        Node variable = node.variable;
+        if (variable != null && isCapturable(segment)) {
+            captures.add(segment);
+            Node found = this.find(variable, path, end, captures);
+            if (found != null) {
+                return found;
+            }
+            captures.remove(captures.size() - 1);
+        }
+        return null;
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+    }
+
+    // Same characters the previous route regex accepted for a path variable, CJK ideographs, letters, digits and underscore
+    private static boolean isCapturable(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || (c >= '\u4e00' && c <= '\u9fa5')) {
+                continue;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+        private volatile Node variable;
+        private volatile RouteMethodMapper.MethodMapping mapping;
+        private String[] variableNames;
+
+    }
+
+}
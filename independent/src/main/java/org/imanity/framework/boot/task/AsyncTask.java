@@ -22,22 +22,39 @@
  * SOFTWARE.
  */
 
+
 package org.imanity.framework.boot.task;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Getter
 public class AsyncTask {
 
     private final int id;
 
+    // nanoseconds since the scheduler started
     @Setter
-    private volatile long next;
+    private volatile long deadline;
+    // nanoseconds, 0 for a one shot task
     private final long period;
 
     private final Runnable runnable;
 
+    @Setter
+    private volatile boolean cancelled;
+
+    // wheel bookkeeping, only touched by the timer thread
+    long remainingRounds;
+    AsyncTask previous;
+    AsyncTask next;
+    AsyncTaskScheduler.Bucket bucket;
+
+    public AsyncTask(int id, long deadline, long period, Runnable runnable) {
+        this(id, period, runnable);
+        this.deadline = deadline;
+    }
+
 }
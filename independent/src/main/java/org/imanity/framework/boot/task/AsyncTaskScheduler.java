@@ -22,61 +22,111 @@
  * SOFTWARE.
  */
 
+
 package org.imanity.framework.boot.task;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.imanity.framework.task.ITaskScheduler;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Queue;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Hashed timing wheel, the timer thread only moves tasks between buckets and hands
+ * due tasks to a fixed worker pool, so schedule and cancel are O(1) and a slow task
+ * doesn't hold back the other timers.
+ *
+ * The timer thread never runs a task nor waits for a worker. Back-pressure is applied when
+ * immediate tasks are submitted instead, see {@link #AsyncTaskScheduler(long, TimeUnit, int, int, int)}.
+ *
+ * Delays and periods are still in ticks of 50 milliseconds like the rest of {@link ITaskScheduler},
+ * the wheel itself can run at a finer resolution.
+ */
 public class AsyncTaskScheduler implements ITaskScheduler {
 
+    private static final Logger LOGGER = LogManager.getLogger(AsyncTaskScheduler.class);
+
+    public static final long TICK_MILLIS = 50L;
+
     private final AtomicInteger id = new AtomicInteger(0);
     private final ConcurrentHashMap<Integer, AsyncTask> tasks = new ConcurrentHashMap<>();
-    private final AtomicBoolean changed = new AtomicBoolean(false);
 
-    private final Queue<AsyncTask> pending = new ArrayDeque<>();
-    private final List<AsyncTask> temp = new ArrayList<>();
+    // Handed over to the timer thread, which is the only one touching the wheel
+    private final Queue<AsyncTask> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<AsyncTask> cancellations = new ConcurrentLinkedQueue<>();
 
-    private final ScheduledExecutorService executorService;
+    private final long resolution;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+    private long currentTick;
+
+    private final Thread timerThread;
+    private final ThreadPoolExecutor workers;
+    private final Semaphore submissions;
+    private final ThreadLocal<Boolean> workerThread = new ThreadLocal<>();
+    private volatile boolean running = true;
 
     public AsyncTaskScheduler() {
-        this.executorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
-                .setDaemon(true)
-                .setNameFormat("Task Scheduler Thread")
-                .build()
-        );
-        this.executorService.scheduleAtFixedRate(() -> {
+        this(10L, TimeUnit.MILLISECONDS, 512, Math.max(2, Runtime.getRuntime().availableProcessors()), 4096);
+    }
 
-            if (this.changed.get()) {
-                this.parsePending();
-            }
+    /**
+     * @param resolution the duration of one wheel tick
+     * @param wheelSize the amount of buckets, rounded up to a power of two
+     * @param workerThreads the amount of threads running the tasks
+     * @param queueCapacity the amount of immediate tasks submitted from outside the workers which may wait for a worker,
+     *                      submitting another one blocks the caller until a waiting task got picked up
+     */
+    public AsyncTaskScheduler(long resolution, TimeUnit unit, int wheelSize, int workerThreads, int queueCapacity) {
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("The resolution must be positive!");
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("The wheel size must be between 1 and 2^30!");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("The queue capacity must be positive!");
+        }
 
-            AsyncTask task;
-            while ((task = this.pending.poll()) != null) {
-                task.setNext(task.getNext() - 1);
-                if (task.getNext() == 0) {
-                    task.getRunnable().run();
-
-                    if (task.getPeriod() < 1) {
-                        this.tasks.remove(task.getId());
-                    } else {
-                        task.setNext(task.getPeriod());
-                        this.temp.add(task);
-                    }
-                }
-            }
+        this.resolution = unit.toNanos(resolution);
 
-            this.pending.addAll(this.temp);
-            this.temp.clear();
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
 
-        }, 50L, 50L, TimeUnit.MILLISECONDS);
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("Task Scheduler Worker - %d")
+                .build();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads,
+                60L, TimeUnit.SECONDS,
+                // unbounded, so handing a due task over never blocks the timer thread
+                new LinkedBlockingQueue<>(),
+                runnable -> threadFactory.newThread(() -> {
+                    this.workerThread.set(Boolean.TRUE);
+                    runnable.run();
+                })
+        );
+        this.submissions = new Semaphore(queueCapacity);
+
+        this.startTime = System.nanoTime();
+        this.timerThread = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("Task Scheduler Thread")
+                .build()
+                .newThread(this::runTimer);
+        this.timerThread.start();
     }
 
     @Override
@@ -119,37 +169,190 @@ public class AsyncTaskScheduler implements ITaskScheduler {
         return this.runAsyncRepeated(runnable, delay, time);
     }
 
-    private void parsePending() {
-        this.pending.clear();
-        this.pending.addAll(this.tasks.values());
-    }
-
     public int handle(long period, Runnable runnable) {
         return this.handle(period, period, runnable);
     }
 
     public int handle(long next, long period, Runnable runnable) {
         int id = this.id.getAndIncrement();
-        this.tasks.put(id, new AsyncTask(id, next, period, runnable));
-        this.changed.set(true);
+        long periodNanos = period > 0 ? TimeUnit.MILLISECONDS.toNanos(period * TICK_MILLIS) : 0L;
+        long deadline = this.now() + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, next) * TICK_MILLIS);
 
+        AsyncTask task = new AsyncTask(id, deadline, periodNanos, runnable);
+        this.tasks.put(id, task);
+
+        if (next <= 0) {
+            this.submit(task);
+        } else {
+            this.additions.add(task);
+        }
         return id;
     }
 
+    private void submit(AsyncTask task) {
+        // tasks submitting tasks could otherwise wait on each other with every worker blocked
+        if (this.workerThread.get() != null) {
+            this.workers.execute(() -> this.execute(task));
+            return;
+        }
+
+        this.submissions.acquireUninterruptibly();
+        try {
+            this.workers.execute(() -> {
+                this.submissions.release();
+                this.execute(task);
+            });
+        } catch (RejectedExecutionException ex) {
+            this.submissions.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void cancel(int taskId) {
+        AsyncTask task = this.tasks.remove(taskId);
+        if (task != null) {
+            task.setCancelled(true);
+            this.cancellations.add(task);
+        }
+    }
+
     public void shutdown() {
-        this.executorService.shutdown();
-        while (!this.executorService.isTerminated()) {
+        this.running = false;
+        LockSupport.unpark(this.timerThread);
+        try {
+            this.timerThread.join(TimeUnit.SECONDS.toMillis(30L));
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+
+        this.workers.shutdown();
+        while (!this.workers.isTerminated()) {
             try {
-                this.executorService.awaitTermination(30L, TimeUnit.SECONDS);
+                this.workers.awaitTermination(30L, TimeUnit.SECONDS);
             } catch (InterruptedException e) {
                 e.printStackTrace();
             }
         }
     }
 
-    @Override
-    public void cancel(int taskId) {
-        this.tasks.remove(taskId);
-        this.changed.set(true);
+    private long now() {
+        return System.nanoTime() - this.startTime;
+    }
+
+    private void runTimer() {
+        while (this.running) {
+            long sleep = this.resolution * (this.currentTick + 1) - this.now();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+
+            this.processCancellations();
+            this.transferAdditions();
+
+            Bucket bucket = this.wheel[(int) (this.currentTick & this.mask)];
+            bucket.expire();
+            this.currentTick++;
+        }
+    }
+
+    private void processCancellations() {
+        AsyncTask task;
+        while ((task = this.cancellations.poll()) != null) {
+            if (task.bucket != null) {
+                task.bucket.remove(task);
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        AsyncTask task;
+        while ((task = this.additions.poll()) != null) {
+            if (task.isCancelled()) {
+                continue;
+            }
+
+            // round up so a task never runs before its deadline, a late task goes into the current bucket
+            long tick = Math.max(this.currentTick, (task.getDeadline() + this.resolution - 1) / this.resolution);
+            task.remainingRounds = (tick - this.currentTick) / this.wheel.length;
+            this.wheel[(int) (tick & this.mask)].add(task);
+        }
+    }
+
+    private void execute(AsyncTask task) {
+        if (task.isCancelled()) {
+            return;
+        }
+
+        try {
+            task.getRunnable().run();
+        } catch (Throwable throwable) {
+            LOGGER.error("Something wrong while running task " + task.getId(), throwable);
+        }
+
+        if (task.getPeriod() > 0 && !task.isCancelled() && this.running) {
+            // fixed rate, but a task which fell behind doesn't burst to catch up
+            task.setDeadline(Math.max(task.getDeadline() + task.getPeriod(), this.now()));
+            this.additions.add(task);
+        } else {
+            this.tasks.remove(task.getId(), task);
+        }
+    }
+
+    final class Bucket {
+
+        private AsyncTask head;
+        private AsyncTask tail;
+
+        void add(AsyncTask task) {
+            task.bucket = this;
+            if (this.head == null) {
+                this.head = this.tail = task;
+            } else {
+                this.tail.next = task;
+                task.previous = this.tail;
+                this.tail = task;
+            }
+        }
+
+        void remove(AsyncTask task) {
+            AsyncTask next = task.next;
+            if (task.previous != null) {
+                task.previous.next = next;
+            }
+            if (task.next != null) {
+                task.next.previous = task.previous;
+            }
+
+            if (task == this.head) {
+                this.head = next;
+            }
+            if (task == this.tail) {
+                this.tail = task.previous;
+            }
+
+            task.previous = null;
+            task.next = null;
+            task.bucket = null;
+        }
+
+        void expire() {
+            AsyncTask task = this.head;
+            while (task != null) {
+                AsyncTask next = task.next;
+                if (task.isCancelled()) {
+                    this.remove(task);
+                } else if (task.remainingRounds <= 0) {
+                    final AsyncTask expired = task;
+                    this.remove(expired);
+                    workers.execute(() -> execute(expired));
+                } else {
+                    task.remainingRounds--;
+                }
+                task = next;
+            }
+        }
+
     }
 }
@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Imanity
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.imanity.frameworktest.task;
+
+import org.imanity.framework.boot.task.AsyncTaskScheduler;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class AsyncTaskSchedulerTest {
+
+    private AsyncTaskScheduler scheduler;
+
+    @After
+    public void shutdown() {
+        if (this.scheduler != null) {
+            this.scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void runAsyncOnWorker() throws InterruptedException {
+        this.scheduler = new AsyncTaskScheduler();
+
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.runAsync(() -> {
+            thread.set(Thread.currentThread());
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(1L, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), thread.get());
+    }
+
+    @Test
+    public void runAfterSeveralRounds() throws InterruptedException {
+        // 4 buckets of 10ms, a delay of 4 ticks takes 5 rounds of the wheel
+        this.scheduler = new AsyncTaskScheduler(10L, TimeUnit.MILLISECONDS, 4, 2, 16);
+
+        AtomicLong ranAt = new AtomicLong();
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        this.scheduler.runAsyncScheduled(() -> {
+            ranAt.set(System.nanoTime());
+            latch.countDown();
+        }, 4L);
+
+        assertTrue(latch.await(2L, TimeUnit.SECONDS));
+        assertTrue(ranAt.get() - start >= TimeUnit.MILLISECONDS.toNanos(4L * AsyncTaskScheduler.TICK_MILLIS));
+    }
+
+    @Test
+    public void cancelScheduledTask() throws InterruptedException {
+        this.scheduler = new AsyncTaskScheduler(10L, TimeUnit.MILLISECONDS, 4, 2, 16);
+
+        AtomicInteger runs = new AtomicInteger();
+        int id = this.scheduler.runAsyncScheduled(runs::incrementAndGet, 2L);
+        this.scheduler.cancel(id);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.runAsyncScheduled(latch::countDown, 4L);
+
+        assertTrue(latch.await(2L, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void repeatUntilCancelled() throws InterruptedException {
+        this.scheduler = new AsyncTaskScheduler(10L, TimeUnit.MILLISECONDS, 4, 2, 16);
+
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(3);
+        int id = this.scheduler.runAsyncRepeated(() -> {
+            runs.incrementAndGet();
+            latch.countDown();
+        }, 1L);
+
+        assertTrue(latch.await(2L, TimeUnit.SECONDS));
+        this.scheduler.cancel(id);
+
+        // a run already handed to a worker may still complete
+        Thread.sleep(100L);
+        int cancelledAt = runs.get();
+        Thread.sleep(200L);
+        assertEquals(cancelledAt, runs.get());
+    }
+
+    @Test
+    public void neverRunOnTimerThread() throws InterruptedException {
+        // a single worker kept busy, due tasks pile up beyond the submission capacity
+        this.scheduler = new AsyncTaskScheduler(10L, TimeUnit.MILLISECONDS, 4, 1, 1);
+
+        CountDownLatch release = new CountDownLatch(1);
+        this.scheduler.runAsync(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch ran = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            this.scheduler.runAsyncScheduled(() -> {
+                threads.add(Thread.currentThread().getName());
+                ran.countDown();
+            }, 1L);
+        }
+
+        // nothing may run until the worker is free again
+        assertFalse(ran.await(200L, TimeUnit.MILLISECONDS));
+        release.countDown();
+
+        assertTrue(ran.await(1L, TimeUnit.SECONDS));
+        assertEquals(Collections.singleton("Task Scheduler Worker - 0"), threads);
+    }
+
+    @Test
+    public void blockSubmitterOnceQueueIsFull() throws InterruptedException {
+        this.scheduler = new AsyncTaskScheduler(10L, TimeUnit.MILLISECONDS, 4, 1, 1);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.scheduler.runAsync(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(1L, TimeUnit.SECONDS));
+
+        // waits for the only worker
+        this.scheduler.runAsync(() -> {});
+
+        CountDownLatch submitted = new CountDownLatch(1);
+        Thread submitter = new Thread(() -> {
+            this.scheduler.runAsync(() -> {});
+            submitted.countDown();
+        });
+        submitter.start();
+
+        try {
+            assertFalse(submitted.await(200L, TimeUnit.MILLISECONDS));
+        } finally {
+            release.countDown();
+        }
+        assertTrue(submitted.await(1L, TimeUnit.SECONDS));
+    }
+
+}